@@ -0,0 +1,306 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends the state and config updates to a bridge, one at a time and within the rate limits of the bridge.
+ *
+ * The bridge handles about 10 light commands and 1 group command per second, see
+ * https://developers.meethue.com/documentation/hue-system-performance. Updates which wait for their turn are
+ * coalesced: a new update for the same light, group or sensor is merged into the waiting one, and the last value wins
+ * for each attribute. When all lights of a group wait for the same update, they are replaced by one group command.
+ * An update is sent right away when the rate limits allow it, unless the same light, group or sensor has just been
+ * updated, in which case further updates get a moment to be merged into it.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class CommandScheduler {
+
+    /** Minimum time between two light commands */
+    static final long LIGHT_COMMAND_INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+    /** Minimum time between two group commands */
+    static final long GROUP_COMMAND_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+    /** Time to wait for more updates of a light, group or sensor which has just been updated */
+    static final long COALESCE_DELAY = TimeUnit.MILLISECONDS.toNanos(25);
+
+    /**
+     * Sends a PUT request to the bridge.
+     */
+    @FunctionalInterface
+    public interface PutRequest {
+        Result put(String address, String body) throws IOException;
+    }
+
+    public enum Target {
+        LIGHT,
+        GROUP,
+        SENSOR
+    }
+
+    private static class PendingUpdate {
+        private final Target target;
+        private final String id;
+        private final String address;
+        private final ConfigUpdate update = new ConfigUpdate();
+        private final List<CompletableFuture<Result>> futures = new ArrayList<>();
+
+        private PendingUpdate(Target target, String id, String address) {
+            this.target = target;
+            this.id = id;
+            this.address = address;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(CommandScheduler.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final PutRequest putRequest;
+    private final Function<String, String> groupAddress;
+
+    /** Waiting updates by address, in the order of their first update */
+    private final Map<String, PendingUpdate> pendingUpdates = new LinkedHashMap<>();
+    /** Times at which the updates sent within the last COALESCE_DELAY were sent, by address */
+    private final Map<String, Long> sendTimes = new HashMap<>();
+    /** Light ids of the groups, largest group first */
+    private List<Map.Entry<String, List<String>>> groupLights = new ArrayList<>();
+    private long nextLightCommand;
+    private long nextGroupCommand;
+    private long nextSensorCommand;
+    private boolean sendScheduled;
+
+    /**
+     * @param scheduler scheduler to send the updates with
+     * @param putRequest sends the PUT requests
+     * @param groupAddress the address of the action of the group with the given id
+     */
+    public CommandScheduler(ScheduledExecutorService scheduler, PutRequest putRequest,
+            Function<String, String> groupAddress) {
+        this.scheduler = scheduler;
+        this.putRequest = putRequest;
+        this.groupAddress = groupAddress;
+        long now = System.nanoTime();
+        nextLightCommand = now;
+        nextGroupCommand = now;
+        nextSensorCommand = now;
+    }
+
+    /**
+     * Updates the known groups, so that light updates can be replaced by group updates.
+     *
+     * @param groups the groups of the bridge
+     */
+    public synchronized void setGroups(Collection<FullGroup> groups) {
+        Map<String, List<String>> lights = new LinkedHashMap<>();
+        for (FullGroup group : groups) {
+            List<String> lightIds = group.getLightIds();
+            if (lightIds != null && lightIds.size() > 1) {
+                lights.put(group.getId(), new ArrayList<>(lightIds));
+            }
+        }
+        List<Map.Entry<String, List<String>>> sorted = new ArrayList<>(lights.entrySet());
+        sorted.sort((a, b) -> Integer.compare(b.getValue().size(), a.getValue().size()));
+        groupLights = sorted;
+    }
+
+    /**
+     * Queues an update.
+     *
+     * @param target the kind of the updated object
+     * @param id id of the light, group or sensor
+     * @param address address of the PUT request
+     * @param update the update
+     * @return the result of the PUT request which sent the update
+     */
+    public synchronized CompletableFuture<Result> submit(Target target, String id, String address,
+            ConfigUpdate update) {
+        long now = System.nanoTime();
+        PendingUpdate pendingUpdate = pendingUpdates.get(address);
+        if (pendingUpdate == null) {
+            pendingUpdate = new PendingUpdate(target, id, address);
+            pendingUpdates.put(address, pendingUpdate);
+        } else {
+            logger.trace("Merging update {} into waiting update {} of {}", update.toJson(),
+                    pendingUpdate.update.toJson(), address);
+        }
+        pendingUpdate.update.merge(update);
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        pendingUpdate.futures.add(future);
+        Long sendTime = sendTimes.get(address);
+        scheduleSend(sendTime != null && now - sendTime < COALESCE_DELAY ? now + COALESCE_DELAY : now);
+        return future;
+    }
+
+    /**
+     * Returns the number of waiting updates.
+     */
+    public synchronized int getPendingCount() {
+        return pendingUpdates.size();
+    }
+
+    private void scheduleSend(long time) {
+        if (!sendScheduled) {
+            sendScheduled = true;
+            scheduler.schedule(this::sendNext, Math.max(0, time - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void sendNext() {
+        PendingUpdate next = null;
+        synchronized (this) {
+            sendScheduled = false;
+            replaceLightsByGroups();
+            long now = System.nanoTime();
+            long earliest = Long.MAX_VALUE;
+            for (PendingUpdate pendingUpdate : pendingUpdates.values()) {
+                long time = getNextCommandTime(pendingUpdate.target);
+                if (time - now <= 0) {
+                    next = pendingUpdate;
+                    break;
+                }
+                earliest = Math.min(earliest, time);
+            }
+            if (next == null) {
+                if (!pendingUpdates.isEmpty()) {
+                    scheduleSend(earliest);
+                }
+                return;
+            }
+            pendingUpdates.remove(next.address);
+            sendTimes.values().removeIf(time -> now - time >= COALESCE_DELAY);
+            sendTimes.put(next.address, now);
+            // keep further updates waiting while this one is sent
+            sendScheduled = true;
+        }
+
+        long start = System.nanoTime();
+        String body = next.update.toJson();
+        logger.debug("Sending put to address: {} body: {}", next.address, body);
+        try {
+            Result result = putRequest.put(next.address, body);
+            next.futures.forEach(f -> f.complete(result));
+        } catch (IOException | RuntimeException e) {
+            next.futures.forEach(f -> f.completeExceptionally(e));
+        }
+
+        synchronized (this) {
+            // the delay recommended for the number of changed attributes applies to all following commands
+            long delayed = start + TimeUnit.MILLISECONDS.toNanos(next.update.getMessageDelay());
+            switch (next.target) {
+                case LIGHT:
+                    nextLightCommand = Math.max(start + LIGHT_COMMAND_INTERVAL, delayed);
+                    break;
+                case GROUP:
+                    nextGroupCommand = Math.max(start + GROUP_COMMAND_INTERVAL, delayed);
+                    break;
+                default:
+                    break;
+            }
+            nextLightCommand = Math.max(nextLightCommand, delayed);
+            nextGroupCommand = Math.max(nextGroupCommand, delayed);
+            nextSensorCommand = Math.max(nextSensorCommand, delayed);
+            sendScheduled = false;
+            if (!pendingUpdates.isEmpty()) {
+                scheduleSend(System.nanoTime());
+            }
+        }
+    }
+
+    private long getNextCommandTime(Target target) {
+        switch (target) {
+            case LIGHT:
+                return nextLightCommand;
+            case GROUP:
+                return nextGroupCommand;
+            default:
+                return nextSensorCommand;
+        }
+    }
+
+    /**
+     * Replaces the waiting updates of all lights of a group by one update of the group, if they are the same.
+     */
+    private void replaceLightsByGroups() {
+        Map<String, PendingUpdate> lightUpdates = new LinkedHashMap<>();
+        for (PendingUpdate pendingUpdate : pendingUpdates.values()) {
+            if (pendingUpdate.target == Target.LIGHT) {
+                lightUpdates.put(pendingUpdate.id, pendingUpdate);
+            }
+        }
+        if (lightUpdates.size() < 2) {
+            return;
+        }
+        for (Map.Entry<String, List<String>> group : groupLights) {
+            List<String> lightIds = group.getValue();
+            if (lightIds.size() > lightUpdates.size()) {
+                continue;
+            }
+            @Nullable
+            String body = null;
+            for (String lightId : lightIds) {
+                PendingUpdate lightUpdate = lightUpdates.get(lightId);
+                @Nullable
+                String lightBody = lightUpdate != null ? lightUpdate.update.toJson() : null;
+                if (lightBody == null || (body != null && !body.equals(lightBody))) {
+                    body = null;
+                    break;
+                }
+                body = lightBody;
+            }
+            if (body == null) {
+                continue;
+            }
+
+            String address = groupAddress.apply(group.getKey());
+            logger.debug("Replacing the updates of lights {} by an update of group {}", lightIds, group.getKey());
+            PendingUpdate groupUpdate = pendingUpdates.get(address);
+            if (groupUpdate == null) {
+                groupUpdate = new PendingUpdate(Target.GROUP, group.getKey(), address);
+            }
+            // the group update takes the place of its first light update
+            Map<String, PendingUpdate> updates = new LinkedHashMap<>();
+            for (PendingUpdate pendingUpdate : pendingUpdates.values()) {
+                if (pendingUpdate.target == Target.LIGHT && lightIds.contains(pendingUpdate.id)) {
+                    lightUpdates.remove(pendingUpdate.id);
+                    groupUpdate.update.merge(pendingUpdate.update);
+                    groupUpdate.futures.addAll(pendingUpdate.futures);
+                    updates.put(address, groupUpdate);
+                } else if (pendingUpdate != groupUpdate) {
+                    updates.put(pendingUpdate.address, pendingUpdate);
+                } else {
+                    updates.put(address, groupUpdate);
+                }
+            }
+            pendingUpdates.clear();
+            pendingUpdates.putAll(updates);
+        }
+    }
+}
@@ -36,6 +36,19 @@ public class ConfigUpdate {
         return commands.isEmpty();
     }
 
+    /**
+     * Adds the commands of another update. For attributes which are set by both updates, the value of the other update
+     * wins.
+     *
+     * @param update the update to merge into this update
+     */
+    public void merge(ConfigUpdate update) {
+        for (Command command : update.commands) {
+            commands.removeIf(c -> c.key.equals(command.key));
+            commands.add(command);
+        }
+    }
+
     public String toJson() {
         return commands.stream().map(c -> c.toJson()).collect(joining(",", "{", "}"));
     }
@@ -34,6 +34,7 @@ import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.CommandScheduler.Target;
 import org.openhab.binding.hue.internal.HttpClient.Result;
 import org.openhab.binding.hue.internal.exceptions.ApiException;
 import org.openhab.binding.hue.internal.exceptions.DeviceOffException;
@@ -74,6 +75,7 @@ public class HueBridge {
     private final Gson gson = new GsonBuilder().setDateFormat(DATE_FORMAT).create();
     private HttpClient http = new HttpClient();
     private final ScheduledExecutorService scheduler;
+    private final CommandScheduler commandScheduler;
 
     @Nullable
     private Config cachedConfig;
@@ -97,6 +99,7 @@ public class HueBridge {
         }
         this.baseUrl = baseUrl;
         this.scheduler = scheduler;
+        this.commandScheduler = createCommandScheduler();
     }
 
     /**
@@ -126,6 +129,12 @@ public class HueBridge {
         this.username = username;
         this.scheduler = scheduler;
         this.http = http;
+        this.commandScheduler = createCommandScheduler();
+    }
+
+    private CommandScheduler createCommandScheduler() {
+        return new CommandScheduler(scheduler, (address, body) -> http.put(address, body),
+                groupId -> getRelativeURL("groups/" + enc(groupId) + "/action"));
     }
 
     /**
@@ -200,6 +209,48 @@ public class HueBridge {
         }
     }
 
+    /**
+     * Returns the JSON of each light known to the bridge, without deserializing the lights. Use
+     * {@link #toFullLight(String, String)} to deserialize a light.
+     *
+     * @return map of the light ids to the JSON of the lights
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public Map<String, String> getFullLightsJson() throws IOException, ApiException {
+        requireAuthentication();
+
+        if (ApiVersionUtils.supportsFullLights(getVersion())) {
+            Result result = http.get(getRelativeURL("lights"));
+
+            handleErrors(result);
+
+            return safeSplitJsonObject(result.getBody());
+        } else {
+            Result result = http.get(getRelativeURL(""));
+
+            handleErrors(result);
+
+            String lights = safeSplitJsonObject(result.getBody()).get("lights");
+            if (lights == null) {
+                throw new ApiException("API returned unexpected result: no lights in full config");
+            }
+            return safeSplitJsonObject(lights);
+        }
+    }
+
+    /**
+     * Deserializes the JSON of a light returned by {@link #getFullLightsJson()}.
+     *
+     * @param id id of the light
+     * @param json JSON of the light
+     * @return the light
+     */
+    public FullLight toFullLight(String id, String json) throws ApiException {
+        FullLight light = safeFromJson(json, FullLight.class);
+        light.setId(id);
+        return light;
+    }
+
     /**
      * Returns a list of lights known to the bridge.
      *
@@ -373,9 +424,8 @@ public class HueBridge {
     public CompletableFuture<Result> setLightState(FullLight light, StateUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("lights/" + enc(light.getId()) + "/state"), body, update.getMessageDelay(),
-                scheduler);
+        return commandScheduler.submit(Target.LIGHT, light.getId(),
+                getRelativeURL("lights/" + enc(light.getId()) + "/state"), update);
     }
 
     /**
@@ -391,9 +441,8 @@ public class HueBridge {
     public CompletableFuture<Result> setSensorState(FullSensor sensor, StateUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), body,
-                update.getMessageDelay(), scheduler);
+        return commandScheduler.submit(Target.SENSOR, sensor.getId(),
+                getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), update);
     }
 
     /**
@@ -408,9 +457,8 @@ public class HueBridge {
     public CompletableFuture<Result> updateSensorConfig(FullSensor sensor, ConfigUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), body,
-                update.getMessageDelay(), scheduler);
+        return commandScheduler.submit(Target.SENSOR, sensor.getId(),
+                getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), update);
     }
 
     /**
@@ -456,6 +504,8 @@ public class HueBridge {
             groupList.add(group);
         });
 
+        commandScheduler.setGroups(groupList);
+
         return groupList;
     }
 
@@ -627,9 +677,8 @@ public class HueBridge {
     public CompletableFuture<Result> setGroupState(Group group, StateUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("groups/" + enc(group.getId()) + "/action"), body, update.getMessageDelay(),
-                scheduler);
+        return commandScheduler.submit(Target.GROUP, group.getId(),
+                getRelativeURL("groups/" + enc(group.getId()) + "/action"), update);
     }
 
     /**
@@ -1049,6 +1098,14 @@ public class HueBridge {
         }
     }
 
+    private Map<String, String> safeSplitJsonObject(String json) throws ApiException {
+        try {
+            return Util.splitJsonObject(json);
+        } catch (JsonParseException e) {
+            throw new ApiException("API returned unexpected result: " + e.getMessage());
+        }
+    }
+
     // Used as assert in all requests to elegantly catch common errors
     public void handleErrors(Result result) throws IOException, ApiException {
         if (result.getResponseCode() != 200) {
@@ -14,13 +14,17 @@ package org.openhab.binding.hue.internal;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
+import com.google.gson.JsonParseException;
+
 /**
  *
  * @author Q42 - Initial contribution
@@ -63,4 +67,103 @@ class Util {
         m.find();
         return m.group(1);
     }
+
+    /**
+     * Splits a JSON object into the JSON texts of its members, without deserializing the members.
+     *
+     * @param json JSON object
+     * @return map of the member names to their JSON values, in the order of the object
+     * @throws JsonParseException if the JSON is not an object
+     */
+    public static Map<String, String> splitJsonObject(String json) {
+        Map<String, String> members = new LinkedHashMap<>();
+        int i = skipWhitespace(json, 0);
+        expect(json, i++, '{');
+        i = skipWhitespace(json, i);
+        if (i < json.length() && json.charAt(i) == '}') {
+            return members;
+        }
+        while (true) {
+            i = skipWhitespace(json, i);
+            expect(json, i, '"');
+            int nameEnd = skipString(json, i);
+            String name = json.substring(i + 1, nameEnd - 1);
+            i = skipWhitespace(json, nameEnd);
+            expect(json, i++, ':');
+            int valueStart = skipWhitespace(json, i);
+            i = skipValue(json, valueStart);
+            members.put(name, json.substring(valueStart, i));
+            i = skipWhitespace(json, i);
+            if (i < json.length() && json.charAt(i) == ',') {
+                i++;
+            } else {
+                expect(json, i, '}');
+                return members;
+            }
+        }
+    }
+
+    private static int skipWhitespace(String json, int index) {
+        int i = index;
+        while (i < json.length() && Character.isWhitespace(json.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static void expect(String json, int index, char expected) {
+        if (index >= json.length() || json.charAt(index) != expected) {
+            throw new JsonParseException("Expected '" + expected + "' at position " + index);
+        }
+    }
+
+    /**
+     * @return index after the closing quote of the string starting at the given index
+     */
+    private static int skipString(String json, int index) {
+        for (int i = index + 1; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return i + 1;
+            }
+        }
+        throw new JsonParseException("Unterminated string at position " + index);
+    }
+
+    /**
+     * @return index after the value starting at the given index
+     */
+    private static int skipValue(String json, int index) {
+        if (index >= json.length()) {
+            throw new JsonParseException("Expected value at position " + index);
+        }
+        char first = json.charAt(index);
+        if (first == '"') {
+            return skipString(json, index);
+        }
+        if (first != '{' && first != '[') {
+            int i = index;
+            while (i < json.length() && ",}] \t\r\n".indexOf(json.charAt(i)) < 0) {
+                i++;
+            }
+            return i;
+        }
+        int depth = 0;
+        for (int i = index; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (c == '"') {
+                i = skipString(json, i) - 1;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+                if (depth == 0) {
+                    return i + 1;
+                }
+            }
+        }
+        throw new JsonParseException("Unterminated value at position " + index);
+    }
 }
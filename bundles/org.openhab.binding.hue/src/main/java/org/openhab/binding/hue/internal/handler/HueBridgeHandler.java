@@ -46,7 +46,6 @@ import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.binding.ConfigStatusBridgeHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.StateOption;
-import org.openhab.binding.hue.internal.ApiVersionUtils;
 import org.openhab.binding.hue.internal.Config;
 import org.openhab.binding.hue.internal.ConfigUpdate;
 import org.openhab.binding.hue.internal.FullConfig;
@@ -99,6 +98,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final HueStateDescriptionOptionProvider stateDescriptionOptionProvider;
 
     private final Map<String, @Nullable FullLight> lastLightStates = new ConcurrentHashMap<>();
+    /** JSON of the light states which were processed, so that unchanged lights are not deserialized again */
+    private final Map<String, String> lastLightJsons = new ConcurrentHashMap<>();
     private final Map<String, @Nullable FullSensor> lastSensorStates = new ConcurrentHashMap<>();
     private final Map<String, @Nullable FullGroup> lastGroupStates = new ConcurrentHashMap<>();
 
@@ -230,41 +231,47 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
 
         private void updateLights() throws IOException, ApiException {
-            Map<String, @Nullable FullLight> lastLightStateCopy = new HashMap<>(lastLightStates);
-
-            List<FullLight> lights;
-            if (ApiVersionUtils.supportsFullLights(hueBridge.getVersion())) {
-                lights = hueBridge.getFullLights();
-            } else {
-                lights = hueBridge.getFullConfig().getLights();
-            }
+            Map<String, String> lights = hueBridge.getFullLightsJson();
 
             final HueLightDiscoveryService discovery = discoveryService;
 
-            for (final FullLight fullLight : lights) {
-                final String lightId = fullLight.getId();
+            for (Map.Entry<String, String> light : lights.entrySet()) {
+                final String lightId = light.getKey();
+                final String json = light.getValue();
+
+                if (json.equals(lastLightJsons.get(lightId))) {
+                    // unchanged since the last poll
+                    continue;
+                }
+
+                final FullLight fullLight = hueBridge.toFullLight(lightId, json);
 
                 final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
                 if (lightStatusListener == null) {
                     logger.trace("Hue light '{}' added.", lightId);
 
-                    if (discovery != null && !lastLightStateCopy.containsKey(lightId)) {
+                    if (discovery != null && !lastLightStates.containsKey(lightId)) {
                         discovery.addLightDiscovery(fullLight);
                     }
 
                     lastLightStates.put(lightId, fullLight);
+                    lastLightJsons.put(lightId, json);
                 } else {
                     if (lightStatusListener.onLightStateChanged(fullLight)) {
                         lastLightStates.put(lightId, fullLight);
+                        lastLightJsons.put(lightId, json);
                     }
                 }
-                lastLightStateCopy.remove(lightId);
             }
 
             // Check for removed lights
-            lastLightStateCopy.forEach((lightId, light) -> {
+            for (String lightId : lastLightStates.keySet()) {
+                if (lights.containsKey(lightId)) {
+                    continue;
+                }
                 logger.trace("Hue light '{}' removed.", lightId);
-                lastLightStates.remove(lightId);
+                final FullLight light = lastLightStates.remove(lightId);
+                lastLightJsons.remove(lightId);
 
                 final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
                 if (lightStatusListener != null) {
@@ -274,7 +281,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 if (discovery != null && light != null) {
                     discovery.removeLightDiscovery(light);
                 }
-            });
+            }
         }
 
         private void updateGroups() throws IOException, ApiException {
@@ -722,6 +729,9 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private void onConnectionResumed() throws IOException, ApiException {
         logger.debug("Bridge connection resumed.");
 
+        // process all lights with the next poll
+        lastLightJsons.clear();
+
         if (!propertiesInitializedSuccessfully) {
             FullConfig fullConfig = hueBridge.getFullConfig();
             Config config = fullConfig.getConfig();
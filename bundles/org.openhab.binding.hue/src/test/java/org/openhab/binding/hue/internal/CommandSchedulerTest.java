@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.openhab.binding.hue.internal.CommandScheduler.Target;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+
+/**
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class CommandSchedulerTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+    private final List<Long> requestTimes = Collections.synchronizedList(new ArrayList<>());
+    private final CommandScheduler commandScheduler = new CommandScheduler(scheduler, (address, body) -> {
+        requests.add(address + " " + body);
+        requestTimes.add(System.nanoTime());
+        return new Result("[]", 200);
+    }, groupId -> "groups/" + groupId + "/action");
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private CompletableFuture<Result> submitLight(String lightId, StateUpdate update) {
+        return commandScheduler.submit(Target.LIGHT, lightId, "lights/" + lightId + "/state", update);
+    }
+
+    @Test
+    public void testUpdatesOfSameLightAreMerged() throws Exception {
+        submitLight("1", new StateUpdate().turnOn().setBrightness(10)).get(2, TimeUnit.SECONDS);
+        CompletableFuture<Result> second = submitLight("1", new StateUpdate().setBrightness(20));
+        CompletableFuture<Result> third = submitLight("1", new StateUpdate().setBrightness(30).setHue(100));
+
+        Result result = third.get(2, TimeUnit.SECONDS);
+        assertThat(second.get(), is(result));
+        assertThat(requests, is(Arrays.asList("lights/1/state {\"on\":true,\"bri\":10}",
+                "lights/1/state {\"bri\":30,\"hue\":100}")));
+    }
+
+    @Test
+    public void testFirstUpdateIsSentWithoutDelay() throws Exception {
+        long start = System.nanoTime();
+        submitLight("1", new StateUpdate().turnOn()).get(2, TimeUnit.SECONDS);
+
+        assertThat(requestTimes.get(0) - start < CommandScheduler.COALESCE_DELAY, is(true));
+    }
+
+    @Test
+    public void testSameUpdateOfAllLightsOfGroupIsSentToGroup() throws Exception {
+        commandScheduler.setGroups(Arrays.asList(
+                new FullGroup("5", "Living room", "Room", new State(), Arrays.asList("1", "2", "3"), new State()),
+                new FullGroup("6", "Kitchen", "Room", new State(), Arrays.asList("4", "5"), new State())));
+        // the lights wait for the light command interval after this update
+        submitLight("9", new StateUpdate().turnOn()).get(2, TimeUnit.SECONDS);
+
+        List<CompletableFuture<Result>> futures = new ArrayList<>();
+        for (String lightId : Arrays.asList("1", "2", "3", "4", "5")) {
+            futures.add(submitLight(lightId, new StateUpdate().turnOff()));
+        }
+        futures.add(submitLight("4", new StateUpdate().turnOn()));
+        for (CompletableFuture<Result> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(requests, is(Arrays.asList("lights/9/state {\"on\":true}", "groups/5/action {\"on\":false}",
+                "lights/4/state {\"on\":true}", "lights/5/state {\"on\":false}")));
+    }
+
+    @Test
+    public void testLightCommandsAreRateLimited() throws Exception {
+        List<CompletableFuture<Result>> futures = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            futures.add(submitLight(String.valueOf(i), new StateUpdate().turnOn()));
+        }
+        for (CompletableFuture<Result> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(requests.size(), is(4));
+        // the interval is measured from the start of the previous command, allow some time for building the body
+        long minInterval = CommandScheduler.LIGHT_COMMAND_INTERVAL - TimeUnit.MILLISECONDS.toNanos(10);
+        for (int i = 1; i < requestTimes.size(); i++) {
+            assertThat(requestTimes.get(i) - requestTimes.get(i - 1), is(greaterThanOrEqualTo(minInterval)));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class UtilTest {
+
+    @Test
+    public void testSplitJsonObject() {
+        String light1 = "{\"state\": {\"on\": true, \"bri\": 144, \"xy\": [0.4, 0.3], \"alert\": \"none\"},"
+                + " \"name\": \"Hue \\\"bulb\\\" {1}\", \"type\": \"Extended color light\"}";
+        String light2 = "{\"state\": {\"on\": false}, \"name\": \"]}[{\"}";
+        Map<String, String> lights = Util
+                .splitJsonObject("{ \"1\" : " + light1 + ",\n\"2\":" + light2 + " , \"3\": null, \"4\": 12.5e3 }");
+
+        assertThat(lights.keySet(), is(new LinkedHashSet<>(Arrays.asList("1", "2", "3", "4"))));
+        assertThat(lights.get("1"), is(light1));
+        assertThat(lights.get("2"), is(light2));
+        assertThat(lights.get("3"), is("null"));
+        assertThat(lights.get("4"), is("12.5e3"));
+        assertThat(new JsonParser().parse(lights.get("1")).getAsJsonObject().get("name").getAsString(),
+                is("Hue \"bulb\" {1}"));
+        assertThat(new Gson().fromJson(lights.get("2"), FullLight.class).getName(), is("]}[{"));
+    }
+
+    @Test
+    public void testSplitEmptyJsonObject() {
+        assertThat(Util.splitJsonObject(" {\n} ").isEmpty(), is(true));
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void testSplitJsonArray() {
+        Util.splitJsonObject("[{\"error\": {\"type\": 1}}]");
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void testSplitTruncatedJsonObject() {
+        Util.splitJsonObject("{\"1\": {\"state\": {\"on\": true}");
+    }
+}
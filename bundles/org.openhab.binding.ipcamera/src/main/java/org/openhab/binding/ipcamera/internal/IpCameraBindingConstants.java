@@ -103,6 +103,11 @@ public class IpCameraBindingConstants {
     public static final String CONFIG_THIRD_CAM = "thirdCamera";
     public static final String CONFIG_FORTH_CAM = "forthCamera";
     public static final String CONFIG_MOTION_CHANGES_ORDER = "motionChangesOrder";
+    // binding configs
+    public static final String CONFIG_CLIENT_THREADS = "clientThreads";
+    public static final String CONFIG_SERVER_THREADS = "serverThreads";
+    public static final String CONFIG_SNAPSHOT_HISTORY_LIMIT = "snapshotHistoryLimit";
+    public static final String CONFIG_SNAPSHOT_HISTORY_CAMERA_LIMIT = "snapshotHistoryCameraLimit";
 
     // List of all Channel ids
     public static final String CHANNEL_POLL_IMAGE = "pollImage";
@@ -15,6 +15,8 @@ package org.openhab.binding.ipcamera.internal;
 
 import static org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.*;
 
+import java.util.Map;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.net.NetworkAddressService;
@@ -27,6 +29,7 @@ import org.openhab.binding.ipcamera.internal.handler.IpCameraGroupHandler;
 import org.openhab.binding.ipcamera.internal.handler.IpCameraHandler;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 
 /**
@@ -40,10 +43,35 @@ import org.osgi.service.component.annotations.Reference;
 public class IpCameraHandlerFactory extends BaseThingHandlerFactory {
     private final @Nullable String openhabIpAddress;
     private final GroupTracker groupTracker = new GroupTracker();
+    private final SharedEventLoopGroups eventLoopGroups = new SharedEventLoopGroups();
+    private final SnapshotMemoryBudget snapshotMemoryBudget = new SnapshotMemoryBudget();
 
     @Activate
-    public IpCameraHandlerFactory(final @Reference NetworkAddressService networkAddressService) {
+    public IpCameraHandlerFactory(final @Reference NetworkAddressService networkAddressService,
+            Map<String, Object> config) {
         openhabIpAddress = networkAddressService.getPrimaryIpv4HostAddress();
+        modified(config);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        eventLoopGroups.setThreads(getInteger(config.get(CONFIG_CLIENT_THREADS), 0),
+                getInteger(config.get(CONFIG_SERVER_THREADS), 0));
+        // the limits are configured in MB
+        snapshotMemoryBudget.setLimits(getInteger(config.get(CONFIG_SNAPSHOT_HISTORY_LIMIT), 512) * 1024L * 1024L,
+                getInteger(config.get(CONFIG_SNAPSHOT_HISTORY_CAMERA_LIMIT), 32) * 1024L * 1024L);
+    }
+
+    private int getInteger(@Nullable Object value, int defaultValue) {
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        } else if (value instanceof String) {
+            try {
+                return Integer.parseInt((String) value);
+            } catch (NumberFormatException e) {
+            }
+        }
+        return defaultValue;
     }
 
     @Override
@@ -59,9 +87,9 @@ public class IpCameraHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (SUPPORTED_THING_TYPES.contains(thingTypeUID)) {
-            return new IpCameraHandler(thing, openhabIpAddress, groupTracker);
+            return new IpCameraHandler(thing, openhabIpAddress, groupTracker, eventLoopGroups, snapshotMemoryBudget);
         } else if (GROUP_SUPPORTED_THING_TYPES.contains(thingTypeUID)) {
-            return new IpCameraGroupHandler(thing, openhabIpAddress, groupTracker);
+            return new IpCameraGroupHandler(thing, openhabIpAddress, groupTracker, eventLoopGroups);
         }
         return null;
     }
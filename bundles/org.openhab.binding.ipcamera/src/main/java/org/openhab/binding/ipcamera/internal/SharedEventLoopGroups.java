@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.openhab.binding.ipcamera.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+/**
+ * The {@link SharedEventLoopGroups} holds the Netty event loop groups that all camera and group handlers of the
+ * binding share, one for the connections to the cameras and one for the stream servers. The groups are created when
+ * the first handler acquires them and shut down when the last handler releases them.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class SharedEventLoopGroups {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private int clientThreads = 0;
+    private int serverThreads = 0;
+    private int references = 0;
+    private @Nullable EventLoopGroup clientGroup;
+    private @Nullable EventLoopGroup serverGroup;
+
+    /**
+     * Sets the number of threads of each group, which is used the next time the groups are created.
+     *
+     * @param clientThreads threads for the connections to the cameras, 0 for the Netty default
+     * @param serverThreads threads for the stream servers, 0 for the Netty default
+     */
+    public synchronized void setThreads(int clientThreads, int serverThreads) {
+        this.clientThreads = Math.max(0, clientThreads);
+        this.serverThreads = Math.max(0, serverThreads);
+    }
+
+    public synchronized void acquire() {
+        if (references++ == 0) {
+            logger.debug("Creating shared event loop groups with {} client and {} server threads.", clientThreads,
+                    serverThreads);
+            clientGroup = new NioEventLoopGroup(clientThreads, new DefaultThreadFactory("ipcamera-client"));
+            serverGroup = new NioEventLoopGroup(serverThreads, new DefaultThreadFactory("ipcamera-server"));
+        }
+    }
+
+    public synchronized void release() {
+        if (references == 0) {
+            return;
+        }
+        if (--references == 0) {
+            logger.debug("Shutting down the shared event loop groups.");
+            EventLoopGroup group = clientGroup;
+            if (group != null) {
+                group.shutdownGracefully();
+            }
+            group = serverGroup;
+            if (group != null) {
+                group.shutdownGracefully();
+            }
+            clientGroup = null;
+            serverGroup = null;
+        }
+    }
+
+    public synchronized EventLoopGroup getClientGroup() {
+        EventLoopGroup group = clientGroup;
+        if (group == null) {
+            throw new IllegalStateException("The shared event loop groups have not been acquired.");
+        }
+        return group;
+    }
+
+    public synchronized EventLoopGroup getServerGroup() {
+        EventLoopGroup group = serverGroup;
+        if (group == null) {
+            throw new IllegalStateException("The shared event loop groups have not been acquired.");
+        }
+        return group;
+    }
+}
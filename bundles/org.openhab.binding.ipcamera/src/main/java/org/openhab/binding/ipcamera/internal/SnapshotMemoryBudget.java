@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.openhab.binding.ipcamera.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link SnapshotMemoryBudget} limits the memory that the snapshot histories of all cameras use together, and
+ * holds the limit for the history of a single camera.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class SnapshotMemoryBudget {
+    private final AtomicLong usedBytes = new AtomicLong();
+    private volatile long totalLimit = 512L * 1024 * 1024;
+    private volatile long cameraLimit = 32L * 1024 * 1024;
+
+    public void setLimits(long totalLimit, long cameraLimit) {
+        this.totalLimit = totalLimit;
+        this.cameraLimit = cameraLimit;
+    }
+
+    public long getCameraLimit() {
+        return cameraLimit;
+    }
+
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    /**
+     * Reserves memory for a snapshot.
+     *
+     * @return false if the snapshot would exceed the limit of all cameras
+     */
+    boolean reserve(long bytes) {
+        long used;
+        do {
+            used = usedBytes.get();
+            if (used + bytes > totalLimit) {
+                return false;
+            }
+        } while (!usedBytes.compareAndSet(used, used + bytes));
+        return true;
+    }
+
+    void free(long bytes) {
+        usedBytes.addAndGet(-bytes);
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.openhab.binding.ipcamera.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+
+/**
+ * The {@link SnapshotRingBuffer} keeps the last snapshots of a camera that are used as the preroll of a GIF. The
+ * number of snapshots is fixed, and the oldest snapshots are dropped early when the history of the camera or of all
+ * cameras would use more memory than the {@link SnapshotMemoryBudget} allows. The snapshots are stored in pooled
+ * direct memory, outside of the heap.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class SnapshotRingBuffer {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final ByteBufAllocator allocator = PooledByteBufAllocator.DEFAULT;
+    private final SnapshotMemoryBudget budget;
+    private @Nullable ByteBuf[] ring = new ByteBuf[0];
+    private int oldest = 0;
+    private int size = 0;
+    private long bytes = 0;
+
+    public SnapshotRingBuffer(SnapshotMemoryBudget budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Drops all snapshots and sets how many snapshots are kept from now on.
+     */
+    public synchronized void setCapacity(int capacity) {
+        clear();
+        ring = new ByteBuf[Math.max(0, capacity)];
+    }
+
+    /**
+     * Adds a copy of the snapshot, dropping the oldest snapshots as needed. The caller keeps its reference.
+     */
+    public synchronized void add(ByteBuf snapshot) {
+        if (ring.length == 0) {
+            return;
+        }
+        int length = snapshot.readableBytes();
+        if (length > budget.getCameraLimit()) {
+            logger.debug("Snapshot of {} bytes is larger than the history limit of the camera.", length);
+            return;
+        }
+        while (size == ring.length || (size > 0 && bytes + length > budget.getCameraLimit())) {
+            removeOldest();
+        }
+        while (!budget.reserve(length)) {
+            if (size == 0) {
+                logger.debug("Snapshot history of all cameras is full, not keeping the snapshot.");
+                return;
+            }
+            removeOldest();
+        }
+        // a compact copy, as the snapshot may reference much larger receive buffers
+        ByteBuf copy = allocator.directBuffer(length, length);
+        copy.writeBytes(snapshot, snapshot.readerIndex(), length);
+        ring[(oldest + size) % ring.length] = copy;
+        size++;
+        bytes += length;
+    }
+
+    /**
+     * Returns the snapshots from the oldest to the newest without copying them. Each of the buffers has to be released
+     * by the caller.
+     */
+    public synchronized List<ByteBuf> retainedSnapshots() {
+        List<ByteBuf> snapshots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ByteBuf snapshot = ring[(oldest + i) % ring.length];
+            if (snapshot != null) {
+                snapshots.add(snapshot.retainedDuplicate());
+            }
+        }
+        return snapshots;
+    }
+
+    public synchronized void clear() {
+        while (size > 0) {
+            removeOldest();
+        }
+        oldest = 0;
+    }
+
+    private void removeOldest() {
+        ByteBuf snapshot = ring[oldest];
+        ring[oldest] = null;
+        oldest = (oldest + 1) % ring.length;
+        size--;
+        if (snapshot != null) {
+            int length = snapshot.readableBytes();
+            bytes -= length;
+            budget.free(length);
+            snapshot.release();
+        }
+    }
+}
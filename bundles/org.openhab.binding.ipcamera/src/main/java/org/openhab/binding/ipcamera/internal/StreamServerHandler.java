@@ -26,6 +26,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
@@ -57,9 +58,8 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
     private IpCameraHandler ipCameraHandler;
     private boolean handlingMjpeg = false; // used to remove ctx from group when handler is removed.
     private boolean handlingSnapshotStream = false; // used to remove ctx from group when handler is removed.
-    private byte[] incomingJpeg = new byte[0];
+    private @Nullable CompositeByteBuf incomingJpeg;
     private String whiteList = "";
-    private int recievedBytes = 0;
     private boolean updateSnapshot = false;
     private boolean onvifEvent = false;
 
@@ -121,7 +121,7 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
                             if (!ipCameraHandler.snapshotPolling && ipCameraHandler.snapshotUri != "") {
                                 ipCameraHandler.sendHttpGET(ipCameraHandler.snapshotUri);
                             }
-                            if (ipCameraHandler.currentSnapshot.length == 1) {
+                            if (!ipCameraHandler.currentSnapshot.isReadable()) {
                                 logger.warn("ipcamera.jpg was requested but there is no jpg in ram to send.");
                                 return;
                             }
@@ -177,32 +177,24 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
             }
             if (msg instanceof HttpContent) {
                 HttpContent content = (HttpContent) msg;
-                int index = 0;
-                if (recievedBytes == 0) {
-                    incomingJpeg = new byte[content.content().capacity()];
-                } else {
-                    byte[] temp = incomingJpeg;
-                    incomingJpeg = new byte[recievedBytes + content.content().capacity()];
-
-                    for (; index < temp.length; index++) {
-                        incomingJpeg[index] = temp[index];
-                    }
-                }
-                for (int i = 0; i < content.content().capacity(); i++) {
-                    incomingJpeg[index++] = content.content().getByte(i);
+                CompositeByteBuf jpeg = incomingJpeg;
+                if (jpeg == null) {
+                    // The chunks are collected without copying them, and released once the JPG has been handled.
+                    jpeg = ctx.alloc().compositeBuffer(Integer.MAX_VALUE);
+                    incomingJpeg = jpeg;
                 }
-                recievedBytes = incomingJpeg.length;
+                jpeg.addComponent(true, content.content().retain());
                 if (content instanceof LastHttpContent) {
                     if (updateSnapshot) {
-                        ipCameraHandler.processSnapshot(incomingJpeg);
+                        ipCameraHandler.processSnapshot(jpeg);
                     } else if (onvifEvent) {
-                        ipCameraHandler.onvifCamera.eventRecieved(new String(incomingJpeg, StandardCharsets.UTF_8));
+                        ipCameraHandler.onvifCamera.eventRecieved(jpeg.toString(StandardCharsets.UTF_8));
                     } else { // handles the snapshots that make up mjpeg from rtsp to ffmpeg conversions.
-                        if (recievedBytes > 1000) {
-                            ipCameraHandler.sendMjpegFrame(incomingJpeg, ipCameraHandler.mjpegChannelGroup);
+                        if (jpeg.readableBytes() > 1000) {
+                            ipCameraHandler.sendMjpegFrame(jpeg, ipCameraHandler.mjpegChannelGroup);
                         }
                     }
-                    recievedBytes = 0;
+                    releaseIncomingJpeg();
                 }
             }
         } finally {
@@ -214,7 +206,7 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
         HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
         ipCameraHandler.lockCurrentSnapshot.lock();
         try {
-            ByteBuf snapshotData = Unpooled.copiedBuffer(ipCameraHandler.currentSnapshot);
+            ByteBuf snapshotData = ipCameraHandler.currentSnapshot.retainedDuplicate();
             response.headers().add(HttpHeaderNames.CONTENT_TYPE, contentType);
             response.headers().set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE);
             response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
@@ -286,6 +278,7 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
 
     @Override
     public void handlerRemoved(@Nullable ChannelHandlerContext ctx) {
+        releaseIncomingJpeg();
         if (ctx == null) {
             return;
         }
@@ -297,4 +290,12 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
             ipCameraHandler.setupSnapshotStreaming(false, ctx, false);
         }
     }
+
+    private void releaseIncomingJpeg() {
+        CompositeByteBuf jpeg = incomingJpeg;
+        if (jpeg != null) {
+            jpeg.release();
+            incomingJpeg = null;
+        }
+    }
 }
@@ -27,7 +27,6 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -69,6 +68,9 @@ import org.openhab.binding.ipcamera.internal.InstarHandler;
 import org.openhab.binding.ipcamera.internal.IpCameraActions;
 import org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.FFmpegFormat;
 import org.openhab.binding.ipcamera.internal.MyNettyAuthHandler;
+import org.openhab.binding.ipcamera.internal.SharedEventLoopGroups;
+import org.openhab.binding.ipcamera.internal.SnapshotMemoryBudget;
+import org.openhab.binding.ipcamera.internal.SnapshotRingBuffer;
 import org.openhab.binding.ipcamera.internal.StreamServerHandler;
 import org.openhab.binding.ipcamera.internal.onvif.OnvifConnection;
 import org.slf4j.Logger;
@@ -77,6 +79,8 @@ import org.slf4j.LoggerFactory;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
@@ -85,10 +89,8 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.EventLoopGroup;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.DefaultChannelGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
@@ -149,8 +151,9 @@ public class IpCameraHandler extends BaseThingHandler {
     private @Nullable Bootstrap mainBootstrap;
     private @Nullable ServerBootstrap serverBootstrap;
 
-    private EventLoopGroup mainEventLoopGroup = new NioEventLoopGroup();
-    private EventLoopGroup serversLoopGroup = new NioEventLoopGroup();
+    private final SharedEventLoopGroups eventLoopGroups;
+    private boolean eventLoopGroupsAcquired = false;
+    private final ChannelGroup serverChannels = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
     private FullHttpRequest putRequestWithBody = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, new HttpMethod("PUT"),
             "");
     private String gifFilename = "ipcamera";
@@ -162,7 +165,7 @@ public class IpCameraHandler extends BaseThingHandler {
     private int mp4RecordTime;
     private int gifRecordTime = 5;
     private int mp4Preroll;
-    private LinkedList<byte[]> fifoSnapshotBuffer = new LinkedList<byte[]>();
+    private final SnapshotRingBuffer snapshotHistory;
     private int snapCount;
     private boolean updateImageChannel = false;
     private boolean updateAutoFps = false;
@@ -179,7 +182,8 @@ public class IpCameraHandler extends BaseThingHandler {
     public String mjpegUri = "";
     private @Nullable ChannelFuture serverFuture = null;
     private Object firstStreamedMsg = new Object();
-    public byte[] currentSnapshot = new byte[] { (byte) 0x00 };
+    // holds a reference to the latest JPG, only use it while holding lockCurrentSnapshot
+    public ByteBuf currentSnapshot = Unpooled.EMPTY_BUFFER;
     public ReentrantLock lockCurrentSnapshot = new ReentrantLock();
     public String rtspUri = "";
     public boolean audioAlarmUpdateSnapshot = false;
@@ -202,7 +206,7 @@ public class IpCameraHandler extends BaseThingHandler {
     private class CommonCameraHandler extends ChannelDuplexHandler {
         private int bytesToRecieve = 0;
         private int bytesAlreadyRecieved = 0;
-        private byte[] incomingJpeg = new byte[0];
+        private @Nullable CompositeByteBuf incomingJpeg;
         private String incomingMessage = "";
         private String contentType = "empty";
         private Object reply = new Object();
@@ -256,11 +260,9 @@ public class IpCameraHandler extends BaseThingHandler {
                                     }
                                 }
                             } else if (contentType.contains("image/jp")) {
-                                if (bytesToRecieve == 0) {
-                                    bytesToRecieve = 768000; // 0.768 Mbyte when no Content-Length is sent
-                                    logger.debug("Camera has no Content-Length header, we have to guess how much RAM.");
-                                }
-                                incomingJpeg = new byte[bytesToRecieve];
+                                releaseIncomingJpeg();
+                                // grows with each chunk, so no RAM is reserved up front when there is no Content-Length
+                                incomingJpeg = ctx.alloc().compositeBuffer(Integer.MAX_VALUE);
                             }
                         }
                     }
@@ -274,11 +276,16 @@ public class IpCameraHandler extends BaseThingHandler {
                         HttpContent content = (HttpContent) msg;
                         // Found some cameras uses Content-Type: image/jpg instead of image/jpeg
                         if (contentType.contains("image/jp")) {
-                            for (int i = 0; i < content.content().capacity(); i++) {
-                                incomingJpeg[bytesAlreadyRecieved++] = content.content().getByte(i);
+                            CompositeByteBuf jpeg = incomingJpeg;
+                            if (jpeg != null) {
+                                bytesAlreadyRecieved += content.content().readableBytes();
+                                jpeg.addComponent(true, content.content().retain());
                             }
                             if (content instanceof LastHttpContent) {
-                                processSnapshot(incomingJpeg);
+                                if (jpeg != null) {
+                                    processSnapshot(jpeg);
+                                    releaseIncomingJpeg();
+                                }
                                 // testing next line and if works need to do a full cleanup of this function.
                                 closeConnection = true;
                                 if (closeConnection) {
@@ -342,6 +349,15 @@ public class IpCameraHandler extends BaseThingHandler {
 
         @Override
         public void handlerRemoved(@Nullable ChannelHandlerContext ctx) {
+            releaseIncomingJpeg();
+        }
+
+        private void releaseIncomingJpeg() {
+            CompositeByteBuf jpeg = incomingJpeg;
+            if (jpeg != null) {
+                jpeg.release();
+                incomingJpeg = null;
+            }
         }
 
         @Override
@@ -392,7 +408,8 @@ public class IpCameraHandler extends BaseThingHandler {
         }
     }
 
-    public IpCameraHandler(Thing thing, @Nullable String ipAddress, GroupTracker groupTracker) {
+    public IpCameraHandler(Thing thing, @Nullable String ipAddress, GroupTracker groupTracker,
+            SharedEventLoopGroups eventLoopGroups, SnapshotMemoryBudget snapshotMemoryBudget) {
         super(thing);
         cameraConfig = getConfigAs(CameraConfig.class);
         if (ipAddress != null) {
@@ -401,6 +418,12 @@ public class IpCameraHandler extends BaseThingHandler {
             hostIp = Helper.getLocalIpAddress();
         }
         this.groupTracker = groupTracker;
+        this.eventLoopGroups = eventLoopGroups;
+        snapshotHistory = new SnapshotRingBuffer(snapshotMemoryBudget);
+    }
+
+    public SharedEventLoopGroups getEventLoopGroups() {
+        return eventLoopGroups;
     }
 
     private IpCameraHandler getHandle() {
@@ -501,7 +524,7 @@ public class IpCameraHandler extends BaseThingHandler {
 
         if (mainBootstrap == null) {
             mainBootstrap = new Bootstrap();
-            mainBootstrap.group(mainEventLoopGroup);
+            mainBootstrap.group(eventLoopGroups.getClientGroup());
             mainBootstrap.channel(NioSocketChannel.class);
             mainBootstrap.option(ChannelOption.SO_KEEPALIVE, true);
             mainBootstrap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 4500);
@@ -615,19 +638,21 @@ public class IpCameraHandler extends BaseThingHandler {
                 });
     }
 
-    public void processSnapshot(byte[] incommingSnapshot) {
+    /**
+     * Stores a new JPG as the current snapshot. The buffer is retained as long as it is needed, so the caller still has
+     * to release its own reference.
+     */
+    public void processSnapshot(ByteBuf incommingSnapshot) {
         lockCurrentSnapshot.lock();
         try {
-            currentSnapshot = incommingSnapshot;
-            if (cameraConfig.getGifPreroll() > 0) {
-                fifoSnapshotBuffer.add(incommingSnapshot);
-                if (fifoSnapshotBuffer.size() > (cameraConfig.getGifPreroll() + gifRecordTime)) {
-                    fifoSnapshotBuffer.removeFirst();
-                }
-            }
+            currentSnapshot.release();
+            currentSnapshot = incommingSnapshot.retain();
         } finally {
             lockCurrentSnapshot.unlock();
         }
+        if (cameraConfig.getGifPreroll() > 0) {
+            snapshotHistory.add(incommingSnapshot);
+        }
 
         if (streamingSnapshotMjpeg) {
             sendMjpegFrame(incommingSnapshot, snapshotMjpegChannelGroup);
@@ -643,18 +668,20 @@ public class IpCameraHandler extends BaseThingHandler {
         }
 
         if (updateImageChannel) {
-            updateState(CHANNEL_IMAGE, new RawType(incommingSnapshot, "image/jpeg"));
+            updateState(CHANNEL_IMAGE, new RawType(ByteBufUtil.getBytes(incommingSnapshot), "image/jpeg"));
         } else if (firstMotionAlarm || motionAlarmUpdateSnapshot) {
-            updateState(CHANNEL_IMAGE, new RawType(incommingSnapshot, "image/jpeg"));
+            updateState(CHANNEL_IMAGE, new RawType(ByteBufUtil.getBytes(incommingSnapshot), "image/jpeg"));
             firstMotionAlarm = motionAlarmUpdateSnapshot = false;
         } else if (firstAudioAlarm || audioAlarmUpdateSnapshot) {
-            updateState(CHANNEL_IMAGE, new RawType(incommingSnapshot, "image/jpeg"));
+            updateState(CHANNEL_IMAGE, new RawType(ByteBufUtil.getBytes(incommingSnapshot), "image/jpeg"));
             firstAudioAlarm = audioAlarmUpdateSnapshot = false;
         }
     }
 
     public void stopStreamServer() {
-        serversLoopGroup.shutdownGracefully();
+        // the event loop group is shared, so the server and its connections are closed instead
+        serverChannels.close();
+        serverFuture = null;
         serverBootstrap = null;
     }
 
@@ -662,15 +689,15 @@ public class IpCameraHandler extends BaseThingHandler {
     public void startStreamServer() {
         if (serverBootstrap == null) {
             try {
-                serversLoopGroup = new NioEventLoopGroup();
                 serverBootstrap = new ServerBootstrap();
-                serverBootstrap.group(serversLoopGroup);
+                serverBootstrap.group(eventLoopGroups.getServerGroup());
                 serverBootstrap.channel(NioServerSocketChannel.class);
                 // IP "0.0.0.0" will bind the server to all network connections//
                 serverBootstrap.localAddress(new InetSocketAddress("0.0.0.0", cameraConfig.getServerPort()));
                 serverBootstrap.childHandler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     protected void initChannel(SocketChannel socketChannel) throws Exception {
+                        serverChannels.add(socketChannel);
                         socketChannel.pipeline().addLast("idleStateHandler", new IdleStateHandler(0, 60, 0));
                         socketChannel.pipeline().addLast("HttpServerCodec", new HttpServerCodec());
                         socketChannel.pipeline().addLast("ChunkedWriteHandler", new ChunkedWriteHandler());
@@ -679,6 +706,7 @@ public class IpCameraHandler extends BaseThingHandler {
                 });
                 serverFuture = serverBootstrap.bind().sync();
                 serverFuture.await(4000);
+                serverChannels.add(serverFuture.channel());
                 logger.debug("File server for camera at {} has started on port {} for all NIC's.", cameraConfig.getIp(),
                         cameraConfig.getServerPort());
                 updateState(CHANNEL_MJPEG_URL,
@@ -829,9 +857,10 @@ public class IpCameraHandler extends BaseThingHandler {
         ctx.channel().writeAndFlush(response);
     }
 
-    public void sendMjpegFrame(byte[] jpg, ChannelGroup channelGroup) {
+    // The group writes a duplicate of the JPG to each channel, so the JPG is not copied for any of the viewers.
+    public void sendMjpegFrame(ByteBuf jpg, ChannelGroup channelGroup) {
         final String BOUNDARY = "thisMjpegStream";
-        ByteBuf imageByteBuf = Unpooled.copiedBuffer(jpg);
+        ByteBuf imageByteBuf = jpg.retainedDuplicate();
         int length = imageByteBuf.readableBytes();
         String header = "--" + BOUNDARY + "\r\n" + "content-type: image/jpeg" + "\r\n" + "content-length: " + length
                 + "\r\n\r\n";
@@ -851,24 +880,21 @@ public class IpCameraHandler extends BaseThingHandler {
 
     private void storeSnapshots() {
         int count = 0;
-        // Need to lock as fifoSnapshotBuffer is not thread safe and new snapshots can be incoming.
-        lockCurrentSnapshot.lock();
-        try {
-            for (byte[] foo : fifoSnapshotBuffer) {
-                File file = new File(cameraConfig.getFfmpegOutput() + "snapshot" + count + ".jpg");
-                count++;
-                try {
-                    OutputStream fos = new FileOutputStream(file);
-                    fos.write(foo);
-                    fos.close();
-                } catch (FileNotFoundException e) {
-                    logger.warn("FileNotFoundException {}", e.getMessage());
-                } catch (IOException e) {
-                    logger.warn("IOException {}", e.getMessage());
-                }
+        // The history keeps taking new snapshots while the files are written.
+        for (ByteBuf foo : snapshotHistory.retainedSnapshots()) {
+            File file = new File(cameraConfig.getFfmpegOutput() + "snapshot" + count + ".jpg");
+            count++;
+            try {
+                OutputStream fos = new FileOutputStream(file);
+                foo.getBytes(foo.readerIndex(), fos, foo.readableBytes());
+                fos.close();
+            } catch (FileNotFoundException e) {
+                logger.warn("FileNotFoundException {}", e.getMessage());
+            } catch (IOException e) {
+                logger.warn("IOException {}", e.getMessage());
+            } finally {
+                foo.release();
             }
-        } finally {
-            lockCurrentSnapshot.unlock();
         }
     }
 
@@ -1592,10 +1618,16 @@ public class IpCameraHandler extends BaseThingHandler {
 
     @Override
     public void initialize() {
+        if (!eventLoopGroupsAcquired) {
+            eventLoopGroups.acquire();
+            eventLoopGroupsAcquired = true;
+        }
         cameraConfig = getConfigAs(CameraConfig.class);
         snapshotUri = getCorrectUrlFormat(cameraConfig.getSnapshotUrl());
         mjpegUri = getCorrectUrlFormat(cameraConfig.getMjpegUrl());
         rtspUri = cameraConfig.getFfmpegInput();
+        snapshotHistory.setCapacity(
+                cameraConfig.getGifPreroll() > 0 ? cameraConfig.getGifPreroll() + gifRecordTime : 0);
 
         if (cameraConfig.getServerPort() < 1) {
             logger.warn(
@@ -1712,6 +1744,7 @@ public class IpCameraHandler extends BaseThingHandler {
         useDigestAuth = false;
         stopStreamServer();
         openChannels.close();
+        mainBootstrap = null;
 
         if (ffmpegHLS != null) {
             ffmpegHLS.stopConverting();
@@ -1738,6 +1771,18 @@ public class IpCameraHandler extends BaseThingHandler {
             ffmpegSnapshot = null;
         }
         channelTrackingMap.clear();
+        lockCurrentSnapshot.lock();
+        try {
+            currentSnapshot.release();
+            currentSnapshot = Unpooled.EMPTY_BUFFER;
+        } finally {
+            lockCurrentSnapshot.unlock();
+        }
+        snapshotHistory.clear();
+        if (eventLoopGroupsAcquired) {
+            eventLoopGroups.release();
+            eventLoopGroupsAcquired = false;
+        }
     }
 
     public void setStreamServerHandler(StreamServerHandler streamServerHandler2) {
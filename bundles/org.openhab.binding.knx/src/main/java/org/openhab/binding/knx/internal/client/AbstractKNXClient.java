@@ -12,12 +12,11 @@
  */
 package org.openhab.binding.knx.internal.client;
 
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -85,8 +84,11 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> busJob;
     private @Nullable ScheduledFuture<?> connectJob;
 
-    private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    private final GroupAddressListenerIndex groupAddressListeners = new GroupAddressListenerIndex();
+    private final PriorityReadQueue readDatapoints = new PriorityReadQueue();
+    private final ReadPacer readPacer;
+    private final AtomicLong completedReads = new AtomicLong();
+    private volatile long nextReadNanos = System.nanoTime();
 
     @FunctionalInterface
     private interface ListenerNotification {
@@ -129,6 +131,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         this.thingUID = thingUID;
         this.responseTimeout = responseTimeout;
         this.readingPause = readingPause;
+        this.readPacer = new ReadPacer(readingPause, System.nanoTime());
         this.readRetriesLimit = readRetriesLimit;
         this.knxScheduler = knxScheduler;
         this.statusUpdateCallback = statusUpdateCallback;
@@ -250,12 +253,23 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         GroupAddress destination = event.getDestination();
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
+        readPacer.telegramReceived(System.nanoTime());
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
-            }
+        List<GroupAddressListener> listeners = groupAddressListeners.get(destination);
+        if (listeners.isEmpty()) {
+            return;
         }
+        // all listeners of the telegram are notified in one task
+        knxScheduler.execute(() -> {
+            for (GroupAddressListener listener : listeners) {
+                try {
+                    action.apply(listener, source, destination, asdu);
+                } catch (RuntimeException e) {
+                    logger.warn("Listener '{}' failed to process a {} telegram to '{}'", listener, task, destination,
+                            e);
+                }
+            }
+        });
     }
 
     /**
@@ -279,12 +293,18 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         if (processCommunicator == null) {
             return;
         }
+        if (System.nanoTime() - nextReadNanos < 0) {
+            // the bus is slow or busy, the pause is longer than the reading pause
+            return;
+        }
         ReadDatapoint datapoint = readDatapoints.poll();
         if (datapoint != null) {
             datapoint.incrementRetries();
+            long start = System.nanoTime();
             try {
                 logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
                 processCommunicator.read(datapoint.getDatapoint());
+                completedReads.incrementAndGet();
             } catch (KNXException e) {
                 if (datapoint.getRetries() < datapoint.getLimit()) {
                     readDatapoints.add(datapoint);
@@ -298,6 +318,9 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
                 logger.debug("Interrupted sending KNX read request");
                 return;
             }
+            long end = System.nanoTime();
+            readPacer.readCompleted(TimeUnit.NANOSECONDS.toMillis(end - start));
+            nextReadNanos = end + TimeUnit.MILLISECONDS.toNanos(readPacer.getPauseMillis(end));
         }
     }
 
@@ -366,13 +389,23 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+        readDatapoints.add(new ReadDatapoint(datapoint, readRetriesLimit, priority));
+    }
+
+    @Override
+    public int getPendingReadCount() {
+        return readDatapoints.size();
+    }
+
+    @Override
+    public long getCompletedReadCount() {
+        return completedReads.get();
+    }
+
+    @Override
+    public long getReadPause() {
+        return readPacer.getPauseMillis(System.nanoTime());
     }
 
     @Override
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Index of the {@link GroupAddressListener}s by the group addresses they listen to.
+ *
+ * Looking up the listeners of a telegram is a single hash lookup, instead of asking every registered listener. Lookups
+ * are lock-free, registrations are synchronized.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class GroupAddressListenerIndex {
+
+    private final Map<GroupAddressListener, Set<GroupAddress>> addressesByListener = new LinkedHashMap<>();
+    private final Map<GroupAddress, List<GroupAddressListener>> listenersByAddress = new ConcurrentHashMap<>();
+
+    /**
+     * Adds the listener with its current group addresses, or updates the group addresses of a listener added before.
+     *
+     * @param listener the listener
+     * @return {@code true} if it wasn't added before
+     */
+    public synchronized boolean add(GroupAddressListener listener) {
+        Set<GroupAddress> addresses = new HashSet<>(listener.getGroupAddresses());
+        Set<GroupAddress> previousAddresses = addressesByListener.put(listener, addresses);
+        if (previousAddresses != null) {
+            for (GroupAddress address : previousAddresses) {
+                if (!addresses.contains(address)) {
+                    removeFromAddress(address, listener);
+                }
+            }
+        }
+        for (GroupAddress address : addresses) {
+            if (previousAddresses == null || !previousAddresses.contains(address)) {
+                listenersByAddress.computeIfAbsent(address, a -> new CopyOnWriteArrayList<>()).add(listener);
+            }
+        }
+        return previousAddresses == null;
+    }
+
+    /**
+     * Removes the listener.
+     *
+     * @param listener the listener
+     * @return {@code true} if it was added before
+     */
+    public synchronized boolean remove(GroupAddressListener listener) {
+        Set<GroupAddress> addresses = addressesByListener.remove(listener);
+        if (addresses == null) {
+            return false;
+        }
+        for (GroupAddress address : addresses) {
+            removeFromAddress(address, listener);
+        }
+        return true;
+    }
+
+    private void removeFromAddress(GroupAddress address, GroupAddressListener listener) {
+        List<GroupAddressListener> listeners = listenersByAddress.get(address);
+        if (listeners != null) {
+            listeners.remove(listener);
+            if (listeners.isEmpty()) {
+                listenersByAddress.remove(address);
+            }
+        }
+    }
+
+    /**
+     * Returns the listeners of the group address, in the order they were added.
+     *
+     * @param destination the group address
+     * @return the listeners, empty if no listener listens to the group address
+     */
+    public List<GroupAddressListener> get(GroupAddress destination) {
+        List<GroupAddressListener> listeners = listenersByAddress.get(destination);
+        return listeners != null ? listeners : Collections.emptyList();
+    }
+
+    /**
+     * Returns the number of group addresses with at least one listener.
+     */
+    public int size() {
+        return listenersByAddress.size();
+    }
+}
@@ -61,7 +61,9 @@ public interface KNXClient {
     void restartNetworkDevice(@Nullable IndividualAddress address);
 
     /**
-     * Register the given listener to be informed on KNX bus traffic.
+     * Register the given listener to be informed on KNX bus traffic to its group addresses.
+     *
+     * Registering a listener again updates the group addresses it listens to.
      *
      * @param listener the listener
      * @return {@code true} if it wasn't registered before
@@ -79,9 +81,34 @@ public interface KNXClient {
     /**
      * Schedule the given data point for asynchronous reading.
      *
+     * Datapoints are read in the order of their priority. A group address which is scheduled already is not scheduled
+     * again, but its priority is raised if needed.
+     *
      * @param datapoint the datapoint
+     * @param priority the priority of the read request
+     */
+    void readDatapoint(Datapoint datapoint, ReadPriority priority);
+
+    /**
+     * Get the number of datapoints which are scheduled for reading.
+     *
+     * @return the number of pending read requests
+     */
+    int getPendingReadCount();
+
+    /**
+     * Get the number of datapoints which were read successfully since the client was created.
+     *
+     * @return the number of completed read requests
+     */
+    long getCompletedReadCount();
+
+    /**
+     * Get the current pause between two read requests, which adapts to the response times and the load of the bus.
+     *
+     * @return the pause in milliseconds
      */
-    void readDatapoint(Datapoint datapoint);
+    long getReadPause();
 
     /**
      * Write a command to the KNX bus.
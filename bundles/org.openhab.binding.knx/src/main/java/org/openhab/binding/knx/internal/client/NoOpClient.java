@@ -59,7 +59,22 @@ public class NoOpClient implements KNXClient {
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+    }
+
+    @Override
+    public int getPendingReadCount() {
+        return 0;
+    }
+
+    @Override
+    public long getCompletedReadCount() {
+        return 0;
+    }
+
+    @Override
+    public long getReadPause() {
+        return 0;
     }
 
     @Override
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Queue of the datapoints to be read from the KNX bus.
+ *
+ * Datapoints are read in the order of their {@link ReadPriority}, and in the order they were added within a priority.
+ * A group address is queued only once: adding it again only raises the priority of the queued datapoint, if needed.
+ * All operations take constant time.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class PriorityReadQueue {
+
+    private final Map<ReadPriority, LinkedHashSet<ReadDatapoint>> queues = new EnumMap<>(ReadPriority.class);
+    private final Map<GroupAddress, ReadDatapoint> queuedByAddress = new HashMap<>();
+
+    public PriorityReadQueue() {
+        for (ReadPriority priority : ReadPriority.values()) {
+            queues.put(priority, new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * Adds the datapoint to the queue, unless its group address is queued already.
+     *
+     * @param datapoint the datapoint to read
+     * @return {@code true} if the group address wasn't queued before
+     */
+    public synchronized boolean add(ReadDatapoint datapoint) {
+        GroupAddress address = datapoint.getDatapoint().getMainAddress();
+        ReadDatapoint queued = queuedByAddress.get(address);
+        if (queued == null) {
+            queuedByAddress.put(address, datapoint);
+            getQueue(datapoint.getPriority()).add(datapoint);
+            return true;
+        }
+        if (datapoint.getPriority().compareTo(queued.getPriority()) < 0) {
+            getQueue(queued.getPriority()).remove(queued);
+            queued.setPriority(datapoint.getPriority());
+            getQueue(queued.getPriority()).add(queued);
+        }
+        return false;
+    }
+
+    /**
+     * Removes the next datapoint to read from the queue.
+     *
+     * @return the datapoint with the highest priority, or {@code null} if the queue is empty
+     */
+    public synchronized @Nullable ReadDatapoint poll() {
+        // EnumMap iterates in the order of the priorities
+        for (LinkedHashSet<ReadDatapoint> queue : queues.values()) {
+            Iterator<ReadDatapoint> iterator = queue.iterator();
+            if (iterator.hasNext()) {
+                ReadDatapoint datapoint = iterator.next();
+                iterator.remove();
+                queuedByAddress.remove(datapoint.getDatapoint().getMainAddress());
+                return datapoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of queued datapoints.
+     */
+    public synchronized int size() {
+        return queuedByAddress.size();
+    }
+
+    /**
+     * Returns the number of queued datapoints with the given priority.
+     */
+    public synchronized int size(ReadPriority priority) {
+        return getQueue(priority).size();
+    }
+
+    public synchronized void clear() {
+        for (LinkedHashSet<ReadDatapoint> queue : queues.values()) {
+            queue.clear();
+        }
+        queuedByAddress.clear();
+    }
+
+    private LinkedHashSet<ReadDatapoint> getQueue(ReadPriority priority) {
+        LinkedHashSet<ReadDatapoint> queue = queues.get(priority);
+        if (queue == null) {
+            throw new IllegalStateException("No queue for priority " + priority);
+        }
+        return queue;
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Calculates the pause between two read requests to the KNX bus.
+ *
+ * The configured reading pause is the minimum. The pause grows with the average time the bus takes to answer a read
+ * request, so that a slow bus or gateway is not flooded, and with the observed bus load, so that reads do not crowd out
+ * the regular traffic.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class ReadPacer {
+
+    /** Approximate number of telegrams per second a twisted pair (TP1) line can carry */
+    static final double BUS_CAPACITY = 40.0;
+    static final double MAX_BUS_UTILIZATION = 0.9;
+    static final long MAX_PAUSE_MILLIS = 5000;
+
+    /** Weight of the latest sample in the moving averages */
+    private static final double SMOOTHING = 0.2;
+    private static final long LOAD_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long minPauseMillis;
+
+    private double averageLatencyMillis;
+    private double busLoad;
+    private long windowStartNanos;
+    private int windowTelegrams;
+
+    /**
+     * @param minPauseMillis the configured reading pause
+     * @param nowNanos current {@link System#nanoTime()}
+     */
+    public ReadPacer(long minPauseMillis, long nowNanos) {
+        this.minPauseMillis = Math.max(0, minPauseMillis);
+        this.windowStartNanos = nowNanos;
+    }
+
+    /**
+     * Records a telegram seen on the bus.
+     *
+     * @param nowNanos current {@link System#nanoTime()}
+     */
+    public synchronized void telegramReceived(long nowNanos) {
+        updateBusLoad(nowNanos);
+        windowTelegrams++;
+    }
+
+    /**
+     * Records the time a read request took until it was answered, or failed.
+     *
+     * @param latencyMillis duration of the read request
+     */
+    public synchronized void readCompleted(long latencyMillis) {
+        averageLatencyMillis += SMOOTHING * (latencyMillis - averageLatencyMillis);
+    }
+
+    /**
+     * Returns the pause to wait before the next read request.
+     *
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return the pause in milliseconds
+     */
+    public synchronized long getPauseMillis(long nowNanos) {
+        updateBusLoad(nowNanos);
+        double utilization = Math.min(busLoad / BUS_CAPACITY, MAX_BUS_UTILIZATION);
+        double pause = Math.max(minPauseMillis, averageLatencyMillis) / (1 - utilization);
+        return Math.max(minPauseMillis, Math.min(Math.round(pause), MAX_PAUSE_MILLIS));
+    }
+
+    /**
+     * Returns the average bus load.
+     *
+     * @return telegrams per second
+     */
+    public synchronized double getBusLoad() {
+        return busLoad;
+    }
+
+    private void updateBusLoad(long nowNanos) {
+        long elapsedNanos = nowNanos - windowStartNanos;
+        if (elapsedNanos >= LOAD_WINDOW_NANOS) {
+            double load = windowTelegrams * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+            busLoad += SMOOTHING * (load - busLoad);
+            windowStartNanos = nowNanos;
+            windowTelegrams = 0;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+/**
+ * Priority of a datapoint which is queued to be read from the KNX bus. Datapoints with a higher priority are read
+ * first.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public enum ReadPriority {
+    /** The state of the group address is not known yet, e.g. initial reads of linked channels */
+    HIGH,
+    /** Reads which were requested explicitly, e.g. by a REFRESH command */
+    NORMAL,
+    /** Periodic refreshes of states which are already known */
+    LOW
+}
@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.smarthome.core.library.types.DateTimeType;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -107,6 +108,27 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     /** stores the default KNX DPT to use for each openHAB type */
     private final Map<Class<? extends Type>, String> defaultDptMap;
 
+    /** stores the parsed datapoint type for each DPT id received by {@link #toType(Datapoint, byte[])} */
+    private final Map<String, DatapointTypeInfo> datapointTypeInfos = new ConcurrentHashMap<>();
+
+    /**
+     * The main and sub number and openHAB type class of a datapoint type, so that they don't have to be parsed from
+     * the DPT id of every received telegram.
+     */
+    private static class DatapointTypeInfo {
+        private final String id;
+        private final int mainNumber;
+        private final int subNumber;
+        private final Class<? extends Type> typeClass;
+
+        public DatapointTypeInfo(String id, int mainNumber, int subNumber, Class<? extends Type> typeClass) {
+            this.id = id;
+            this.mainNumber = mainNumber;
+            this.subNumber = subNumber;
+            this.typeClass = typeClass;
+        }
+    }
+
     public KNXCoreTypeMapper() {
         @SuppressWarnings("unused")
         final List<Class<?>> xlators = Arrays.<Class<?>> asList(DPTXlator1BitControlled.class,
@@ -673,44 +695,38 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
-            translator.setData(data);
-            String value = translator.getValue();
-
-            String id = translator.getType().getID();
+            DatapointTypeInfo info = getDatapointTypeInfo(datapoint);
+            String id = info.id;
             logger.trace("toType datapoint DPT = {}", datapoint.getDPT());
 
-            int mainNumber = getMainNumber(id);
+            int mainNumber = info.mainNumber;
             if (mainNumber == -1) {
                 logger.debug("toType: couldn't identify mainnumber in dptID: {}.", id);
                 return null;
             }
-            int subNumber = getSubNumber(id);
+            int subNumber = info.subNumber;
             if (subNumber == -1) {
                 logger.debug("toType: couldn't identify sub number in dptID: {}.", id);
                 return null;
             }
+
+            Type type = decode(info, data);
+            if (type != null) {
+                return type;
+            }
+
+            // translators are not thread safe, and only the less common datapoint types get here
+            DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
+            translator.setData(data);
+            String value = translator.getValue();
+
             /*
              * Following code section deals with specific mapping of values from KNX to openHAB types were the String
              * received from the DPTXlator is not sufficient to set the openHAB type or has bugs
              */
             switch (mainNumber) {
                 case 1:
-                    DPTXlatorBoolean translatorBoolean = (DPTXlatorBoolean) translator;
-                    switch (subNumber) {
-                        case 8:
-                            return translatorBoolean.getValueBoolean() ? UpDownType.DOWN : UpDownType.UP;
-                        case 9:
-                            return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
-                        case 10:
-                            return translatorBoolean.getValueBoolean() ? StopMoveType.MOVE : StopMoveType.STOP;
-                        case 19:
-                            return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
-                        case 22:
-                            return DecimalType.valueOf(translatorBoolean.getValueBoolean() ? "1" : "0");
-                        default:
-                            return translatorBoolean.getValueBoolean() ? OnOffType.ON : OnOffType.OFF;
-                    }
+                    return toBooleanType(subNumber, ((DPTXlatorBoolean) translator).getValueBoolean());
                 case 2:
                     DPTXlator1BitControlled translator1BitControlled = (DPTXlator1BitControlled) translator;
                     int decValue = (translator1BitControlled.getControlBit() ? 2 : 0)
@@ -812,16 +828,13 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
                     break;
             }
 
-            Class<? extends Type> typeClass = toTypeClass(id);
+            Class<? extends Type> typeClass = info.typeClass;
             if (typeClass == null) {
                 return null;
             }
 
-            if (typeClass.equals(PercentType.class)) {
-                return new PercentType(BigDecimal.valueOf(Math.round(translator.getNumericValue())));
-            }
-            if (typeClass.equals(DecimalType.class)) {
-                return new DecimalType(translator.getNumericValue());
+            if (typeClass.equals(PercentType.class) || typeClass.equals(DecimalType.class)) {
+                return toNumberType(typeClass, translator.getNumericValue());
             }
             if (typeClass.equals(StringType.class)) {
                 return StringType.valueOf(value);
@@ -859,6 +872,86 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         return null;
     }
 
+    private DatapointTypeInfo getDatapointTypeInfo(Datapoint datapoint) throws KNXException {
+        DatapointTypeInfo info = datapointTypeInfos.get(datapoint.getDPT());
+        if (info == null) {
+            String id = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT()).getType()
+                    .getID();
+            info = new DatapointTypeInfo(id, getMainNumber(id), getSubNumber(id), toTypeClass(id));
+            datapointTypeInfos.put(datapoint.getDPT(), info);
+        }
+        return info;
+    }
+
+    /**
+     * Decodes the data of the most common datapoint types directly, without a translator and its String value. The
+     * results are the same as the ones of the translators.
+     *
+     * @param info the datapoint type
+     * @param data the data of the telegram
+     * @return the openHAB type, or {@code null} if the datapoint type or the data is not handled here
+     */
+    private Type decode(DatapointTypeInfo info, byte[] data) {
+        switch (info.mainNumber) {
+            case 1:
+                if (data.length != 1) {
+                    return null;
+                }
+                return toBooleanType(info.subNumber, (data[0] & 0x01) != 0);
+            case 5:
+                if (info.subNumber != 1 || data.length != 1 || !PercentType.class.equals(info.typeClass)) {
+                    return null;
+                }
+                // DPT_Scaling: 0...255 is 0...100 %
+                return new PercentType(BigDecimal.valueOf(Math.round((data[0] & 0xff) * 100.0f / 255)));
+            case 9:
+                if (data.length != 2) {
+                    return null;
+                }
+                // 2-octet float: MEEEEMMM MMMMMMMM, value is 0.01 * mantissa * 2^exponent
+                int mantissa = (((data[0] & 0x80) << 24) | ((data[0] & 0x07) << 28) | ((data[1] & 0xff) << 20)) >> 20;
+                int exponent = (data[0] & 0x78) >> 3;
+                return toNumberType(info.typeClass, (1 << exponent) * mantissa * 0.01);
+            case 14:
+                if (data.length != 4) {
+                    return null;
+                }
+                // 4-octet IEEE 754 float
+                int bits = ((data[0] & 0xff) << 24) | ((data[1] & 0xff) << 16) | ((data[2] & 0xff) << 8)
+                        | (data[3] & 0xff);
+                return toNumberType(info.typeClass, Float.intBitsToFloat(bits));
+            default:
+                return null;
+        }
+    }
+
+    private Type toBooleanType(int subNumber, boolean value) {
+        switch (subNumber) {
+            case 8:
+                return value ? UpDownType.DOWN : UpDownType.UP;
+            case 9:
+                return value ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+            case 10:
+                return value ? StopMoveType.MOVE : StopMoveType.STOP;
+            case 19:
+                return value ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+            case 22:
+                return DecimalType.valueOf(value ? "1" : "0");
+            default:
+                return value ? OnOffType.ON : OnOffType.OFF;
+        }
+    }
+
+    private Type toNumberType(Class<? extends Type> typeClass, double value) {
+        if (PercentType.class.equals(typeClass)) {
+            return new PercentType(BigDecimal.valueOf(Math.round(value)));
+        }
+        if (DecimalType.class.equals(typeClass)) {
+            return new DecimalType(value);
+        }
+        return null;
+    }
+
     /**
      * Converts a datapoint type id into an openHAB type class
      *
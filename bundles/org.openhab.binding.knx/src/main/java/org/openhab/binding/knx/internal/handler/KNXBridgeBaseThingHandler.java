@@ -12,9 +12,12 @@
  */
 package org.openhab.binding.knx.internal.handler;
 
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -41,9 +44,15 @@ import tuwien.auto.calimero.mgmt.Destination;
 @NonNullByDefault
 public abstract class KNXBridgeBaseThingHandler extends BaseBridgeHandler implements StatusUpdateCallback {
 
+    static final String PROPERTY_READS_PENDING = "reads.pending";
+    static final String PROPERTY_READS_COMPLETED = "reads.completed";
+    static final String PROPERTY_READ_PAUSE = "reads.pause";
+    private static final int READ_PROGRESS_INTERVAL = 60; // seconds
+
     protected ConcurrentHashMap<IndividualAddress, Destination> destinations = new ConcurrentHashMap<>();
     private final ScheduledExecutorService knxScheduler = ThreadPoolManager.getScheduledPool("knx");
     private final ScheduledExecutorService backgroundScheduler = Executors.newSingleThreadScheduledExecutor();
+    private @Nullable ScheduledFuture<?> readProgressJob;
 
     public KNXBridgeBaseThingHandler(Bridge bridge) {
         super(bridge);
@@ -69,13 +78,58 @@ public abstract class KNXBridgeBaseThingHandler extends BaseBridgeHandler implem
         return backgroundScheduler;
     }
 
+    @Override
+    public void dispose() {
+        stopReadProgressJob();
+        super.dispose();
+    }
+
     @Override
     public void updateStatus(ThingStatus status) {
         super.updateStatus(status);
+        if (status == ThingStatus.ONLINE) {
+            startReadProgressJob();
+        }
     }
 
     @Override
     public void updateStatus(ThingStatus status, ThingStatusDetail statusDetail, @Nullable String description) {
         super.updateStatus(status, statusDetail, description);
     }
+
+    private synchronized void startReadProgressJob() {
+        ScheduledFuture<?> job = readProgressJob;
+        if (job == null || job.isDone()) {
+            readProgressJob = knxScheduler.scheduleWithFixedDelay(this::updateReadProgress, 0, READ_PROGRESS_INTERVAL,
+                    TimeUnit.SECONDS);
+        }
+    }
+
+    private synchronized void stopReadProgressJob() {
+        ScheduledFuture<?> job = readProgressJob;
+        if (job != null) {
+            job.cancel(false);
+            readProgressJob = null;
+        }
+    }
+
+    /**
+     * Publishes the progress of the read requests as properties of the bridge, if it has changed. Called once a minute
+     * at most, so that the thing is not persisted with every read.
+     */
+    private void updateReadProgress() {
+        KNXClient client = getClient();
+        Map<String, String> properties = editProperties();
+        String pending = String.valueOf(client.getPendingReadCount());
+        String completed = String.valueOf(client.getCompletedReadCount());
+        String pause = String.valueOf(client.getReadPause());
+        if (!pending.equals(properties.get(PROPERTY_READS_PENDING))
+                || !completed.equals(properties.get(PROPERTY_READS_COMPLETED))
+                || !pause.equals(properties.get(PROPERTY_READ_PAUSE))) {
+            properties.put(PROPERTY_READS_PENDING, pending);
+            properties.put(PROPERTY_READS_COMPLETED, completed);
+            properties.put(PROPERTY_READ_PAUSE, pause);
+            updateProperties(properties);
+        }
+    }
 }
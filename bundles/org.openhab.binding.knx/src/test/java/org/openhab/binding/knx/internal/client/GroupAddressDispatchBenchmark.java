@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+
+import org.openhab.binding.knx.internal.client.GroupAddressListenerIndexTest.TestListener;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Benchmark of finding the listeners of one telegram in a large installation
+ *
+ * Every device thing listens to 8 group addresses of its own and to 2 central group addresses shared by its line.
+ *
+ * <ul>
+ * <li><code>scanListeners</code>: time to ask each of the registered listeners with <code>listensTo</code>, which
+ * grows with the number of devices</li>
+ * <li><code>indexLookup</code>: time to get the listeners of the destination from the
+ * {@link GroupAddressListenerIndex}, a map lookup independent of the number of devices</li>
+ * </ul>
+ *
+ * One telegram in eleven is sent to a group address without listeners.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupAddressDispatchBenchmark {
+
+    private static final int ADDRESSES_PER_DEVICE = 8;
+    private static final int DEVICES_PER_LINE = 20;
+
+    @Param({ "100", "600" })
+    public int devices;
+
+    private final Set<GroupAddressListener> listeners = new CopyOnWriteArraySet<>();
+    private final GroupAddressListenerIndex index = new GroupAddressListenerIndex();
+    private final List<GroupAddress> telegrams = new ArrayList<>();
+    private int telegram;
+
+    @Setup
+    public void setUp() {
+        for (int device = 0; device < devices; device++) {
+            TestListener listener = new TestListener();
+            for (int i = 0; i < ADDRESSES_PER_DEVICE; i++) {
+                int address = device * ADDRESSES_PER_DEVICE + i;
+                listener.groupAddresses.add(new GroupAddress(1 + address / 2048, address / 256 % 8, address % 256));
+            }
+            int line = device / DEVICES_PER_LINE;
+            listener.groupAddresses.add(new GroupAddress(31, 0, line));
+            listener.groupAddresses.add(new GroupAddress(31, 1, line));
+            listeners.add(listener);
+            index.add(listener);
+            telegrams.addAll(listener.groupAddresses);
+        }
+        // telegrams to group addresses without any listener
+        for (int i = 0; i < telegrams.size() / 10; i++) {
+            telegrams.add(new GroupAddress(30, 7, i % 256));
+        }
+    }
+
+    private GroupAddress nextTelegram() {
+        telegram = (telegram + 1) % telegrams.size();
+        return telegrams.get(telegram);
+    }
+
+    @Benchmark
+    public void scanListeners(Blackhole blackhole) {
+        GroupAddress destination = nextTelegram();
+        for (GroupAddressListener listener : listeners) {
+            if (listener.listensTo(destination)) {
+                blackhole.consume(listener);
+            }
+        }
+    }
+
+    @Benchmark
+    public void indexLookup(Blackhole blackhole) {
+        GroupAddress destination = nextTelegram();
+        for (GroupAddressListener listener : index.get(destination)) {
+            blackhole.consume(listener);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(GroupAddressDispatchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
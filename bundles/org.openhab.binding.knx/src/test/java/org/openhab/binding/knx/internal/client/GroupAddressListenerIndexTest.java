@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+
+/**
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ *
+ */
+public class GroupAddressListenerIndexTest {
+
+    private static final GroupAddress GA_1 = new GroupAddress(1, 2, 3);
+    private static final GroupAddress GA_2 = new GroupAddress(1, 2, 4);
+    private static final GroupAddress GA_3 = new GroupAddress(1, 2, 5);
+
+    static class TestListener implements GroupAddressListener {
+        final Set<GroupAddress> groupAddresses = new HashSet<>();
+
+        TestListener(GroupAddress... groupAddresses) {
+            this.groupAddresses.addAll(Arrays.asList(groupAddresses));
+        }
+
+        @Override
+        public boolean listensTo(GroupAddress destination) {
+            return groupAddresses.contains(destination);
+        }
+
+        @Override
+        public Set<GroupAddress> getGroupAddresses() {
+            return groupAddresses;
+        }
+
+        @Override
+        public void onGroupWrite(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupRead(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupReadResponse(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+    }
+
+    @Test
+    public void testLookup() {
+        GroupAddressListenerIndex index = new GroupAddressListenerIndex();
+        TestListener first = new TestListener(GA_1, GA_2);
+        TestListener second = new TestListener(GA_2);
+        assertTrue(index.add(first));
+        assertTrue(index.add(second));
+
+        assertEquals(Arrays.asList(first), index.get(GA_1));
+        assertEquals(Arrays.asList(first, second), index.get(GA_2));
+        assertTrue(index.get(GA_3).isEmpty());
+        assertTrue(index.get(new GroupAddress("1/2/4")).contains(second));
+    }
+
+    @Test
+    public void testUpdateAndRemove() {
+        GroupAddressListenerIndex index = new GroupAddressListenerIndex();
+        TestListener listener = new TestListener(GA_1, GA_2);
+        index.add(listener);
+
+        listener.groupAddresses.remove(GA_1);
+        listener.groupAddresses.add(GA_3);
+        assertFalse(index.add(listener));
+        assertTrue(index.get(GA_1).isEmpty());
+        assertEquals(Arrays.asList(listener), index.get(GA_2));
+        assertEquals(Arrays.asList(listener), index.get(GA_3));
+        assertEquals(2, index.size());
+
+        // removing uses the addresses of the registration, even if the listener has forgotten them
+        listener.groupAddresses.clear();
+        assertTrue(index.remove(listener));
+        assertFalse(index.remove(listener));
+        assertTrue(index.get(GA_2).isEmpty());
+        assertEquals(0, index.size());
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
+/**
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ *
+ */
+public class PriorityReadQueueTest {
+
+    private static final GroupAddress GA_1 = new GroupAddress(1, 2, 3);
+    private static final GroupAddress GA_2 = new GroupAddress(1, 2, 4);
+    private static final GroupAddress GA_3 = new GroupAddress(1, 2, 5);
+
+    private static ReadDatapoint read(GroupAddress groupAddress, ReadPriority priority) {
+        return new ReadDatapoint(new CommandDP(groupAddress, "test", 0, "1.001"), 3, priority);
+    }
+
+    @Test
+    public void testPollByPriority() {
+        PriorityReadQueue queue = new PriorityReadQueue();
+        assertTrue(queue.add(read(GA_1, ReadPriority.LOW)));
+        assertTrue(queue.add(read(GA_2, ReadPriority.NORMAL)));
+        assertTrue(queue.add(read(GA_3, ReadPriority.HIGH)));
+        assertEquals(3, queue.size());
+
+        assertEquals(GA_3, queue.poll().getDatapoint().getMainAddress());
+        assertEquals(GA_2, queue.poll().getDatapoint().getMainAddress());
+        assertEquals(GA_1, queue.poll().getDatapoint().getMainAddress());
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testDuplicatesAreQueuedOnce() {
+        PriorityReadQueue queue = new PriorityReadQueue();
+        assertTrue(queue.add(read(GA_1, ReadPriority.NORMAL)));
+        assertTrue(queue.add(read(GA_2, ReadPriority.NORMAL)));
+        assertFalse(queue.add(read(GA_1, ReadPriority.LOW)));
+        assertEquals(2, queue.size());
+        assertEquals(ReadPriority.NORMAL, queue.poll().getPriority());
+
+        // can be queued again once it has been read
+        assertTrue(queue.add(read(GA_1, ReadPriority.LOW)));
+    }
+
+    @Test
+    public void testDuplicateRaisesPriority() {
+        PriorityReadQueue queue = new PriorityReadQueue();
+        ReadDatapoint datapoint = read(GA_1, ReadPriority.LOW);
+        datapoint.incrementRetries();
+        queue.add(datapoint);
+        queue.add(read(GA_2, ReadPriority.NORMAL));
+        assertFalse(queue.add(read(GA_1, ReadPriority.HIGH)));
+        assertEquals(1, queue.size(ReadPriority.HIGH));
+        assertEquals(0, queue.size(ReadPriority.LOW));
+
+        ReadDatapoint next = queue.poll();
+        assertSame(datapoint, next);
+        assertEquals(ReadPriority.HIGH, next.getPriority());
+        assertEquals(1, next.getRetries());
+    }
+}
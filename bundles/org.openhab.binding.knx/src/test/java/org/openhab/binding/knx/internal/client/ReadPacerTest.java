@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ *
+ */
+public class ReadPacerTest {
+
+    @Test
+    public void testAdaptsToLatencyAndBusLoad() {
+        long now = 0;
+        ReadPacer pacer = new ReadPacer(50, now);
+        assertEquals(50, pacer.getPauseMillis(now));
+
+        // slow responses
+        for (int i = 0; i < 50; i++) {
+            pacer.readCompleted(400);
+        }
+        assertEquals(400, pacer.getPauseMillis(now), 1);
+
+        // bus at half of its capacity
+        pacer = new ReadPacer(50, now);
+        for (int second = 0; second < 50; second++) {
+            for (int i = 0; i < ReadPacer.BUS_CAPACITY / 2; i++) {
+                pacer.telegramReceived(now);
+            }
+            now += TimeUnit.SECONDS.toNanos(1);
+        }
+        assertEquals(100, pacer.getPauseMillis(now), 1);
+
+        // timeouts
+        for (int i = 0; i < 50; i++) {
+            pacer.readCompleted(10000);
+        }
+        assertEquals(ReadPacer.MAX_PAUSE_MILLIS, pacer.getPauseMillis(now));
+    }
+}
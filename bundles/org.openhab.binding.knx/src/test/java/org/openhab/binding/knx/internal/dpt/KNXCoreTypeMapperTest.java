@@ -14,9 +14,21 @@ package org.openhab.binding.knx.internal.dpt;
 
 import static org.junit.Assert.assertEquals;
 
+import java.math.BigDecimal;
+
 import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.UpDownType;
+import org.eclipse.smarthome.core.types.Type;
 import org.junit.Test;
 
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.dptxlator.DPTXlator;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes;
+
 /**
  *
  * @author Simon Kaufmann - initial contribution and API
@@ -29,4 +41,48 @@ public class KNXCoreTypeMapperTest {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3"), "17.001"));
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
+
+    private static Type toType(String dpt, byte... data) {
+        return new KNXCoreTypeMapper().toType(new CommandDP(new GroupAddress(1, 2, 3), "test", 0, dpt), data);
+    }
+
+    private static double translate(String dpt, byte... data) throws KNXException {
+        DPTXlator translator = TranslatorTypes.createTranslator(0, dpt);
+        translator.setData(data);
+        return translator.getNumericValue();
+    }
+
+    @Test
+    public void testToType_boolean() {
+        assertEquals(OnOffType.ON, toType("1.001", (byte) 1));
+        assertEquals(OnOffType.OFF, toType("1.001", (byte) 0));
+        assertEquals(UpDownType.DOWN, toType("1.008", (byte) 1));
+        assertEquals(new DecimalType(1), toType("1.022", (byte) 1));
+    }
+
+    @Test
+    public void testToType_scalingSameAsTranslator() throws KNXException {
+        for (int i = 0; i < 256; i++) {
+            assertEquals(new PercentType(BigDecimal.valueOf(Math.round(translate("5.001", (byte) i)))),
+                    toType("5.001", (byte) i));
+        }
+    }
+
+    @Test
+    public void testToType_2ByteFloatSameAsTranslator() throws KNXException {
+        assertEquals(new DecimalType(21), toType("9.001", (byte) 0x0C, (byte) 0x1A));
+        for (int i = 0; i < 0x10000; i++) {
+            byte[] data = { (byte) (i >> 8), (byte) i };
+            assertEquals(new DecimalType(translate("9.001", data)), toType("9.001", data));
+        }
+    }
+
+    @Test
+    public void testToType_4ByteFloatSameAsTranslator() throws KNXException {
+        for (float f : new float[] { 0f, -1.5f, 3.14159f, 123456.7f, 3.4e20f, -1.0e-10f }) {
+            int bits = Float.floatToIntBits(f);
+            byte[] data = { (byte) (bits >> 24), (byte) (bits >> 16), (byte) (bits >> 8), (byte) bits };
+            assertEquals(new DecimalType(translate("14.019", data)), toType("14.019", data));
+        }
+    }
 }
@@ -17,6 +17,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.common.registry.Identifiable;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.openhab.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
 
 /**
  * Base interface for thing handlers of endpoint things
@@ -50,4 +51,13 @@ public interface ModbusEndpointThingHandler extends Identifiable<ThingUID> {
      * @return boolean true if the discovery is enabled
      */
     public boolean isDiscoveryEnabled();
+
+    /**
+     * Get performance metrics of the communication with the endpoint represented by the thing
+     *
+     * @return metrics of the endpoint, or null if the endpoint has not been communicated with
+     */
+    public default @Nullable ModbusEndpointMetrics getMetrics() {
+        return null;
+    }
 }
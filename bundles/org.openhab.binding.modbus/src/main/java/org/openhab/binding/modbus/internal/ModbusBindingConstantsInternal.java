@@ -59,6 +59,11 @@ public class ModbusBindingConstantsInternal {
     public static final String[] DATA_CHANNELS_TO_DELEGATE_COMMAND_FROM_READWRITE_TO_WRITE = { CHANNEL_SWITCH,
             CHANNEL_CONTACT, CHANNEL_DATETIME, CHANNEL_DIMMER, CHANNEL_NUMBER, CHANNEL_STRING, CHANNEL_ROLLERSHUTTER };
 
+    // Properties of the endpoint things
+    public static final String PROPERTY_METRICS_PREFIX = "metrics.";
+    public static final String PROPERTY_METRICS_CONNECTION_BORROW = PROPERTY_METRICS_PREFIX + "connectionBorrow";
+    public static final String PROPERTY_METRICS_ERRORS = PROPERTY_METRICS_PREFIX + "errors";
+
     public static final String WRITE_TYPE_COIL = "coil";
     public static final String WRITE_TYPE_HOLDING = "holding";
 
@@ -30,6 +30,7 @@ import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusSerialThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusTcpThingHandler;
 import org.openhab.io.transport.modbus.ModbusManager;
+import org.openhab.io.transport.modbus.ModbusMetrics;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
@@ -48,6 +49,7 @@ public class ModbusHandlerFactory extends BaseThingHandlerFactory {
     private final Logger logger = LoggerFactory.getLogger(ModbusHandlerFactory.class);
 
     private @NonNullByDefault({}) ModbusManager manager;
+    private @NonNullByDefault({}) ModbusMetrics metrics;
 
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = new HashSet<>();
     static {
@@ -67,10 +69,10 @@ public class ModbusHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
         if (thingTypeUID.equals(THING_TYPE_MODBUS_TCP)) {
             logger.debug("createHandler Modbus tcp");
-            return new ModbusTcpThingHandler((Bridge) thing, manager);
+            return new ModbusTcpThingHandler((Bridge) thing, manager, metrics);
         } else if (thingTypeUID.equals(THING_TYPE_MODBUS_SERIAL)) {
             logger.debug("createHandler Modbus serial");
-            return new ModbusSerialThingHandler((Bridge) thing, manager);
+            return new ModbusSerialThingHandler((Bridge) thing, manager, metrics);
         } else if (thingTypeUID.equals(THING_TYPE_MODBUS_POLLER)) {
             logger.debug("createHandler Modbus poller");
             return new ModbusPollerThingHandler((Bridge) thing);
@@ -93,4 +95,13 @@ public class ModbusHandlerFactory extends BaseThingHandlerFactory {
     public void unsetModbusManager(ModbusManager manager) {
         this.manager = null;
     }
+
+    @Reference
+    public void setModbusMetrics(ModbusMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void unsetModbusMetrics(ModbusMetrics metrics) {
+        this.metrics = null;
+    }
 }
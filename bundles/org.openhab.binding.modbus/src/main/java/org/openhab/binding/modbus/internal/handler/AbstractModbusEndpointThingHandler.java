@@ -12,6 +12,12 @@
  */
 package org.openhab.binding.modbus.internal.handler;
 
+import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal.*;
+
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.thing.Bridge;
@@ -24,7 +30,9 @@ import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
 import org.openhab.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
 import org.openhab.io.transport.modbus.ModbusManager;
+import org.openhab.io.transport.modbus.ModbusMetrics;
 import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
 import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
 import org.slf4j.Logger;
@@ -42,16 +50,29 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEndpoint, C> extends BaseBridgeHandler
         implements ModbusEndpointThingHandler {
 
+    /**
+     * Interval for refreshing the metrics properties of the thing
+     */
+    private static final long METRICS_REFRESH_INTERVAL_MILLIS = 300_000;
+
+    /**
+     * Delay before the metrics properties are first published, leaving time for the first polls to complete
+     */
+    private static final long METRICS_INITIAL_DELAY_MILLIS = 10_000;
+
     protected volatile @Nullable C config;
     protected volatile @Nullable E endpoint;
     protected ModbusManager modbusManager;
+    protected ModbusMetrics modbusMetrics;
     protected volatile @Nullable EndpointPoolConfiguration poolConfiguration;
     private final Logger logger = LoggerFactory.getLogger(AbstractModbusEndpointThingHandler.class);
     private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private volatile @Nullable ScheduledFuture<?> metricsJob;
 
-    public AbstractModbusEndpointThingHandler(Bridge bridge, ModbusManager modbusManager) {
+    public AbstractModbusEndpointThingHandler(Bridge bridge, ModbusManager modbusManager, ModbusMetrics modbusMetrics) {
         super(bridge);
         this.modbusManager = modbusManager;
+        this.modbusMetrics = modbusMetrics;
     }
 
     @Override
@@ -77,6 +98,10 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
                 try {
                     comms = modbusManager.newModbusCommunicationInterface(endpoint, poolConfiguration);
                     updateStatus(ThingStatus.ONLINE);
+                    if (metricsJob == null) {
+                        metricsJob = scheduler.scheduleWithFixedDelay(this::updateMetricsProperties,
+                                METRICS_INITIAL_DELAY_MILLIS, METRICS_REFRESH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                    }
                 } catch (IllegalArgumentException e) {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
                             formatConflictingParameterError());
@@ -93,6 +118,11 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
 
     @Override
     public void dispose() {
+        ScheduledFuture<?> localMetricsJob = metricsJob;
+        if (localMetricsJob != null) {
+            localMetricsJob.cancel(false);
+            metricsJob = null;
+        }
         try {
             ModbusCommunicationInterface localComms = comms;
             if (localComms != null) {
@@ -115,6 +145,34 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
         return endpoint;
     }
 
+    @Override
+    public @Nullable ModbusEndpointMetrics getMetrics() {
+        E localEndpoint = endpoint;
+        if (localEndpoint == null) {
+            return null;
+        }
+        return modbusMetrics.getEndpointMetrics(localEndpoint);
+    }
+
+    /**
+     * Publish summary of the endpoint metrics as thing properties
+     */
+    private void updateMetricsProperties() {
+        ModbusEndpointMetrics metrics = getMetrics();
+        if (metrics == null) {
+            return;
+        }
+        Map<String, String> properties = editProperties();
+        properties.put(PROPERTY_METRICS_CONNECTION_BORROW, metrics.getConnectionBorrowLatency().toString());
+        properties.put(PROPERTY_METRICS_ERRORS, String.format(
+                "{timeouts=%d, ioErrors=%d, transactionIdMismatches=%d, unexpectedResponses=%d, slaveErrorResponses=%d, connectionFailures=%d}",
+                metrics.getTimeouts(), metrics.getIOErrors(), metrics.getTransactionIdMismatches(),
+                metrics.getUnexpectedResponses(), metrics.getSlaveErrorResponses(), metrics.getConnectionFailures()));
+        metrics.getOperationLatencies().forEach((functionCode, latencies) -> properties
+                .put(PROPERTY_METRICS_PREFIX + functionCode, latencies.toString()));
+        updateProperties(properties);
+    }
+
     @Override
     public abstract int getSlaveId() throws EndpointNotInitializedException;
 
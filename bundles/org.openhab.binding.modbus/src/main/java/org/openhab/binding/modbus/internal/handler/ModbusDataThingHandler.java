@@ -147,6 +147,8 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
     private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
     private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    private volatile boolean lastReadRawValueValid;
+    private volatile long lastReadRawValue;
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
@@ -413,6 +415,21 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
         channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
         channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        lastReadRawValueValid = false;
+        lastReadRawValue = 0;
+    }
+
+    @Override
+    public synchronized void channelLinked(ChannelUID channelUID) {
+        // Newly linked channel has no state yet, process next polled value in full
+        lastReadRawValueValid = false;
+        super.channelLinked(channelUID);
+    }
+
+    @Override
+    public synchronized void channelUnlinked(ChannelUID channelUID) {
+        lastReadRawValueValid = false;
+        super.channelUnlinked(channelUID);
     }
 
     @Override
@@ -680,7 +697,6 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         if (readValueType == null) {
             return;
         }
-        State numericState;
 
         // extractIndex:
         // e.g. with bit, extractIndex=4 means 5th bit (from right) ("10.4" -> 5th bit of register 10, "10.4" -> 5th bit
@@ -701,10 +717,17 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             int itemsPerRegister = 16 / readValueType.getBits();
             extractIndex = (readIndex.get() - pollStart) * itemsPerRegister + subIndex;
         }
-        numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType)
-                .map(state -> (State) state).orElse(UnDefType.UNDEF);
-        boolean boolValue = !numericState.equals(DecimalType.ZERO);
+        long rawValue = ModbusBitUtilities.extractRawValueFromRegisters(registers, extractIndex, readValueType);
+        if (processUnchangedValue(rawValue)) {
+            logger.trace("Thing {} polled value unchanged. extractIndex={}. Registers {} for request {}",
+                    thing.getUID(), extractIndex, registers, request);
+            return;
+        }
+        State numericState = ModbusBitUtilities.rawValueToState(rawValue, readValueType).map(state -> (State) state)
+                .orElse(UnDefType.UNDEF);
+        boolean boolValue = ModbusBitUtilities.rawValueToBoolean(rawValue, readValueType);
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        rememberProcessedValue(rawValue, values);
         logger.debug(
                 "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
                 thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), extractIndex, numericState,
@@ -718,8 +741,14 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             return;
         }
         boolean boolValue = bits.getBit(readIndex.get() - pollStart);
+        long rawValue = boolValue ? 1 : 0;
+        if (processUnchangedValue(rawValue)) {
+            logger.trace("Thing {} polled value unchanged. Bits {} for request {}", thing.getUID(), bits, request);
+            return;
+        }
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        rememberProcessedValue(rawValue, values);
         logger.debug(
                 "Thing {} channels updated: {}. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
                 thing.getUID(), values, readValueType, readIndex, numericState, boolValue, bits, request);
@@ -887,6 +916,45 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         return states;
     }
 
+    /**
+     * Update channels using the states of the previous poll, in case the polled value has not changed
+     *
+     * This avoids evaluating the transformations and constructing new states with every poll. As with changed values,
+     * channels are updated only when required by <code>updateUnchangedValuesEveryMillis</code>.
+     *
+     * @param rawValue raw polled value, see {@link ModbusBitUtilities#extractRawValueFromRegisters}
+     * @return true if the value was unchanged and channels were updated. False if the value needs to be processed in
+     *         full.
+     */
+    private boolean processUnchangedValue(long rawValue) {
+        if (!lastReadRawValueValid || lastReadRawValue != rawValue) {
+            return false;
+        }
+        synchronized (this) {
+            updateStatusIfChanged(ThingStatus.ONLINE);
+            long now = System.currentTimeMillis();
+            ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
+            for (Map.Entry<ChannelUID, State> entry : channelLastState.entrySet()) {
+                if (!entry.getKey().equals(lastReadSuccessUID)) {
+                    updateExpiredChannel(now, entry.getKey(), entry.getValue());
+                }
+            }
+            if (isLinked(lastReadSuccessUID)) {
+                State lastReadSuccess = new DateTimeType();
+                tryUpdateState(lastReadSuccessUID, lastReadSuccess);
+                channelLastState.put(lastReadSuccessUID, lastReadSuccess);
+                channelLastUpdated.put(lastReadSuccessUID, now);
+            }
+        }
+        return true;
+    }
+
+    private void rememberProcessedValue(long rawValue, Map<ChannelUID, State> states) {
+        // Nothing to reuse if no channels were updated, e.g. due to missing transformation
+        lastReadRawValueValid = !states.isEmpty();
+        lastReadRawValue = rawValue;
+    }
+
     private void updateExpiredChannels(Map<ChannelUID, State> states) {
         synchronized (this) {
             updateStatusIfChanged(ThingStatus.ONLINE);
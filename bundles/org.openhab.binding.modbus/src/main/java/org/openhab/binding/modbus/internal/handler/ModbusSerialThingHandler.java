@@ -25,6 +25,7 @@ import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
 import org.openhab.binding.modbus.internal.config.ModbusSerialConfiguration;
 import org.openhab.io.transport.modbus.ModbusManager;
+import org.openhab.io.transport.modbus.ModbusMetrics;
 import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
 import org.openhab.io.transport.modbus.endpoint.ModbusSerialSlaveEndpoint;
 
@@ -37,8 +38,8 @@ import org.openhab.io.transport.modbus.endpoint.ModbusSerialSlaveEndpoint;
 public class ModbusSerialThingHandler
         extends AbstractModbusEndpointThingHandler<ModbusSerialSlaveEndpoint, ModbusSerialConfiguration> {
 
-    public ModbusSerialThingHandler(Bridge bridge, ModbusManager manager) {
-        super(bridge, manager);
+    public ModbusSerialThingHandler(Bridge bridge, ModbusManager manager, ModbusMetrics metrics) {
+        super(bridge, manager, metrics);
     }
 
     @Override
@@ -25,6 +25,7 @@ import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
 import org.openhab.binding.modbus.internal.config.ModbusTcpConfiguration;
 import org.openhab.io.transport.modbus.ModbusManager;
+import org.openhab.io.transport.modbus.ModbusMetrics;
 import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
 import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
 
@@ -37,8 +38,8 @@ import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
 public class ModbusTcpThingHandler
         extends AbstractModbusEndpointThingHandler<ModbusTCPSlaveEndpoint, ModbusTcpConfiguration> {
 
-    public ModbusTcpThingHandler(Bridge bridge, ModbusManager manager) {
-        super(bridge, manager);
+    public ModbusTcpThingHandler(Bridge bridge, ModbusManager manager, ModbusMetrics metrics) {
+        super(bridge, manager, metrics);
     }
 
     @Override
@@ -13,11 +13,14 @@
 package org.openhab.binding.mqtt.generic.tools;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
@@ -28,6 +31,10 @@ import org.eclipse.jdt.annotation.Nullable;
  * Collects objects over time until a specified delay passed by.
  * Then call the user back with a list of accumulated objects and start over again.
  *
+ * Objects are collected in a lock-free queue. A single timer is armed by the first object of a batch. When the timer
+ * expires before the delay has passed since the latest object, it is armed again for the remaining time, instead of
+ * rescheduling the timer for every object. Optionally, the batch is delivered early once it reaches a maximum size.
+ *
  * @author David Graeff - Initial contribution
  *
  * @param <T> Any object
@@ -35,8 +42,13 @@ import org.eclipse.jdt.annotation.Nullable;
 @NonNullByDefault
 public class DelayedBatchProcessing<T> implements Consumer<T> {
     private final int delay;
+    private volatile int maxBatchSize;
     private final Consumer<List<T>> consumer;
-    private final List<T> queue = Collections.synchronizedList(new ArrayList<>());
+    private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicBoolean armed = new AtomicBoolean();
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+    private volatile long lastAcceptNanos;
     private final ScheduledExecutorService executor;
     protected final AtomicReference<@Nullable ScheduledFuture<?>> futureRef = new AtomicReference<>();
 
@@ -48,24 +60,65 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      * @param executor A scheduled executor service
      */
     public DelayedBatchProcessing(int delay, Consumer<List<T>> consumer, ScheduledExecutorService executor) {
+        this(delay, 0, consumer, executor);
+    }
+
+    /**
+     * Creates a {@link DelayedBatchProcessing} that delivers the accumulated objects at the latest when
+     * <code>maxBatchSize</code> objects have been collected.
+     *
+     * @param delay A delay in milliseconds
+     * @param maxBatchSize Maximum number of objects in a batch, or 0 for no limit
+     * @param consumer A consumer of the list of collected objects
+     * @param executor A scheduled executor service
+     */
+    public DelayedBatchProcessing(int delay, int maxBatchSize, Consumer<List<T>> consumer,
+            ScheduledExecutorService executor) {
         this.delay = delay;
+        this.maxBatchSize = maxBatchSize;
         this.consumer = consumer;
         this.executor = executor;
         if (delay <= 0) {
             throw new IllegalArgumentException("Delay need to be greater than 0!");
         }
+        if (maxBatchSize < 0) {
+            throw new IllegalArgumentException("Maximum batch size must not be negative!");
+        }
+    }
+
+    /**
+     * Sets the number of objects at which the accumulated objects are delivered without waiting for the delay.
+     *
+     * @param maxBatchSize Maximum number of objects in a batch, or 0 for no limit
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize < 0) {
+            throw new IllegalArgumentException("Maximum batch size must not be negative!");
+        }
+        this.maxBatchSize = maxBatchSize;
     }
 
     /**
      * Add new object to the batch process list. Every time a new object is received,
-     * the delay timer is rescheduled.
+     * the delivery is delayed until the delay has passed since this object.
      *
      * @param t An object
      */
     @Override
     public void accept(T t) {
         queue.add(t);
-        cancel(futureRef.getAndSet(executor.schedule(this::run, delay, TimeUnit.MILLISECONDS)));
+        lastAcceptNanos = System.nanoTime();
+        int size = queueSize.incrementAndGet();
+        int maxBatchSize = this.maxBatchSize;
+        if (maxBatchSize > 0 && size >= maxBatchSize && flushPending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                flushPending.set(false);
+                run();
+            });
+        }
+        if (armed.compareAndSet(false, true)) {
+            futureRef.set(executor.schedule(this::timerExpired, delay, TimeUnit.MILLISECONDS));
+        }
     }
 
     /**
@@ -75,12 +128,8 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      */
     public List<T> join() {
         cancel(futureRef.getAndSet(null));
-        List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
-        }
-        return lqueue;
+        armed.set(false);
+        return drain();
     }
 
     /**
@@ -96,21 +145,42 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      */
     public void forceProcessNow() {
         cancel(futureRef.getAndSet(null));
+        armed.set(false);
         run();
     }
 
-    private void run() {
-        List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
+    private void timerExpired() {
+        if (!armed.get()) {
+            // Objects were already taken by join() or forceProcessNow()
+            return;
+        }
+        long remainingNanos = lastAcceptNanos + TimeUnit.MILLISECONDS.toNanos(delay) - System.nanoTime();
+        if (remainingNanos > 0) {
+            futureRef.set(executor.schedule(this::timerExpired, remainingNanos, TimeUnit.NANOSECONDS));
+            return;
         }
+        // Disarm before draining: objects added after the drain arm a new timer
+        armed.set(false);
+        run();
+    }
 
+    private void run() {
+        List<T> lqueue = drain();
         if (!lqueue.isEmpty()) {
             consumer.accept(lqueue);
         }
     }
 
+    private List<T> drain() {
+        List<T> lqueue = new ArrayList<>();
+        T t;
+        while ((t = queue.poll()) != null) {
+            lqueue.add(t);
+        }
+        queueSize.addAndGet(-lqueue.size());
+        return lqueue;
+    }
+
     private static void cancel(@Nullable ScheduledFuture<?> future) {
         if (future != null) {
             future.cancel(false);
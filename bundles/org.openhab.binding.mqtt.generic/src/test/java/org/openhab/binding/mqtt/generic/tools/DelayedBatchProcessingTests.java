@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the {@link DelayedBatchProcessing}: objects are delivered in one batch after the delay, or early when the
+ * maximum batch size is reached.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class DelayedBatchProcessingTests {
+    private final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(2);
+    private final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void singleTimerForBurst() throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(1);
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(100, batch -> {
+            batches.add(batch);
+            delivered.countDown();
+        }, executor);
+
+        for (int i = 0; i < 10000; i++) {
+            processing.accept(i);
+        }
+        assertTrue(processing.isArmed());
+        assertThat(executor.getQueue().size(), is(1));
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertThat(batches.size(), is(1));
+        assertThat(batches.get(0).size(), is(10000));
+        assertThat(batches.get(0).get(9999), is(9999));
+    }
+
+    @Test
+    public void flushAtMaximumBatchSize() throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(1);
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(60000, 50, batch -> {
+            batches.add(batch);
+            delivered.countDown();
+        }, executor);
+
+        for (int i = 0; i < 50; i++) {
+            processing.accept(i);
+        }
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertThat(batches.get(0).size(), is(50));
+    }
+
+    @Test
+    public void maximumBatchSizeCanBeSetLater() throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(1);
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(60000, batch -> {
+            batches.add(batch);
+            delivered.countDown();
+        }, executor);
+        processing.setMaxBatchSize(3);
+
+        for (int i = 0; i < 3; i++) {
+            processing.accept(i);
+        }
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertThat(batches.get(0).size(), is(3));
+    }
+
+    @Test
+    public void joinTakesQueuedObjects() {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(60000, batches::add, executor);
+        processing.accept(1);
+        processing.accept(2);
+
+        assertThat(processing.join().size(), is(2));
+        assertFalse(processing.isArmed());
+        assertTrue(processing.join().isEmpty());
+
+        processing.accept(3);
+        processing.forceProcessNow();
+        assertThat(batches.size(), is(1));
+        assertThat(batches.get(0).get(0), is(3));
+    }
+}
@@ -63,6 +63,12 @@ public class HandlerConfiguration {
      */
     public List<String> topics;
 
+    /**
+     * Number of discovered components after which they are added without waiting for the attribute receive timeout.
+     * 0 means no limit.
+     */
+    public int batchsize = 0;
+
     public HandlerConfiguration() {
         this("homeassistant", Collections.emptyList());
     }
@@ -128,6 +128,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, "Device topics unknown");
             return;
         }
+        delayedProcessing.setMaxBatchSize(Math.max(0, config.batchsize));
         discoveryHomeAssistantIDs.addAll(HaID.fromConfig(config));
 
         for (Channel channel : thing.getChannels()) {
@@ -103,6 +103,7 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, "Object ID unknown");
             return;
         }
+        delayedProcessing.setMaxBatchSize(Math.max(0, config.batchsize));
         device.initialize(config.basetopic, config.deviceid, thing.getChannels());
         super.initialize();
     }
@@ -215,7 +216,7 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
      * Add all newly discovered nodes and properties to the Thing and start subscribe to each channel state topic.
      */
     @Override
-    public void accept(@Nullable List<Object> t) {
+    public synchronized void accept(@Nullable List<Object> t) {
         if (!device.isInitialized()) {
             return;
         }
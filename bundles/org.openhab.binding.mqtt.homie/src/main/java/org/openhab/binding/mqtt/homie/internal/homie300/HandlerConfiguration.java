@@ -36,4 +36,9 @@ public class HandlerConfiguration {
      * Indicates if retained topics should be removed when the Thing is deleted.
      */
     public boolean removetopics = false;
+    /**
+     * Number of discovered nodes and properties after which they are added without waiting for the subscribe timeout.
+     * 0 means no limit.
+     */
+    public int batchsize = 0;
 }
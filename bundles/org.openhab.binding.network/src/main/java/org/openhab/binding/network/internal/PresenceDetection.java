@@ -15,15 +15,16 @@ package org.openhab.binding.network.internal;
 import java.io.IOException;
 import java.net.Inet4Address;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -36,6 +37,7 @@ import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.PresenceProbeEngine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -77,11 +79,13 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
     /// State variables (cannot be final because of test dependency injections)
     ExpiringCacheAsync<PresenceDetectionValue> cache;
+    PresenceProbeEngine probeEngine = PresenceProbeEngine.getInstance();
     private final PresenceDetectionListener updateListener;
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService executorService;
+    // Counts the checks of the ongoing presence detection down, null if there is none
+    protected @Nullable CountDownLatch ongoingDetection;
+    private long detectionStartInMS;
     private String dhcpState = "off";
-    Integer currentCheck = 0;
     int detectionChecks;
 
     public PresenceDetection(final PresenceDetectionListener updateListener, int cacheDeviceStateTimeInMS)
@@ -279,14 +283,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
-    }
-
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. The checks are performed by the {@link PresenceProbeEngine} that is
+     * shared by all presence detections, which limits how many checks run at the same time.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -300,73 +300,83 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @return Return true if a presence detection is performed and false otherwise.
      */
     public boolean performPresenceDetection(boolean waitForDetectionToFinish) {
-        if (executorService != null) {
-            logger.debug(
-                    "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
-                    hostname, tcpPorts);
-            return false;
-        }
+        Set<String> interfaceNames = null;
+        final CountDownLatch detection;
+
+        synchronized (this) {
+            if (ongoingDetection != null) {
+                logger.debug(
+                        "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
+                        hostname, tcpPorts);
+                return false;
+            }
 
-        if (!cache.isExpired()) {
-            return false;
-        }
+            if (!cache.isExpired()) {
+                return false;
+            }
 
-        Set<String> interfaceNames = null;
+            detectionChecks = tcpPorts.size();
+            if (pingMethod != null) {
+                detectionChecks += 1;
+            }
+            if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
+                detectionChecks += 1;
+            } else if (arpPingMethod != ArpPingUtilEnum.UNKNOWN_TOOL) {
+                interfaceNames = networkUtils.getInterfaceNames();
+                detectionChecks += interfaceNames.size();
+            }
 
-        currentCheck = 0;
-        detectionChecks = tcpPorts.size();
-        if (pingMethod != null) {
-            detectionChecks += 1;
-        }
-        if (arpPingMethod != ArpPingUtilEnum.UNKNOWN_TOOL) {
-            interfaceNames = networkUtils.getInterfaceNames();
-            detectionChecks += interfaceNames.size();
-        }
+            if (detectionChecks == 0) {
+                return false;
+            }
 
-        if (detectionChecks == 0) {
-            return false;
+            detection = new CountDownLatch(detectionChecks);
+            ongoingDetection = detection;
+            detectionStartInMS = System.currentTimeMillis();
         }
 
-        final ExecutorService executorService = getThreadsFor(detectionChecks);
-        this.executorService = executorService;
-
         for (Integer tcpPort : tcpPorts) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
-                performServicePing(tcpPort);
-                checkIfFinished();
-            });
+            performServicePing(tcpPort, detection);
         }
 
-        // ARP ping for IPv4 addresses. Use single executor for Windows tool and
-        // each own executor for each network interface for other tools
+        // ARP ping for IPv4 addresses. Use a single check for the Windows tool and
+        // one check for each network interface for other tools
         if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionARP_" + hostname + " ");
-                // arp-ping.exe tool capable of handling multiple interfaces by itself
-                performARPping("");
-                checkIfFinished();
+            probeEngine.execute(() -> {
+                Runnable finished = startCheck(detection);
+                try {
+                    // arp-ping.exe tool capable of handling multiple interfaces by itself
+                    performARPping("", detection);
+                } finally {
+                    finished.run();
+                }
             });
         } else if (interfaceNames != null) {
             for (final String interfaceName : interfaceNames) {
-                executorService.execute(() -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
-                    performARPping(interfaceName);
-                    checkIfFinished();
+                probeEngine.execute(() -> {
+                    Runnable finished = startCheck(detection);
+                    try {
+                        performARPping(interfaceName, detection);
+                    } finally {
+                        finished.run();
+                    }
                 });
             }
         }
 
         // ICMP ping
         if (pingMethod != null) {
-            executorService.execute(() -> {
-                if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
-                    performSystemPing();
-                } else {
-                    performJavaPing();
+            probeEngine.execute(() -> {
+                Runnable finished = startCheck(detection);
+                try {
+                    if (pingMethod != IpPingMethodEnum.JAVA_PING) {
+                        performSystemPing(detection);
+                    } else {
+                        performJavaPing(detection);
+                    }
+                } finally {
+                    finished.run();
                 }
-                checkIfFinished();
             });
         }
 
@@ -380,25 +390,27 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     /**
      * Calls updateListener.finalDetectionResult() with a final result value.
      * Safe to be called from different threads. After a call to this method,
-     * the presence detection process is finished and all threads are forcefully
-     * shut down.
+     * the presence detection process is finished and results of checks that are
+     * still running are not counted anymore.
      */
-    private synchronized void submitFinalResult() {
-        // Do nothing if we are not in a detection process
-        ExecutorService service = executorService;
-        if (service == null) {
-            return;
+    private void submitFinalResult(CountDownLatch detection) {
+        synchronized (this) {
+            // Do nothing if we are not in this detection process anymore
+            if (ongoingDetection != detection) {
+                return;
+            }
+            // Finish the detection process
+            ongoingDetection = null;
+            detectionChecks = 0;
         }
-        // Finish the detection process
-        service.shutdownNow();
-        executorService = null;
-        detectionChecks = 0;
 
         PresenceDetectionValue v;
 
         // The cache will be expired by now if cache_time < timeoutInMS. But the device might be actually reachable.
         // Therefore use lastSeenInMS here and not cache.isExpired() to determine if we got a ping response.
-        if (lastSeenInMS + timeoutInMS + 100 < System.currentTimeMillis()) {
+        // The checks may have waited for their turn, so the device may have been seen long before the last check
+        // finished.
+        if (lastSeenInMS < detectionStartInMS) {
             // We haven't seen the device in the detection process
             v = new PresenceDetectionValue(hostname, -1);
         } else {
@@ -415,36 +427,57 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     }
 
     /**
-     * This method is called after each individual check and increases a check counter.
-     * If the counter equals the total checks,the final result is submitted. This will
+     * Called when a blocking check starts running. The check counts as finished when it returns, or at the latest
+     * when the timeout has passed since it started, whatever happens first. The timeout does not start while the
+     * check is waiting for its turn in the {@link PresenceProbeEngine}.
+     *
+     * @return Call this when the check has returned
+     */
+    private Runnable startCheck(CountDownLatch detection) {
+        AtomicBoolean finished = new AtomicBoolean();
+        Runnable finish = () -> {
+            if (finished.compareAndSet(false, true)) {
+                checkIfFinished(detection);
+            }
+        };
+        probeEngine.schedule(finish, timeoutInMS + 100);
+        return finish;
+    }
+
+    /**
+     * This method is called after each individual check and counts the remaining checks down.
+     * If all checks are done, the final result is submitted. This will
      * happen way before the "timeoutInMS", if all checks were successful.
      * Thread safe.
      */
-    private synchronized void checkIfFinished() {
-        currentCheck += 1;
-        if (currentCheck < detectionChecks) {
-            return;
+    private void checkIfFinished(CountDownLatch detection) {
+        detection.countDown();
+        if (detection.getCount() == 0) {
+            submitFinalResult(detection);
         }
-        submitFinalResult();
     }
 
     /**
-     * Waits for the presence detection threads to finish. Returns immediately
+     * Waits for the presence detection checks to finish. Returns immediately
      * if no presence detection is performed right now.
      */
     public void waitForPresenceDetection() {
-        ExecutorService service = executorService;
-        if (service == null) {
+        CountDownLatch detection = ongoingDetection;
+        if (detection == null) {
             return;
         }
         try {
-            // We may get interrupted here by cancelRefreshJob().
-            service.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
-            submitFinalResult();
+            // We may get interrupted here by cancelRefreshJob(). Every check finishes at the latest after its
+            // timeout, but checks may have to wait for their turn before they start.
+            detection.await();
+            submitFinalResult(detection);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Reset interrupt flag
-            service.shutdownNow();
-            executorService = null;
+            synchronized (this) {
+                if (ongoingDetection == detection) {
+                    ongoingDetection = null;
+                }
+            }
         }
     }
 
@@ -473,24 +506,50 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return v;
     }
 
-    protected void performServicePing(int tcpPort) {
+    /**
+     * Same as {@link #updateReachableValue(PresenceDetectionType, double)} for the result of a check of the given
+     * detection. Results of a detection that is not the current one anymore, because it has been stopped or timed
+     * out, are ignored.
+     *
+     * @return The updated value, or null if the result was ignored.
+     */
+    private synchronized @Nullable PresenceDetectionValue updateReachableValue(CountDownLatch detection,
+            PresenceDetectionType type, double latency) {
+        if (ongoingDetection != detection) {
+            return null;
+        }
+        return updateReachableValue(type, latency);
+    }
+
+    /**
+     * Performs a TCP connection attempt without blocking. The connection attempts of all presence detections
+     * are multiplexed by the {@link PresenceProbeEngine}.
+     *
+     * @param tcpPort The TCP port
+     * @param detection The detection this check belongs to, it is counted down when the check is done
+     */
+    protected void performServicePing(int tcpPort, CountDownLatch detection) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
-        try {
-            InetAddress destinationAddress = destination.getValue();
-            if (destinationAddress != null) {
-                networkUtils.servicePing(destinationAddress.getHostAddress(), tcpPort, timeoutInMS).ifPresent(o -> {
-                    if (o.isSuccess()) {
-                        PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION,
-                                getLatency(o, preferResponseTimeAsLatency));
+        InetAddress destinationAddress = destination.getValue();
+        if (destinationAddress == null) {
+            checkIfFinished(detection);
+            return;
+        }
+        // The engine starts the timeout when the connection attempt starts, and always calls back
+        probeEngine.tcpProbe(new InetSocketAddress(destinationAddress, tcpPort), timeoutInMS, o -> {
+            try {
+                if (o.isSuccess()) {
+                    PresenceDetectionValue v = updateReachableValue(detection, PresenceDetectionType.TCP_CONNECTION,
+                            getLatency(o, preferResponseTimeAsLatency));
+                    if (v != null) {
                         v.addReachableTcpService(tcpPort);
                         updateListener.partialDetectionResult(v);
                     }
-                });
+                }
+            } finally {
+                checkIfFinished(detection);
             }
-        } catch (IOException e) {
-            // This should not happen and might be a user configuration issue, we log a warning message therefore.
-            logger.warn("Could not create a socket connection", e);
-        }
+        });
     }
 
     /**
@@ -500,8 +559,9 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      *
      * @param interfaceName The interface name. You can request a list of interface names
      *            from {@see NetworkUtils.getInterfaceNames()} for example.
+     * @param detection The detection this check belongs to
      */
-    protected void performARPping(String interfaceName) {
+    protected void performARPping(String interfaceName, CountDownLatch detection) {
         try {
             logger.trace("Perform ARP ping presence detection for {} on interface: {}", hostname, interfaceName);
             InetAddress destinationAddress = destination.getValue();
@@ -516,9 +576,11 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             networkUtils.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName,
                     destinationAddress.getHostAddress(), timeoutInMS).ifPresent(o -> {
                         if (o.isSuccess()) {
-                            PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ARP_PING,
-                                    getLatency(o, preferResponseTimeAsLatency));
-                            updateListener.partialDetectionResult(v);
+                            PresenceDetectionValue v = updateReachableValue(detection,
+                                    PresenceDetectionType.ARP_PING, getLatency(o, preferResponseTimeAsLatency));
+                            if (v != null) {
+                                updateListener.partialDetectionResult(v);
+                            }
                         }
                     });
         } catch (IOException e) {
@@ -533,8 +595,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * and will not work on windows systems reliably and will fall back from ICMP pings to
      * the TCP echo service on port 7 which barely no device or server supports nowadays.
      * (http://docs.oracle.com/javase/7/docs/api/java/net/InetAddress.html#isReachable%28int%29)
+     *
+     * @param detection The detection this check belongs to
      */
-    protected void performJavaPing() {
+    protected void performJavaPing(CountDownLatch detection) {
         logger.trace("Perform java ping presence detection for {}", hostname);
 
         InetAddress destinationAddress = destination.getValue();
@@ -544,14 +608,16 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
         networkUtils.javaPing(timeoutInMS, destinationAddress).ifPresent(o -> {
             if (o.isSuccess()) {
-                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
+                PresenceDetectionValue v = updateReachableValue(detection, PresenceDetectionType.ICMP_PING,
                         getLatency(o, preferResponseTimeAsLatency));
-                updateListener.partialDetectionResult(v);
+                if (v != null) {
+                    updateListener.partialDetectionResult(v);
+                }
             }
         });
     }
 
-    protected void performSystemPing() {
+    protected void performSystemPing(CountDownLatch detection) {
         try {
             logger.trace("Perform native ping presence detection for {}", hostname);
             InetAddress destinationAddress = destination.getValue();
@@ -561,9 +627,11 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
             networkUtils.nativePing(pingMethod, destinationAddress.getHostAddress(), timeoutInMS).ifPresent(o -> {
                 if (o.isSuccess()) {
-                    PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
+                    PresenceDetectionValue v = updateReachableValue(detection, PresenceDetectionType.ICMP_PING,
                             getLatency(o, preferResponseTimeAsLatency));
-                    updateListener.partialDetectionResult(v);
+                    if (v != null) {
+                        updateListener.partialDetectionResult(v);
+                    }
                 }
             });
         } catch (IOException e) {
@@ -602,7 +670,8 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         if (future != null && !future.isDone()) {
             future.cancel(true);
         }
-        refreshJob = scheduledExecutorService.scheduleWithFixedDelay(() -> performPresenceDetection(true), 0,
+        // The final result is submitted by the checks, so the scheduler thread does not have to wait for them
+        refreshJob = scheduledExecutorService.scheduleWithFixedDelay(() -> performPresenceDetection(false), 0,
                 refreshIntervalInMS, TimeUnit.MILLISECONDS);
     }
 
@@ -614,7 +683,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     }
 
     /**
-     * Stop automatic refreshing.
+     * Stop automatic refreshing. An ongoing detection is abandoned, results of its checks are ignored.
      */
     public void stopAutomaticRefresh() {
         ScheduledFuture<?> future = refreshJob;
@@ -622,6 +691,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             future.cancel(true);
             refreshJob = null;
         }
+        synchronized (this) {
+            ongoingDetection = null;
+            detectionChecks = 0;
+        }
         if (cachedDestination != null) {
             disableDHCPListen(cachedDestination);
         }
@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.PresenceDetection;
+import org.openhab.binding.network.internal.PresenceDetectionListener;
+import org.openhab.binding.network.internal.PresenceDetectionValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A single scan of the {@link NetworkDiscoveryService} over the IP addresses of all subnets.
+ *
+ * The presence detections of the hosts do not block, so the sweep only limits how many hosts are probed at the same
+ * time and how many new hosts per second are probed in each subnet. The subnets take turns, so that a large subnet
+ * does not hold up the small ones. Priority hosts, which are known to be there, are probed first in their subnet.
+ * Partial results are handed to the result listener as they arrive.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class DiscoverySweep implements PresenceDetectionListener {
+    static final long TICK_IN_MS = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(DiscoverySweep.class);
+    private final List<Deque<String>> subnets = new ArrayList<>();
+    private final double[] credits;
+    private final double hostsPerTick;
+    private final int maxHostsInFlight;
+    private final int total;
+    private final BiFunction<String, PresenceDetectionListener, PresenceDetection> detectionFactory;
+    private final PresenceDetectionListener resultListener;
+    private final Runnable finished;
+
+    // Guarded by this
+    private int hostsInFlight;
+    private int nextSubnet;
+    private int scanned;
+    private boolean stopped;
+    private @Nullable ScheduledFuture<?> startJob;
+
+    /**
+     * @param subnets The IP addresses of each subnet. An address is only probed once, even if it is in more subnets.
+     * @param priorityIPs IP addresses that are probed first
+     * @param maxHostsInFlight Maximum number of hosts that are probed at the same time
+     * @param hostsPerSecond Maximum number of new hosts per second and subnet, 0 for no limit
+     * @param detectionFactory Creates a presence detection for an IP address and the given listener
+     * @param resultListener Receives the partial results
+     * @param finished Called when all hosts were probed
+     */
+    public DiscoverySweep(Collection<? extends Collection<String>> subnets, Set<String> priorityIPs,
+            int maxHostsInFlight, int hostsPerSecond,
+            BiFunction<String, PresenceDetectionListener, PresenceDetection> detectionFactory,
+            PresenceDetectionListener resultListener, Runnable finished) {
+        Set<String> queued = new HashSet<>();
+        for (Collection<String> subnet : subnets) {
+            Deque<String> ips = new ArrayDeque<>();
+            for (String ip : subnet) {
+                if (queued.add(ip)) {
+                    if (priorityIPs.contains(ip)) {
+                        ips.addFirst(ip);
+                    } else {
+                        ips.addLast(ip);
+                    }
+                }
+            }
+            if (!ips.isEmpty()) {
+                this.subnets.add(ips);
+            }
+        }
+        this.total = queued.size();
+        this.credits = new double[this.subnets.size()];
+        this.hostsPerTick = hostsPerSecond > 0 ? hostsPerSecond * TICK_IN_MS / 1000.0 : Double.POSITIVE_INFINITY;
+        this.maxHostsInFlight = Math.max(1, maxHostsInFlight);
+        this.detectionFactory = detectionFactory;
+        this.resultListener = resultListener;
+        this.finished = finished;
+    }
+
+    /**
+     * Starts probing the hosts. The hosts are started on the given scheduler.
+     */
+    public synchronized void start(ScheduledExecutorService scheduler) {
+        logger.debug("Scanning {} IPs in {} subnets", total, subnets.size());
+        if (total == 0) {
+            stopped = true;
+            scheduler.execute(finished);
+            return;
+        }
+        startJob = scheduler.scheduleWithFixedDelay(this::startHosts, 0, TICK_IN_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops starting new hosts. Results of hosts that are still probed are passed on nevertheless.
+     */
+    public synchronized void stop() {
+        stopped = true;
+        cancelStartJob();
+        subnets.forEach(Deque::clear);
+    }
+
+    /**
+     * Starts the presence detection of as many hosts as the limits allow right now.
+     */
+    void startHosts() {
+        List<String> ips = new ArrayList<>();
+        synchronized (this) {
+            if (stopped) {
+                return;
+            }
+            // Credits do not accumulate beyond one tick, so that the rate holds after the window was full
+            for (int i = 0; i < credits.length; i++) {
+                credits[i] = Math.min(credits[i] + hostsPerTick, Math.max(1, hostsPerTick));
+            }
+            // Take turns, continuing with the subnet after the one that started the last host
+            int idleSubnets = 0;
+            while (idleSubnets < subnets.size() && hostsInFlight < maxHostsInFlight) {
+                int i = nextSubnet;
+                nextSubnet = (nextSubnet + 1) % subnets.size();
+                Deque<String> subnet = subnets.get(i);
+                if (credits[i] >= 1 && !subnet.isEmpty()) {
+                    credits[i]--;
+                    hostsInFlight++;
+                    ips.add(subnet.removeFirst());
+                    idleSubnets = 0;
+                } else {
+                    idleSubnets++;
+                }
+            }
+            if (subnets.stream().allMatch(Deque::isEmpty)) {
+                cancelStartJob();
+            }
+        }
+
+        for (String ip : ips) {
+            try {
+                if (!detectionFactory.apply(ip, this).performPresenceDetection(false)) {
+                    hostFinished();
+                }
+            } catch (RuntimeException e) {
+                // Count the host as scanned, otherwise the sweep would never finish
+                logger.debug("Could not start the presence detection of {}", ip, e);
+                hostFinished();
+            }
+        }
+    }
+
+    private void cancelStartJob() {
+        ScheduledFuture<?> job = startJob;
+        if (job != null) {
+            job.cancel(false);
+            startJob = null;
+        }
+    }
+
+    private void hostFinished() {
+        synchronized (this) {
+            hostsInFlight--;
+            scanned++;
+            if (scanned % Math.max(1, total / 10) == 0 || scanned == total) {
+                logger.debug("Scanned {} of {} IPs", scanned, total);
+            }
+            if (stopped || scanned < total) {
+                return;
+            }
+            stopped = true;
+        }
+        finished.run();
+    }
+
+    @Override
+    public void partialDetectionResult(PresenceDetectionValue value) {
+        resultListener.partialDetectionResult(value);
+    }
+
+    @Override
+    public void finalDetectionResult(PresenceDetectionValue value) {
+        resultListener.finalDetectionResult(value);
+        hostFinished();
+    }
+}
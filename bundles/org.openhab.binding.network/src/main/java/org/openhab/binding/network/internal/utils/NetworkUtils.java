@@ -16,6 +16,9 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -131,25 +134,45 @@ public class NetworkUtils {
     }
 
     /**
-     * Try to establish a tcp connection to the given port. Returns false if a timeout occurred
-     * or the connection was denied.
+     * Gets the IPv4 addresses of the ARP cache of the operating system. This is only supported on Linux,
+     * where the cache can be read from /proc/net/arp.
      *
-     * @param host The IP or hostname
-     * @param port The tcp port. Must be not 0.
-     * @param timeout Timeout in ms
-     * @return Ping result information. Optional is empty if ping command was not executed.
-     * @throws IOException
+     * @return The IP addresses of hosts that answered recently. Empty if the cache cannot be read.
      */
-    public Optional<PingResult> servicePing(String host, int port, int timeout) throws IOException {
-        double execStartTimeInMS = System.currentTimeMillis();
+    public Set<String> getArpCacheIPs() {
+        Path arpCache = Paths.get("/proc/net/arp");
+        if (!Files.isReadable(arpCache)) {
+            return Collections.emptySet();
+        }
+        try {
+            return parseArpCache(Files.readAllLines(arpCache));
+        } catch (IOException e) {
+            logger.debug("Could not read the ARP cache", e);
+            return Collections.emptySet();
+        }
+    }
 
-        SocketAddress socketAddress = new InetSocketAddress(host, port);
-        try (Socket socket = new Socket()) {
-            socket.connect(socketAddress, timeout);
-            return Optional.of(new PingResult(true, System.currentTimeMillis() - execStartTimeInMS));
-        } catch (ConnectException | SocketTimeoutException | NoRouteToHostException ignored) {
-            return Optional.of(new PingResult(false, System.currentTimeMillis() - execStartTimeInMS));
+    /**
+     * Parses the lines of /proc/net/arp, which look like this:
+     *
+     * <pre>
+     * IP address       HW type     Flags       HW address            Mask     Device
+     * 192.168.1.1      0x1         0x2         00:11:22:33:44:55     *        eth0
+     * </pre>
+     *
+     * @param lines The lines including the header line
+     * @return The IP addresses of the complete entries
+     */
+    static Set<String> parseArpCache(List<String> lines) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+            String[] columns = line.trim().split("\\s+");
+            // The flags are 0x0 for an incomplete entry, the host did not answer then
+            if (columns.length >= 4 && !"0x0".equals(columns[2]) && !"00:00:00:00:00:00".equals(columns[3])) {
+                result.add(columns[0]);
+            }
         }
+        return result;
     }
 
     /**
@@ -0,0 +1,286 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A singleton that performs the presence probes of all network things and of the discovery.
+ *
+ * TCP connection attempts are not blocking, they are all multiplexed over one selector thread. Probes that have to
+ * block, like the native ping and arping tools, run on a shared thread pool. Both are limited globally, further
+ * probes wait until a running probe has finished. The threads are only alive while there is something to probe.
+ * A timer thread ends the blocking checks of presence detections that did not return in time.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class PresenceProbeEngine {
+    /** Maximum number of blocking probes, like ping and arping processes, that run at the same time */
+    public static final int MAX_BLOCKING_PROBES = 32;
+    /** Maximum number of TCP connection attempts that are open at the same time */
+    public static final int MAX_TCP_PROBES = 256;
+
+    private static final long IDLE_THREAD_TIMEOUT_IN_S = 60;
+    private static @Nullable PresenceProbeEngine instance;
+
+    private final Logger logger = LoggerFactory.getLogger(PresenceProbeEngine.class);
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor timer;
+    private final int maxTcpProbes;
+
+    // State of the selector thread, guarded by this
+    private final Queue<TcpProbe> waitingTcpProbes = new ArrayDeque<>();
+    private int activeTcpProbes;
+    private @Nullable Selector selector;
+
+    private static class TcpProbe {
+        final InetSocketAddress address;
+        final long timeoutInNS;
+        final Consumer<PingResult> callback;
+        long startTimeInNS;
+        boolean completed;
+
+        TcpProbe(InetSocketAddress address, int timeoutInMS, Consumer<PingResult> callback) {
+            this.address = address;
+            this.timeoutInNS = TimeUnit.MILLISECONDS.toNanos(timeoutInMS);
+            this.callback = callback;
+        }
+    }
+
+    public static synchronized PresenceProbeEngine getInstance() {
+        PresenceProbeEngine instance = PresenceProbeEngine.instance;
+        if (instance == null) {
+            instance = new PresenceProbeEngine(MAX_BLOCKING_PROBES, MAX_TCP_PROBES);
+            PresenceProbeEngine.instance = instance;
+        }
+        return instance;
+    }
+
+    PresenceProbeEngine(int maxBlockingProbes, int maxTcpProbes) {
+        this.maxTcpProbes = maxTcpProbes;
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "networkPresenceProbe-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        executor = new ThreadPoolExecutor(maxBlockingProbes, maxBlockingProbes, IDLE_THREAD_TIMEOUT_IN_S,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "networkPresenceTimeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setKeepAliveTime(IDLE_THREAD_TIMEOUT_IN_S, TimeUnit.SECONDS);
+        timer.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Runs a blocking probe on the shared thread pool.
+     *
+     * @param probe The probe, it should not block much longer than its timeout.
+     */
+    public void execute(Runnable probe) {
+        executor.execute(probe);
+    }
+
+    /**
+     * Runs a short task, like ending a check that did not return in time, after the given delay.
+     *
+     * @param task The task, it must not block
+     * @param delayInMS Delay in ms
+     */
+    public void schedule(Runnable task, long delayInMS) {
+        timer.schedule(task, delayInMS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Tries to establish a TCP connection to the given address without blocking the caller. The connection is closed
+     * right away if it could be established.
+     *
+     * @param address The IP address and TCP port
+     * @param timeoutInMS Timeout in ms, starting when the connection attempt starts
+     * @param callback Called on the shared thread pool with the result. The probe is not successful if a timeout
+     *            occurred or the connection was denied.
+     */
+    public void tcpProbe(InetSocketAddress address, int timeoutInMS, Consumer<PingResult> callback) {
+        TcpProbe probe = new TcpProbe(address, timeoutInMS, callback);
+        synchronized (this) {
+            waitingTcpProbes.add(probe);
+            Selector runningSelector = this.selector;
+            if (runningSelector != null) {
+                runningSelector.wakeup();
+                return;
+            }
+            final Selector selector;
+            try {
+                selector = Selector.open();
+            } catch (IOException e) {
+                waitingTcpProbes.remove(probe);
+                logger.warn("Could not open a selector for the TCP presence probes", e);
+                finish(probe, false);
+                return;
+            }
+            this.selector = selector;
+            Thread thread = new Thread(() -> runSelector(selector), "networkPresenceProbeTCP");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private void runSelector(Selector selector) {
+        try {
+            while (startWaitingProbes(selector)) {
+                selector.select(TimeUnit.NANOSECONDS.toMillis(nextTimeout(selector)) + 1);
+                Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+                while (selectedKeys.hasNext()) {
+                    SelectionKey key = selectedKeys.next();
+                    selectedKeys.remove();
+                    finishConnect(key);
+                }
+                expireTimedOutProbes(selector);
+            }
+        } catch (IOException e) {
+            logger.warn("The TCP presence probes failed", e);
+            synchronized (this) {
+                for (SelectionKey key : selector.keys()) {
+                    complete(key, false);
+                }
+                waitingTcpProbes.forEach(probe -> finish(probe, false));
+                waitingTcpProbes.clear();
+                activeTcpProbes = 0;
+                this.selector = null;
+            }
+        }
+        try {
+            selector.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Starts the connection attempts of the waiting probes, as far as the limit allows.
+     *
+     * @return false if there is nothing left to do, the selector thread ends then.
+     */
+    private synchronized boolean startWaitingProbes(Selector selector) {
+        while (activeTcpProbes < maxTcpProbes && !waitingTcpProbes.isEmpty()) {
+            TcpProbe probe = waitingTcpProbes.remove();
+            probe.startTimeInNS = System.nanoTime();
+            SocketChannel channel = null;
+            try {
+                channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                if (channel.connect(probe.address)) {
+                    channel.close();
+                    finish(probe, true);
+                } else {
+                    channel.register(selector, SelectionKey.OP_CONNECT, probe);
+                    activeTcpProbes++;
+                }
+            } catch (IOException e) {
+                logger.trace("TCP connection to {} failed", probe.address, e);
+                closeQuietly(channel);
+                finish(probe, false);
+            }
+        }
+        if (activeTcpProbes == 0 && waitingTcpProbes.isEmpty()) {
+            this.selector = null;
+            return false;
+        }
+        return true;
+    }
+
+    private long nextTimeout(Selector selector) {
+        long now = System.nanoTime();
+        long next = Long.MAX_VALUE;
+        for (SelectionKey key : selector.keys()) {
+            TcpProbe probe = (TcpProbe) key.attachment();
+            if (!probe.completed) {
+                next = Math.min(next, probe.startTimeInNS + probe.timeoutInNS - now);
+            }
+        }
+        return Math.max(0, next == Long.MAX_VALUE ? 0 : next);
+    }
+
+    private void finishConnect(SelectionKey key) {
+        boolean success;
+        try {
+            success = ((SocketChannel) key.channel()).finishConnect();
+        } catch (IOException e) {
+            // Connection refused or host unreachable
+            success = false;
+        }
+        complete(key, success);
+    }
+
+    private void expireTimedOutProbes(Selector selector) {
+        long now = System.nanoTime();
+        for (SelectionKey key : selector.keys()) {
+            TcpProbe probe = (TcpProbe) key.attachment();
+            if (!probe.completed && now - probe.startTimeInNS >= probe.timeoutInNS) {
+                complete(key, false);
+            }
+        }
+    }
+
+    private synchronized void complete(SelectionKey key, boolean success) {
+        // A failed finishConnect() already closed the channel, so the key is not valid anymore in that case
+        TcpProbe probe = (TcpProbe) key.attachment();
+        if (probe.completed) {
+            return;
+        }
+        probe.completed = true;
+        key.cancel();
+        closeQuietly(key.channel());
+        activeTcpProbes--;
+        finish(probe, success);
+    }
+
+    private void finish(TcpProbe probe, boolean success) {
+        double executionTimeInMS = (System.nanoTime() - probe.startTimeInNS) / 1000000.0;
+        PingResult result = new PingResult(success, probe.startTimeInNS == 0 ? 0 : executionTimeInMS);
+        executor.execute(() -> probe.callback.accept(result));
+    }
+
+    private void closeQuietly(@Nullable Channel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -18,10 +18,10 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
 import java.util.Collections;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -37,6 +37,7 @@ import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.PresenceProbeEngine;
 
 /**
  * Tests cases for {@see PresenceDetectionValue}
@@ -52,7 +53,7 @@ public class PresenceDetectionTest {
     PresenceDetectionListener listener;
 
     @Mock
-    ExecutorService executorService;
+    PresenceProbeEngine probeEngine;
 
     @Mock
     Consumer<PresenceDetectionValue> callback;
@@ -70,6 +71,7 @@ public class PresenceDetectionTest {
 
         subject = spy(new PresenceDetection(listener, (int) CACHETIME));
         subject.networkUtils = networkUtils;
+        subject.probeEngine = probeEngine;
         subject.cache = spy(new ExpiringCacheAsync<>(CACHETIME, () -> {
             subject.performPresenceDetection(false);
         }));
@@ -91,26 +93,26 @@ public class PresenceDetectionTest {
         subject.waitForPresenceDetection();
     }
 
-    // Depending on the amount of test methods an according amount of threads is spawned.
-    // We will check if they spawn and return in time.
+    // Depending on the amount of test methods an according amount of checks is queued.
+    // We will check if they are counted and return in time.
     @Test
     public void threadCountTest() {
-        assertNull(subject.executorService);
+        assertNull(subject.ongoingDetection);
 
-        doNothing().when(subject).performARPping(any());
-        doNothing().when(subject).performJavaPing();
-        doNothing().when(subject).performSystemPing();
-        doNothing().when(subject).performServicePing(anyInt());
+        doNothing().when(subject).performARPping(any(), any());
+        doNothing().when(subject).performJavaPing(any());
+        doNothing().when(subject).performSystemPing(any());
 
         subject.performPresenceDetection(false);
 
-        // Thread count: ARP + ICMP + 1*TCP
+        // Check count: ARP + ICMP + 1*TCP
         assertThat(subject.detectionChecks, is(3));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.ongoingDetection);
 
+        runQueuedChecks(new PingResult(false, 300));
         subject.waitForPresenceDetection();
         assertThat(subject.detectionChecks, is(0));
-        assertNull(subject.executorService);
+        assertNull(subject.ongoingDetection);
     }
 
     @Test
@@ -119,15 +121,15 @@ public class PresenceDetectionTest {
                 anyString(), anyInt());
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils)
                 .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
+        performProbesImmediately();
 
         assertTrue(subject.performPresenceDetection(false));
         subject.waitForPresenceDetection();
 
-        verify(subject, times(0)).performJavaPing();
-        verify(subject).performSystemPing();
-        verify(subject).performARPping(any());
-        verify(subject).performServicePing(anyInt());
+        verify(subject, times(0)).performJavaPing(any());
+        verify(subject).performSystemPing(any());
+        verify(subject).performARPping(any(), any());
+        verify(subject).performServicePing(anyInt(), any());
 
         verify(listener, times(3)).partialDetectionResult(any());
         ArgumentCaptor<PresenceDetectionValue> capture = ArgumentCaptor.forClass(PresenceDetectionValue.class);
@@ -142,25 +144,26 @@ public class PresenceDetectionTest {
                 anyString(), anyInt());
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils)
                 .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
-
-        doReturn(executorService).when(subject).getThreadsFor(anyInt());
 
         // We expect no valid value
         assertTrue(subject.cache.isExpired());
         // Get value will issue a PresenceDetection internally.
         subject.getValue(callback);
         verify(subject).performPresenceDetection(eq(false));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.ongoingDetection);
         // There should be no straight callback yet
         verify(callback, times(0)).accept(any());
 
-        // Perform the different presence detection threads now
+        // Perform the different presence detection checks now
         ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(executorService, times(3)).execute(capture.capture());
+        verify(probeEngine, times(2)).execute(capture.capture());
         for (Runnable r : capture.getAllValues()) {
             r.run();
         }
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<PingResult>> tcpCapture = ArgumentCaptor.forClass(Consumer.class);
+        verify(probeEngine).tcpProbe(any(), anyInt(), tcpCapture.capture());
+        tcpCapture.getValue().accept(new PingResult(true, 10));
         // "Wait" for the presence detection to finish
         subject.waitForPresenceDetection();
 
@@ -178,6 +181,82 @@ public class PresenceDetectionTest {
         verify(callback, times(2)).accept(any());
     }
 
+    @Test
+    public void servicePingTest() {
+        doNothing().when(subject).performARPping(any(), any());
+        doNothing().when(subject).performSystemPing(any());
+        performProbesImmediately();
+
+        assertTrue(subject.performPresenceDetection(false));
+
+        verify(probeEngine).tcpProbe(eq(new InetSocketAddress("127.0.0.1", 1010)), eq(300), any());
+        ArgumentCaptor<PresenceDetectionValue> capture = ArgumentCaptor.forClass(PresenceDetectionValue.class);
+        verify(listener).partialDetectionResult(capture.capture());
+        assertThat(capture.getValue().getReachableTCPports(), is(Collections.singletonList(1010)));
+        // All checks are done, the final result is there without waiting for the timeout
+        verify(listener).finalDetectionResult(any());
+        assertNull(subject.ongoingDetection);
+    }
+
+    @Test
+    public void resultsOfStoppedDetectionAreIgnored() {
+        doNothing().when(subject).performARPping(any(), any());
+        doNothing().when(subject).performSystemPing(any());
+
+        assertTrue(subject.performPresenceDetection(false));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<PingResult>> tcpCapture = ArgumentCaptor.forClass(Consumer.class);
+        verify(probeEngine).tcpProbe(any(), anyInt(), tcpCapture.capture());
+
+        subject.stopAutomaticRefresh();
+        assertNull(subject.ongoingDetection);
+
+        tcpCapture.getValue().accept(new PingResult(true, 10));
+        verify(listener, never()).partialDetectionResult(any());
+        verify(listener, never()).finalDetectionResult(any());
+    }
+
+    @Test
+    public void checksWaitingInSaturatedEngineAreNotTimedOut() throws IOException, InterruptedException {
+        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING),
+                anyString(), anyInt());
+        doNothing().when(subject).performARPping(any(), any());
+
+        // The engine is busy with other probes, the checks stay queued
+        assertTrue(subject.performPresenceDetection(false));
+        Thread.sleep(400);
+        verify(probeEngine, never()).schedule(any(), anyLong());
+        verify(listener, never()).finalDetectionResult(any());
+
+        // The timeout of a check starts when the check runs, and the result still counts
+        runQueuedChecks(new PingResult(false, 300));
+        verify(probeEngine, times(2)).schedule(any(), eq(400L));
+        verify(listener).partialDetectionResult(any());
+        ArgumentCaptor<PresenceDetectionValue> capture = ArgumentCaptor.forClass(PresenceDetectionValue.class);
+        verify(listener).finalDetectionResult(capture.capture());
+        assertTrue(capture.getValue().isReachable());
+    }
+
+    @Test
+    public void blockingCheckFinishesAfterTimeout() throws IOException, InterruptedException {
+        doNothing().when(subject).performARPping(any(), any());
+        // The ping does not return before its timeout has passed
+        doAnswer(invocation -> {
+            ArgumentCaptor<Runnable> timeout = ArgumentCaptor.forClass(Runnable.class);
+            verify(probeEngine, atLeastOnce()).schedule(timeout.capture(), eq(400L));
+            timeout.getAllValues().forEach(Runnable::run);
+            return null;
+        }).when(subject).performSystemPing(any());
+
+        assertTrue(subject.performPresenceDetection(false));
+        runQueuedChecks(new PingResult(false, 300));
+
+        // The check is counted once, although it finished by its timeout and by returning
+        verify(listener, times(1)).finalDetectionResult(any());
+        assertNull(subject.ongoingDetection);
+        assertThat(subject.detectionChecks, is(0));
+    }
+
     @Test
     public void reuseValueTests() throws InterruptedException, IOException {
         final long START_TIME = 1000L;
@@ -207,4 +286,29 @@ public class PresenceDetectionTest {
         assertNotEquals(v, v2);
         assertThat(v2.getLowestLatency(), is(25.0));
     }
+
+    /**
+     * Runs the checks that were queued in the mocked probe engine, and completes the TCP probes with the given result.
+     */
+    @SuppressWarnings("unchecked")
+    private void runQueuedChecks(PingResult tcpResult) {
+        ArgumentCaptor<Runnable> checks = ArgumentCaptor.forClass(Runnable.class);
+        verify(probeEngine, atLeastOnce()).execute(checks.capture());
+        checks.getAllValues().forEach(Runnable::run);
+        ArgumentCaptor<Consumer<PingResult>> tcpProbes = ArgumentCaptor.forClass(Consumer.class);
+        verify(probeEngine, atLeastOnce()).tcpProbe(any(), anyInt(), tcpProbes.capture());
+        tcpProbes.getAllValues().forEach(callback -> callback.accept(tcpResult));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void performProbesImmediately() {
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(probeEngine).execute(any());
+        doAnswer(invocation -> {
+            ((Consumer<PingResult>) invocation.getArgument(2)).accept(new PingResult(true, 10));
+            return null;
+        }).when(probeEngine).tcpProbe(any(), anyInt(), any());
+    }
 }
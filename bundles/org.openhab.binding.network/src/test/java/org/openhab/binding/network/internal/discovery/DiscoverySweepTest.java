@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.openhab.binding.network.internal.PresenceDetection;
+import org.openhab.binding.network.internal.PresenceDetectionListener;
+import org.openhab.binding.network.internal.PresenceDetectionValue;
+
+/**
+ * Tests the order and the limits of the {@link DiscoverySweep}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class DiscoverySweepTest {
+    private final List<String> startedIPs = new ArrayList<>();
+
+    @Mock
+    PresenceDetectionListener resultListener;
+
+    @Mock
+    PresenceDetectionValue value;
+
+    @Mock
+    Runnable finished;
+
+    @Before
+    public void setUp() {
+        initMocks(this);
+    }
+
+    private PresenceDetection createPresenceDetection(String ip, PresenceDetectionListener listener) {
+        return new PresenceDetection(listener, 2000) {
+            @Override
+            public boolean performPresenceDetection(boolean waitForDetectionToFinish) {
+                startedIPs.add(ip);
+                return true;
+            }
+        };
+    }
+
+    @Test
+    public void priorityHostsFirstAndSubnetsTakeTurns() {
+        DiscoverySweep sweep = new DiscoverySweep(
+                Arrays.asList(Arrays.asList("10.0.0.1", "10.0.0.2", "10.0.0.3"), Arrays.asList("10.0.1.1", "10.0.1.2")),
+                Collections.singleton("10.0.0.3"), 3, 0, this::createPresenceDetection, resultListener, finished);
+
+        sweep.startHosts();
+        assertThat(startedIPs, is(Arrays.asList("10.0.0.3", "10.0.1.1", "10.0.0.1")));
+
+        // The window is full, a new host is only started after a host was finished
+        sweep.startHosts();
+        assertThat(startedIPs.size(), is(3));
+        sweep.finalDetectionResult(value);
+        sweep.startHosts();
+        assertThat(startedIPs, is(Arrays.asList("10.0.0.3", "10.0.1.1", "10.0.0.1", "10.0.1.2")));
+        verify(resultListener).finalDetectionResult(value);
+    }
+
+    @Test
+    public void hostsPerSecondAreLimited() {
+        DiscoverySweep sweep = new DiscoverySweep(
+                Collections.singletonList(Arrays.asList("10.0.0.1", "10.0.0.2", "10.0.0.3", "10.0.0.4", "10.0.0.5")),
+                Collections.emptySet(), 100, 20, this::createPresenceDetection, resultListener, finished);
+
+        // 20 hosts per second are two hosts per tick
+        sweep.startHosts();
+        assertThat(startedIPs.size(), is(2));
+        sweep.startHosts();
+        assertThat(startedIPs.size(), is(4));
+    }
+
+    @Test
+    public void finishedAfterAllHosts() {
+        DiscoverySweep sweep = new DiscoverySweep(
+                Arrays.asList(Arrays.asList("10.0.0.1", "10.0.0.2"), Collections.singletonList("10.0.0.2")),
+                Collections.emptySet(), 10, 0, this::createPresenceDetection, resultListener, finished);
+
+        sweep.startHosts();
+        assertThat(startedIPs, is(Arrays.asList("10.0.0.1", "10.0.0.2")));
+
+        sweep.partialDetectionResult(value);
+        verify(resultListener).partialDetectionResult(value);
+
+        sweep.finalDetectionResult(value);
+        verify(finished, never()).run();
+        sweep.finalDetectionResult(value);
+        verify(finished).run();
+    }
+
+    @Test
+    public void failedHostsAreFinished() {
+        DiscoverySweep sweep = new DiscoverySweep(
+                Collections.singletonList(Arrays.asList("10.0.0.1", "10.0.0.2")), Collections.emptySet(), 10, 0,
+                (ip, listener) -> {
+                    throw new IllegalStateException("No presence detection for " + ip);
+                }, resultListener, finished);
+
+        sweep.startHosts();
+        verify(finished).run();
+    }
+}
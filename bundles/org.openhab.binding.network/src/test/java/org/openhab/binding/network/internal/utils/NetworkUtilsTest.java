@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the parser of the ARP cache of the operating system.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class NetworkUtilsTest {
+
+    @Test
+    public void parseArpCacheTest() {
+        Set<String> ips = NetworkUtils.parseArpCache(Arrays.asList(
+                "IP address       HW type     Flags       HW address            Mask     Device",
+                "192.168.1.1      0x1         0x2         00:11:22:33:44:55     *        eth0",
+                "192.168.1.7      0x1         0x0         00:00:00:00:00:00     *        eth0",
+                "192.168.2.20     0x1         0x6         66:77:88:99:aa:bb     *        wlan0"));
+
+        Assert.assertEquals(Arrays.asList("192.168.1.1", "192.168.2.20"), Arrays.asList(ips.toArray()));
+    }
+
+    @Test
+    public void parseEmptyArpCacheTest() {
+        Assert.assertTrue(NetworkUtils.parseArpCache(Collections.emptyList()).isEmpty());
+    }
+}
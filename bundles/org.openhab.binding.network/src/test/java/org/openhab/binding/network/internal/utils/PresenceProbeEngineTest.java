@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests the TCP connection attempts and the limits of the {@link PresenceProbeEngine}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class PresenceProbeEngineTest {
+    private final PresenceProbeEngine engine = new PresenceProbeEngine(2, 2);
+
+    @Test
+    public void tcpProbeOpenPort() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            CompletableFuture<PingResult> result = new CompletableFuture<>();
+            engine.tcpProbe(new InetSocketAddress(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort()), 1000,
+                    result::complete);
+
+            assertTrue(result.get(2, TimeUnit.SECONDS).isSuccess());
+        }
+    }
+
+    @Test
+    public void tcpProbeClosedPort() throws Exception {
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            port = serverSocket.getLocalPort();
+        }
+        CompletableFuture<PingResult> result = new CompletableFuture<>();
+        engine.tcpProbe(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1000, result::complete);
+
+        assertFalse(result.get(2, TimeUnit.SECONDS).isSuccess());
+    }
+
+    @Test
+    public void tcpProbesAboveLimitAreAllPerformed() throws IOException, InterruptedException {
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                    serverSocket.getLocalPort());
+            CountDownLatch successfulProbes = new CountDownLatch(10);
+            for (int i = 0; i < 10; i++) {
+                engine.tcpProbe(address, 1000, result -> {
+                    if (result.isSuccess()) {
+                        successfulProbes.countDown();
+                    }
+                });
+            }
+
+            assertTrue(successfulProbes.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void blockingProbesAreLimited() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            engine.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        // Only two of the three probes may run at the same time
+        assertFalse(started.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, started.getCount());
+
+        release.countDown();
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+    }
+}
@@ -28,7 +28,6 @@ import org.eclipse.smarthome.core.audio.AudioSink;
 import org.eclipse.smarthome.core.net.HttpServiceUtil;
 import org.eclipse.smarthome.core.net.NetworkAddressService;
 import org.eclipse.smarthome.core.thing.Thing;
-import org.eclipse.smarthome.core.thing.ThingRegistry;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandlerFactory;
@@ -36,6 +35,7 @@ import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.thing.binding.ThingHandlerFactory;
 import org.eclipse.smarthome.io.transport.upnp.UpnpIOService;
 import org.openhab.binding.sonos.internal.handler.ZonePlayerHandler;
+import org.openhab.binding.sonos.internal.handler.ZonePlayerHandlerRegistry;
 import org.osgi.framework.ServiceRegistration;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
@@ -56,13 +56,12 @@ public class SonosHandlerFactory extends BaseThingHandlerFactory {
 
     private final Logger logger = LoggerFactory.getLogger(SonosHandlerFactory.class);
 
-    // Bindings should not use the ThingRegistry! See https://github.com/openhab/openhab-addons/pull/6080 and
-    // https://github.com/eclipse/smarthome/issues/5182
-    private final ThingRegistry thingRegistry;
     private final UpnpIOService upnpIOService;
     private final AudioHTTPServer audioHTTPServer;
     private final NetworkAddressService networkAddressService;
     private final SonosStateDescriptionOptionProvider stateDescriptionProvider;
+    private final SonosZoneGroupCache zoneGroupCache = new SonosZoneGroupCache();
+    private final ZonePlayerHandlerRegistry handlerRegistry = new ZonePlayerHandlerRegistry();
 
     private final Map<String, @Nullable ServiceRegistration<AudioSink>> audioSinkRegistrations = new ConcurrentHashMap<>();
 
@@ -73,11 +72,10 @@ public class SonosHandlerFactory extends BaseThingHandlerFactory {
     private @Nullable String callbackUrl;
 
     @Activate
-    public SonosHandlerFactory(final @Reference ThingRegistry thingRegistry,
-            final @Reference UpnpIOService upnpIOService, final @Reference AudioHTTPServer audioHTTPServer,
+    public SonosHandlerFactory(final @Reference UpnpIOService upnpIOService,
+            final @Reference AudioHTTPServer audioHTTPServer,
             final @Reference NetworkAddressService networkAddressService,
             final @Reference SonosStateDescriptionOptionProvider stateDescriptionProvider) {
-        this.thingRegistry = thingRegistry;
         this.upnpIOService = upnpIOService;
         this.audioHTTPServer = audioHTTPServer;
         this.networkAddressService = networkAddressService;
@@ -117,8 +115,8 @@ public class SonosHandlerFactory extends BaseThingHandlerFactory {
             logger.debug("Creating a ZonePlayerHandler for thing '{}' with UDN '{}'", thing.getUID(),
                     thing.getConfiguration().get(UDN));
 
-            ZonePlayerHandler handler = new ZonePlayerHandler(thingRegistry, thing, upnpIOService, opmlUrl,
-                    stateDescriptionProvider);
+            ZonePlayerHandler handler = new ZonePlayerHandler(handlerRegistry, thing, upnpIOService, opmlUrl,
+                    stateDescriptionProvider, zoneGroupCache);
 
             // register the speaker as an audio sink
             String callbackUrl = createCallbackUrl();
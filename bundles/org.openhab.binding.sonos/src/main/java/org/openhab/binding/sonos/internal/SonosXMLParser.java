@@ -83,6 +83,62 @@ public class SonosXMLParser {
         desc
     }
 
+    private static final String NAMESPACES_FEATURE = "http://xml.org/sax/features/namespaces";
+    private static final String DISALLOW_DOCTYPE_DECL_FEATURE = "http://apache.org/xml/features/disallow-doctype-decl";
+
+    /**
+     * Handler set to the readers between the parsings, so that they don't keep the results of the last parsing
+     */
+    private static final DefaultHandler NO_HANDLER = new DefaultHandler();
+
+    /**
+     * Readers are reused by each thread. The readers without namespace processing are used with the handlers
+     * comparing the qualified names, and the namespace aware readers with the handlers using the local names.
+     * The resource meta data, which is parsed while its entry is parsed, has readers of its own that do not
+     * allow a doctype declaration.
+     */
+    private static final ThreadLocal<@Nullable XMLReader> READERS = new ThreadLocal<>();
+    private static final ThreadLocal<@Nullable XMLReader> NAMESPACE_AWARE_READERS = new ThreadLocal<>();
+    private static final ThreadLocal<@Nullable XMLReader> RESOURCE_METADATA_READERS = new ThreadLocal<>();
+
+    private static XMLReader getReader(boolean namespaceAware) throws SAXException {
+        return getReader(namespaceAware ? NAMESPACE_AWARE_READERS : READERS, namespaceAware, false);
+    }
+
+    /**
+     * Returns the reader of this thread, or a new reader if the reader of this thread is in the middle of a parsing.
+     */
+    private static XMLReader getReader(ThreadLocal<@Nullable XMLReader> readers, boolean namespaceAware,
+            boolean disallowDoctype) throws SAXException {
+        XMLReader reader = readers.get();
+        if (reader != null && reader.getContentHandler() == NO_HANDLER) {
+            return reader;
+        }
+        XMLReader newReader = XMLReaderFactory.createXMLReader();
+        newReader.setFeature(NAMESPACES_FEATURE, namespaceAware);
+        newReader.setFeature(DISALLOW_DOCTYPE_DECL_FEATURE, disallowDoctype);
+        newReader.setContentHandler(NO_HANDLER);
+        if (reader == null) {
+            readers.set(newReader);
+        }
+        return newReader;
+    }
+
+    private static void parse(String xml, DefaultHandler handler, boolean namespaceAware)
+            throws IOException, SAXException {
+        parse(getReader(namespaceAware), new InputSource(new StringReader(xml)), handler);
+    }
+
+    private static void parse(XMLReader reader, InputSource source, DefaultHandler handler)
+            throws IOException, SAXException {
+        reader.setContentHandler(handler);
+        try {
+            reader.parse(source);
+        } finally {
+            reader.setContentHandler(NO_HANDLER);
+        }
+    }
+
     /**
      * @param xml
      * @return a list of alarms from the given xml string.
@@ -92,9 +148,7 @@ public class SonosXMLParser {
     public static List<SonosAlarm> getAlarmsFromStringResult(String xml) {
         AlarmHandler handler = new AlarmHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler, false);
         } catch (IOException e) {
             LOGGER.error("Could not parse Alarms from string '{}'", xml);
         } catch (SAXException s) {
@@ -112,9 +166,7 @@ public class SonosXMLParser {
     public static List<SonosEntry> getEntriesFromString(String xml) {
         EntryHandler handler = new EntryHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler, false);
         } catch (IOException e) {
             LOGGER.error("Could not parse Entries from string '{}'", xml);
         } catch (SAXException s) {
@@ -133,12 +185,10 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static @Nullable SonosResourceMetaData getResourceMetaData(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
-        reader.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        XMLReader reader = getReader(RESOURCE_METADATA_READERS, false, true);
         ResourceMetaDataHandler handler = new ResourceMetaDataHandler();
-        reader.setContentHandler(handler);
         try {
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(reader, new InputSource(new StringReader(xml)), handler);
         } catch (IOException e) {
             LOGGER.error("Could not parse Resource MetaData from String '{}'", xml);
         } catch (SAXException s) {
@@ -157,9 +207,7 @@ public class SonosXMLParser {
     public static List<SonosZoneGroup> getZoneGroupFromXML(String xml) {
         ZoneGroupHandler handler = new ZoneGroupHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler, false);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse ZoneGroup from string '{}'", xml);
@@ -173,9 +221,7 @@ public class SonosXMLParser {
     public static List<String> getRadioTimeFromXML(String xml) {
         OpmlHandler handler = new OpmlHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler, false);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse RadioTime from string '{}'", xml);
@@ -189,9 +235,7 @@ public class SonosXMLParser {
     public static Map<String, @Nullable String> getRenderingControlFromXML(String xml) {
         RenderingControlEventHandler handler = new RenderingControlEventHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler, false);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse Rendering Control from string '{}'", xml);
@@ -204,9 +248,7 @@ public class SonosXMLParser {
     public static Map<String, @Nullable String> getAVTransportFromXML(String xml) {
         AVTransportEventHandler handler = new AVTransportEventHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler, true);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse AV Transport from string '{}'", xml);
@@ -219,9 +261,7 @@ public class SonosXMLParser {
     public static SonosMetaData getMetaDataFromXML(String xml) {
         MetaDataHandler handler = new MetaDataHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler, true);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse MetaData from string '{}'", xml);
@@ -235,9 +275,7 @@ public class SonosXMLParser {
     public static List<SonosMusicService> getMusicServicesFromXML(String xml) {
         MusicServiceHandler handler = new MusicServiceHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler, false);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse music services from string '{}'", xml);
@@ -318,8 +356,9 @@ public class SonosXMLParser {
                         ignore = curIgnore;
                     }
 
-                    if (!curIgnore.contains(localName)) {
-                        LOGGER.debug("Did not recognise element named {}", localName);
+                    String localPart = name.substring(name.indexOf(':') + 1);
+                    if (!curIgnore.contains(localPart)) {
+                        LOGGER.debug("Did not recognise element named {}", name);
                     }
                     element = null;
                     break;
@@ -920,10 +959,8 @@ public class SonosXMLParser {
     public static @Nullable String getRoomName(String descriptorXML) {
         RoomNameHandler roomNameHandler = new RoomNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(roomNameHandler);
             URL url = new URL(descriptorXML);
-            reader.parse(new InputSource(url.openStream()));
+            parse(getReader(true), new InputSource(url.openStream()), roomNameHandler);
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos room name from string '{}'", descriptorXML);
         }
@@ -959,10 +996,8 @@ public class SonosXMLParser {
     public static @Nullable String parseModelDescription(URL descriptorURL) {
         ModelNameHandler modelNameHandler = new ModelNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(modelNameHandler);
             URL url = new URL(descriptorURL.toString());
-            reader.parse(new InputSource(url.openStream()));
+            parse(getReader(true), new InputSource(url.openStream()), modelNameHandler);
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos model name from string '{}'", descriptorURL.toString());
         }
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link SonosZoneGroupCache} keeps the zone groups parsed from the recent ZoneGroupState documents
+ *
+ * All the players of a household receive the same ZoneGroupState, and each of them looks up its group many times
+ * while processing the events. The cache is shared by all zone players of the binding, so that each document is
+ * parsed only once. The documents are looked up by their hash code, and compared to the cached document before the
+ * cached groups are used.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class SonosZoneGroupCache {
+
+    /**
+     * Number of documents kept, enough for a few households in the same network
+     */
+    private static final int MAX_ENTRIES = 8;
+
+    private static class Entry {
+        private final String zoneGroupState;
+        private final List<SonosZoneGroup> groups;
+
+        Entry(String zoneGroupState, List<SonosZoneGroup> groups) {
+            this.zoneGroupState = zoneGroupState;
+            this.groups = groups;
+        }
+    }
+
+    private final Map<Integer, Entry> entries = new LinkedHashMap<Integer, Entry>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<Integer, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Get the zone groups of the ZoneGroupState document, parsing the document only if it is not cached
+     *
+     * @param zoneGroupState the ZoneGroupState document
+     * @return the unmodifiable list of zone groups
+     */
+    public List<SonosZoneGroup> getZoneGroups(String zoneGroupState) {
+        Integer hash = zoneGroupState.hashCode();
+        synchronized (entries) {
+            Entry entry = entries.get(hash);
+            if (entry == null || !entry.zoneGroupState.equals(zoneGroupState)) {
+                entry = new Entry(zoneGroupState,
+                        Collections.unmodifiableList(SonosXMLParser.getZoneGroupFromXML(zoneGroupState)));
+                entries.put(hash, entry);
+            }
+            return entry.groups;
+        }
+    }
+}
@@ -46,13 +46,10 @@ import org.eclipse.smarthome.core.library.types.StringType;
 import org.eclipse.smarthome.core.library.types.UpDownType;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.Thing;
-import org.eclipse.smarthome.core.thing.ThingRegistry;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
-import org.eclipse.smarthome.core.thing.ThingUID;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandler;
-import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
@@ -70,6 +67,7 @@ import org.openhab.binding.sonos.internal.SonosResourceMetaData;
 import org.openhab.binding.sonos.internal.SonosStateDescriptionOptionProvider;
 import org.openhab.binding.sonos.internal.SonosXMLParser;
 import org.openhab.binding.sonos.internal.SonosZoneGroup;
+import org.openhab.binding.sonos.internal.SonosZoneGroupCache;
 import org.openhab.binding.sonos.internal.SonosZonePlayerState;
 import org.openhab.binding.sonos.internal.config.ZonePlayerConfiguration;
 import org.slf4j.Logger;
@@ -113,10 +111,11 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
     private final Logger logger = LoggerFactory.getLogger(ZonePlayerHandler.class);
 
-    private final ThingRegistry localThingRegistry;
+    private final ZonePlayerHandlerRegistry handlerRegistry;
     private final UpnpIOService service;
     private final @Nullable String opmlUrl;
     private final SonosStateDescriptionOptionProvider stateDescriptionProvider;
+    private final SonosZoneGroupCache zoneGroupCache;
 
     private ZonePlayerConfiguration configuration = new ZonePlayerConfiguration();
 
@@ -148,14 +147,16 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         ANY
     }
 
-    public ZonePlayerHandler(ThingRegistry thingRegistry, Thing thing, UpnpIOService upnpIOService,
-            @Nullable String opmlUrl, SonosStateDescriptionOptionProvider stateDescriptionProvider) {
+    public ZonePlayerHandler(ZonePlayerHandlerRegistry handlerRegistry, Thing thing, UpnpIOService upnpIOService,
+            @Nullable String opmlUrl, SonosStateDescriptionOptionProvider stateDescriptionProvider,
+            SonosZoneGroupCache zoneGroupCache) {
         super(thing);
-        this.localThingRegistry = thingRegistry;
+        this.handlerRegistry = handlerRegistry;
         this.opmlUrl = opmlUrl;
         logger.debug("Creating a ZonePlayerHandler for thing '{}'", getThing().getUID());
         this.service = upnpIOService;
         this.stateDescriptionProvider = stateDescriptionProvider;
+        this.zoneGroupCache = zoneGroupCache;
     }
 
     @Override
@@ -170,6 +171,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
         removeSubscription();
         service.unregisterParticipant(this);
+        handlerRegistry.unregister(this);
     }
 
     @Override
@@ -183,6 +185,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
         configuration = getConfigAs(ZonePlayerConfiguration.class);
         String udn = configuration.udn;
+        handlerRegistry.register(this, udn);
         if (udn != null && !udn.isEmpty()) {
             service.registerParticipant(this);
             pollingJob = scheduler.scheduleWithFixedDelay(this::poll, 0, configuration.refresh, TimeUnit.SECONDS);
@@ -365,24 +368,14 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     }
 
     private void restoreAllPlayerState() {
-        for (Thing aThing : localThingRegistry.getAll()) {
-            if (SonosBindingConstants.SUPPORTED_THING_TYPES_UIDS.contains(aThing.getThingTypeUID())) {
-                ZonePlayerHandler handler = (ZonePlayerHandler) aThing.getHandler();
-                if (handler != null) {
-                    handler.restoreState();
-                }
-            }
+        for (ZonePlayerHandler handler : handlerRegistry.getAll()) {
+            handler.restoreState();
         }
     }
 
     private void saveAllPlayerState() {
-        for (Thing aThing : localThingRegistry.getAll()) {
-            if (SonosBindingConstants.SUPPORTED_THING_TYPES_UIDS.contains(aThing.getThingTypeUID())) {
-                ZonePlayerHandler handler = (ZonePlayerHandler) aThing.getHandler();
-                if (handler != null) {
-                    handler.saveState();
-                }
-            }
+        for (ZonePlayerHandler handler : handlerRegistry.getAll()) {
+            handler.saveState();
         }
     }
 
@@ -1630,7 +1623,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
     private Collection<SonosZoneGroup> getZoneGroups() {
         String zoneGroupState = stateMap.get("ZoneGroupState");
-        return zoneGroupState == null ? Collections.emptyList() : SonosXMLParser.getZoneGroupFromXML(zoneGroupState);
+        return zoneGroupState == null ? Collections.emptyList() : zoneGroupCache.getZoneGroups(zoneGroupState);
     }
 
     /**
@@ -2044,23 +2037,9 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     }
 
     protected ZonePlayerHandler getHandlerByName(String remotePlayerName) throws IllegalStateException {
-        for (ThingTypeUID supportedThingType : SonosBindingConstants.SUPPORTED_THING_TYPES_UIDS) {
-            Thing thing = localThingRegistry.get(new ThingUID(supportedThingType, remotePlayerName));
-            if (thing != null) {
-                ThingHandler handler = thing.getHandler();
-                if (handler instanceof ZonePlayerHandler) {
-                    return (ZonePlayerHandler) handler;
-                }
-            }
-        }
-        for (Thing aThing : localThingRegistry.getAll()) {
-            if (SonosBindingConstants.SUPPORTED_THING_TYPES_UIDS.contains(aThing.getThingTypeUID())
-                    && aThing.getConfiguration().get(ZonePlayerConfiguration.UDN).equals(remotePlayerName)) {
-                ThingHandler handler = aThing.getHandler();
-                if (handler instanceof ZonePlayerHandler) {
-                    return (ZonePlayerHandler) handler;
-                }
-            }
+        ZonePlayerHandler handler = handlerRegistry.get(remotePlayerName);
+        if (handler != null) {
+            return handler;
         }
         throw new IllegalStateException("Could not find handler for " + remotePlayerName);
     }
@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal.handler;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link ZonePlayerHandlerRegistry} keeps the initialized zone player handlers of the binding, indexed by the id
+ * of their thing and by their UDN
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class ZonePlayerHandlerRegistry {
+
+    private final Map<String, ZonePlayerHandler> handlersByThingId = new ConcurrentHashMap<>();
+    private final Map<String, ZonePlayerHandler> handlersByUDN = new ConcurrentHashMap<>();
+
+    void register(ZonePlayerHandler handler, @Nullable String udn) {
+        handlersByThingId.put(handler.getThing().getUID().getId(), handler);
+        if (udn != null && !udn.isEmpty()) {
+            handlersByUDN.put(udn, handler);
+        }
+    }
+
+    void unregister(ZonePlayerHandler handler) {
+        handlersByThingId.values().remove(handler);
+        handlersByUDN.values().remove(handler);
+    }
+
+    /**
+     * Get the handler of a zone player
+     *
+     * @param name the id of the thing or the UDN of the zone player
+     * @return the handler, or null if no such zone player is initialized
+     */
+    public @Nullable ZonePlayerHandler get(String name) {
+        ZonePlayerHandler handler = handlersByThingId.get(name);
+        return handler != null ? handler : handlersByUDN.get(name);
+    }
+
+    public Collection<ZonePlayerHandler> getAll() {
+        return Collections.unmodifiableCollection(handlersByThingId.values());
+    }
+}
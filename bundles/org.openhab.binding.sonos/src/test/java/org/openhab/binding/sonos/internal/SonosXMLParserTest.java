@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests the parsing of the entries returned by the Zone Players.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class SonosXMLParserTest {
+
+    private static String entry(String id, String title) {
+        return "<item id=\"" + id + "\" parentID=\"FV:2\" restricted=\"false\"><dc:title>" + title + "</dc:title>"
+                + "<upnp:class>object.itemobject.item.sonos-favorite</upnp:class>"
+                + "<r:type>instantPlay</r:type><r:ordinal>1</r:ordinal>"
+                + "<res protocolInfo=\"x-sonosapi-radio:*:*:*\">x-sonosapi-radio:" + id + "</res>"
+                + "<r:resMD>&lt;DIDL-Lite xmlns:dc=&quot;http://purl.org/dc/elements/1.1/&quot; "
+                + "xmlns:upnp=&quot;urn:schemas-upnp-org:metadata-1-0/upnp/&quot; "
+                + "xmlns:r=&quot;urn:schemas-rinconnetworks-com:metadata-1-0/&quot; "
+                + "xmlns=&quot;urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/&quot;&gt;&lt;item id=&quot;md-" + id
+                + "&quot; parentID=&quot;parent-" + id + "&quot; restricted=&quot;true&quot;&gt;&lt;dc:title&gt;"
+                + title + "&lt;/dc:title&gt;&lt;upnp:class&gt;object.item.audioItem.audioBroadcast&lt;/upnp:class&gt;"
+                + "&lt;desc id=&quot;cdudn&quot; nameSpace=&quot;urn:schemas-rinconnetworks-com:metadata-1-0/&quot;&gt;"
+                + "SA_RINCON3_" + id + "&lt;/desc&gt;&lt;/item&gt;&lt;/DIDL-Lite&gt;</r:resMD></item>";
+    }
+
+    @Test
+    public void entriesWithResourceMetaData() {
+        String xml = "<DIDL-Lite xmlns:dc=\"http://purl.org/dc/elements/1.1/\" "
+                + "xmlns:upnp=\"urn:schemas-upnp-org:metadata-1-0/upnp/\" "
+                + "xmlns:r=\"urn:schemas-rinconnetworks-com:metadata-1-0/\" "
+                + "xmlns=\"urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/\">" + entry("FV:2/1", "First Station")
+                + entry("FV:2/2", "Second Station") + "</DIDL-Lite>";
+
+        List<SonosEntry> entries = SonosXMLParser.getEntriesFromString(xml);
+
+        assertEquals(2, entries.size());
+        for (int i = 0; i < 2; i++) {
+            SonosEntry entry = entries.get(i);
+            String id = "FV:2/" + (i + 1);
+            assertEquals(id, entry.getId());
+            assertEquals(i == 0 ? "First Station" : "Second Station", entry.getTitle());
+
+            SonosResourceMetaData metaData = entry.getResourceMetaData();
+            assertNotNull(metaData);
+            assertEquals("md-" + id, metaData.getId());
+            assertEquals("parent-" + id, metaData.getParentId());
+            assertEquals(entry.getTitle(), metaData.getTitle());
+            assertEquals("object.item.audioItem.audioBroadcast", metaData.getUpnpClass());
+            assertEquals("SA_RINCON3_" + id, metaData.getDesc());
+        }
+
+        // The readers are usable again after the nested parsings
+        assertEquals(2, SonosXMLParser.getEntriesFromString(xml).size());
+    }
+}
@@ -49,6 +49,14 @@ public interface Homekit {
      */
     List<HomekitAccessory> getAccessories();
 
+    /**
+     * returns counters of the characteristic change notifications sent to HomeKit clients, or no notifications when
+     * the implementation does not count them.
+     */
+    default HomekitNotificationStatistics getNotificationStatistics() {
+        return new HomekitNotificationStatistics(0, 0, 0);
+    }
+
     /**
      * clear all pairings with HomeKit clients
      */
@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.homekit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Counters of the characteristic change notifications since the start of the HomeKit integration
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class HomekitNotificationStatistics {
+
+    private final long sent;
+    private final long merged;
+    private final long dropped;
+
+    public HomekitNotificationStatistics(long sent, long merged, long dropped) {
+        this.sent = sent;
+        this.merged = merged;
+        this.dropped = dropped;
+    }
+
+    /**
+     * @return number of notifications sent to the HomeKit library
+     */
+    public long getSent() {
+        return sent;
+    }
+
+    /**
+     * @return number of changes merged into a pending notification of the same characteristic
+     */
+    public long getMerged() {
+        return merged;
+    }
+
+    /**
+     * @return number of notifications discarded because the subscription was removed or the notification failed
+     */
+    public long getDropped() {
+        return dropped;
+    }
+}
@@ -16,10 +16,12 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.StateChangeListener;
 import org.eclipse.smarthome.core.types.State;
+import org.openhab.io.homekit.HomekitNotificationStatistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,11 +33,51 @@ import io.github.hapjava.characteristics.HomekitCharacteristicChangeCallback;
  * HomeKit library takes care of insuring only a single subscription exists for
  * each accessory.
  *
+ * The changes are notified through a {@link HomekitCharacteristicNotifier}, which coalesces them per accessory. The
+ * accessories use their own updater from {@link #forAccessory(String)}, so that their characteristics are notified
+ * together.
+ *
  * @author Andy Lintner - Initial contribution
  */
 public class HomekitAccessoryUpdater {
     private final Logger logger = LoggerFactory.getLogger(HomekitAccessoryUpdater.class);
-    private final ConcurrentMap<ItemKey, Subscription> subscriptionsByName = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ItemKey, Subscription> subscriptionsByName;
+    private final HomekitCharacteristicNotifier notifier;
+    private final String accessoryName;
+
+    public HomekitAccessoryUpdater() {
+        this(new ConcurrentHashMap<>(), new HomekitCharacteristicNotifier(
+                ThreadPoolManager.getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON)), null);
+    }
+
+    private HomekitAccessoryUpdater(ConcurrentMap<ItemKey, Subscription> subscriptionsByName,
+            HomekitCharacteristicNotifier notifier, String accessoryName) {
+        this.subscriptionsByName = subscriptionsByName;
+        this.notifier = notifier;
+        this.accessoryName = accessoryName;
+    }
+
+    /**
+     * Get an updater sharing the subscriptions and notifications of this updater, for the characteristics of an
+     * accessory
+     *
+     * @param accessoryName name of the accessory
+     * @return updater of the accessory
+     */
+    public HomekitAccessoryUpdater forAccessory(String accessoryName) {
+        return new HomekitAccessoryUpdater(subscriptionsByName, notifier, accessoryName);
+    }
+
+    public HomekitNotificationStatistics getNotificationStatistics() {
+        return notifier.getStatistics();
+    }
+
+    /**
+     * Discard the pending notifications
+     */
+    public void stop() {
+        notifier.stop();
+    }
 
     public void subscribe(GenericItem item, HomekitCharacteristicChangeCallback callback) {
         subscribe(item, null, callback);
@@ -57,7 +99,8 @@ public class HomekitAccessoryUpdater {
                 unsubscribe(item, key);
             }
             logger.trace("Adding subscription for {} / {}", item, key);
-            Subscription subscription = (changedItem, oldState, newState) -> callback.changed();
+            Subscription subscription = new Subscription(accessoryName != null ? accessoryName : item.getName(),
+                    callback);
             item.addStateChangeListener(subscription);
             return subscription;
         });
@@ -74,19 +117,28 @@ public class HomekitAccessoryUpdater {
         subscriptionsByName.computeIfPresent(new ItemKey(item, key), (k, v) -> {
             logger.trace("Removing existing subscription for {} / {}", item, key);
             item.removeStateChangeListener(v);
+            notifier.cancel(v.accessoryName, v.callback);
             return null;
         });
     }
 
-    @FunctionalInterface
     @NonNullByDefault
-    private interface Subscription extends StateChangeListener {
+    private class Subscription implements StateChangeListener {
+        private final String accessoryName;
+        private final HomekitCharacteristicChangeCallback callback;
+
+        Subscription(String accessoryName, HomekitCharacteristicChangeCallback callback) {
+            this.accessoryName = accessoryName;
+            this.callback = callback;
+        }
 
         @Override
-        void stateChanged(Item item, State oldState, State newState);
+        public void stateChanged(Item item, State oldState, State newState) {
+            notifier.changed(accessoryName, callback);
+        }
 
         @Override
-        default void stateUpdated(Item item, State state) {
+        public void stateUpdated(Item item, State state) {
             // Do nothing on non-change update
         }
     }
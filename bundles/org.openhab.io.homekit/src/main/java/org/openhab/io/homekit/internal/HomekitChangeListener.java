@@ -33,6 +33,7 @@ import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
 import org.eclipse.smarthome.core.items.MetadataRegistry;
 import org.eclipse.smarthome.core.storage.Storage;
 import org.eclipse.smarthome.core.storage.StorageService;
+import org.openhab.io.homekit.HomekitNotificationStatistics;
 import org.openhab.io.homekit.internal.accessories.HomekitAccessoryFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -203,6 +204,11 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     public void stop() {
         this.itemRegistry.removeRegistryChangeListener(this);
+        updater.stop();
+    }
+
+    public HomekitNotificationStatistics getNotificationStatistics() {
+        return updater.getNotificationStatistics();
     }
 
     public Map<String, HomekitAccessory> getAccessories() {
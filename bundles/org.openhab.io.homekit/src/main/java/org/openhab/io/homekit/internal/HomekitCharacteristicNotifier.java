@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.homekit.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.homekit.HomekitNotificationStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.hapjava.characteristics.HomekitCharacteristicChangeCallback;
+
+/**
+ * Coalesces the characteristic change notifications sent to the HomeKit clients
+ *
+ * The changes are not notified right away, but collected for a short while per accessory. Repeated changes of the same
+ * characteristic are merged into one notification, and the notifications of an accessory are sent together, at most
+ * once per {@link #MIN_ACCESSORY_INTERVAL_MILLIS}. A noisy sensor or a group item changing many members thus results
+ * in few notifications instead of a notification for each state change.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class HomekitCharacteristicNotifier {
+
+    /**
+     * Time to wait for further changes after the first change
+     */
+    static final long COALESCE_DELAY_MILLIS = 50;
+
+    /**
+     * Minimum time between the notifications of an accessory
+     */
+    static final long MIN_ACCESSORY_INTERVAL_MILLIS = 250;
+
+    private final Logger logger = LoggerFactory.getLogger(HomekitCharacteristicNotifier.class);
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Map<String, PendingNotifications> pendingByAccessory = new HashMap<>();
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong merged = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private static class PendingNotifications {
+        private final String accessory;
+        private final Set<HomekitCharacteristicChangeCallback> callbacks = new LinkedHashSet<>();
+        private @Nullable ScheduledFuture<?> job;
+
+        private PendingNotifications(String accessory) {
+            this.accessory = accessory;
+        }
+    }
+
+    public HomekitCharacteristicNotifier(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Notify the HomeKit clients about the change of a characteristic
+     *
+     * @param accessory name of the accessory of the characteristic
+     * @param callback callback of the characteristic subscription
+     */
+    public synchronized void changed(String accessory, HomekitCharacteristicChangeCallback callback) {
+        PendingNotifications pending = pendingByAccessory.get(accessory);
+        if (pending == null) {
+            PendingNotifications newPending = new PendingNotifications(accessory);
+            newPending.job = scheduler.schedule(() -> send(newPending), COALESCE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            pendingByAccessory.put(accessory, newPending);
+            pending = newPending;
+        }
+        if (!pending.callbacks.add(callback)) {
+            merged.incrementAndGet();
+        }
+    }
+
+    /**
+     * Discard the pending notification of a characteristic, when the subscription is removed
+     *
+     * @param accessory name of the accessory of the characteristic
+     * @param callback callback of the characteristic subscription
+     */
+    public synchronized void cancel(String accessory, HomekitCharacteristicChangeCallback callback) {
+        PendingNotifications pending = pendingByAccessory.get(accessory);
+        if (pending != null && pending.callbacks.remove(callback)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Discard all pending notifications
+     */
+    public synchronized void stop() {
+        for (PendingNotifications pending : pendingByAccessory.values()) {
+            ScheduledFuture<?> job = pending.job;
+            if (job != null) {
+                job.cancel(false);
+            }
+            dropped.addAndGet(pending.callbacks.size());
+        }
+        pendingByAccessory.clear();
+    }
+
+    public HomekitNotificationStatistics getStatistics() {
+        return new HomekitNotificationStatistics(sent.get(), merged.get(), dropped.get());
+    }
+
+    /**
+     * Send the collected notifications of an accessory. The accessory is kept until the minimum interval has elapsed,
+     * so that the notifications collected in the meantime are sent then, and forgotten when there are none.
+     */
+    private void send(PendingNotifications pending) {
+        List<HomekitCharacteristicChangeCallback> callbacks;
+        synchronized (this) {
+            if (pendingByAccessory.get(pending.accessory) != pending) {
+                return;
+            }
+            if (pending.callbacks.isEmpty()) {
+                pendingByAccessory.remove(pending.accessory);
+                return;
+            }
+            callbacks = new ArrayList<>(pending.callbacks);
+            pending.callbacks.clear();
+            pending.job = scheduler.schedule(() -> send(pending), MIN_ACCESSORY_INTERVAL_MILLIS,
+                    TimeUnit.MILLISECONDS);
+        }
+        for (HomekitCharacteristicChangeCallback callback : callbacks) {
+            try {
+                callback.changed();
+                sent.incrementAndGet();
+            } catch (RuntimeException e) {
+                dropped.incrementAndGet();
+                logger.debug("Could not notify characteristic change: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.eclipse.smarthome.io.console.Console;
 import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
 import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
 import org.openhab.io.homekit.Homekit;
+import org.openhab.io.homekit.HomekitNotificationStatistics;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
@@ -38,6 +39,7 @@ public class HomekitCommandExtension extends AbstractConsoleCommandExtension {
     private static final String SUBCMD_LIST_ACCESSORIES = "list";
     private static final String SUBCMD_PRINT_ACCESSORY = "show";
     private static final String SUBCMD_ALLOW_UNAUTHENTICATED = "allowUnauthenticated";
+    private static final String SUBCMD_NOTIFICATIONS = "notifications";
     @Deprecated
     private static final String LEGACY_SUBCMD_LIST_ACCESSORIES = "listAccessories";
     @Deprecated
@@ -88,6 +90,9 @@ public class HomekitCommandExtension extends AbstractConsoleCommandExtension {
                         console.println("Hey, you can use the shorter command 'homekit show <accessory_id|name>'");
                     }
                     break;
+                case SUBCMD_NOTIFICATIONS:
+                    printNotificationStatistics(console);
+                    break;
                 default:
                     console.println("Unknown command '" + subCommand + "'");
                     printUsage(console);
@@ -105,7 +110,9 @@ public class HomekitCommandExtension extends AbstractConsoleCommandExtension {
                         "print additional details of the accessories which partially match provided ID or name."),
                 buildCommandUsage(SUBCMD_CLEAR_PAIRINGS, "removes all pairings with HomeKit clients."),
                 buildCommandUsage(SUBCMD_ALLOW_UNAUTHENTICATED + " <boolean>",
-                        "enables or disables unauthenticated access to facilitate debugging"));
+                        "enables or disables unauthenticated access to facilitate debugging"),
+                buildCommandUsage(SUBCMD_NOTIFICATIONS,
+                        "print the counters of characteristic change notifications sent to HomeKit clients"));
     }
 
     @Reference
@@ -123,6 +130,13 @@ public class HomekitCommandExtension extends AbstractConsoleCommandExtension {
         console.println((allow ? "Enabled " : "Disabled ") + "unauthenticated HomeKit access");
     }
 
+    private void printNotificationStatistics(Console console) {
+        HomekitNotificationStatistics statistics = homekit.getNotificationStatistics();
+        console.println("Sent:    " + statistics.getSent());
+        console.println("Merged:  " + statistics.getMerged());
+        console.println("Dropped: " + statistics.getDropped());
+    }
+
     private void listAccessories(Console console) {
         homekit.getAccessories().forEach(v -> {
             try {
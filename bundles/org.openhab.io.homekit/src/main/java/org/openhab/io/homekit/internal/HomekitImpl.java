@@ -31,6 +31,7 @@ import org.eclipse.smarthome.core.items.MetadataRegistry;
 import org.eclipse.smarthome.core.net.NetworkAddressService;
 import org.eclipse.smarthome.core.storage.StorageService;
 import org.openhab.io.homekit.Homekit;
+import org.openhab.io.homekit.HomekitNotificationStatistics;
 import org.osgi.framework.Constants;
 import org.osgi.framework.FrameworkUtil;
 import org.osgi.service.component.annotations.Activate;
@@ -201,6 +202,11 @@ public class HomekitImpl implements Homekit {
         return new ArrayList<>(this.changeListener.getAccessories().values());
     }
 
+    @Override
+    public HomekitNotificationStatistics getNotificationStatistics() {
+        return changeListener.getNotificationStatistics();
+    }
+
     @Override
     public void clearHomekitPairings() {
         try {
@@ -64,7 +64,7 @@ abstract class AbstractHomekitAccessoryImpl implements HomekitAccessory {
             HomekitAccessoryUpdater updater, HomekitSettings settings) {
         this.characteristics = characteristics;
         this.accessory = accessory;
-        this.updater = updater;
+        this.updater = updater.forAccessory(accessory.getName());
         this.services = new ArrayList<>();
         this.settings = settings;
     }
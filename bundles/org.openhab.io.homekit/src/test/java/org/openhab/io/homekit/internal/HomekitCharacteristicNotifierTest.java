@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.homekit.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.openhab.io.homekit.HomekitNotificationStatistics;
+
+import io.github.hapjava.characteristics.HomekitCharacteristicChangeCallback;
+
+/**
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class HomekitCharacteristicNotifierTest {
+
+    /**
+     * Scheduler running the scheduled tasks only when the test advances its clock
+     */
+    private static class ManualScheduler extends ScheduledThreadPoolExecutor {
+
+        private final List<ManualTask> tasks = new ArrayList<>();
+        private long now;
+
+        private class ManualTask implements ScheduledFuture<Object> {
+            private final Runnable command;
+            private final long time;
+            private boolean cancelled;
+            private boolean done;
+
+            private ManualTask(Runnable command, long time) {
+                this.command = command;
+                this.time = time;
+            }
+
+            @Override
+            public long getDelay(TimeUnit unit) {
+                return unit.convert(time - now, TimeUnit.MILLISECONDS);
+            }
+
+            @Override
+            public int compareTo(Delayed other) {
+                return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+            }
+
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                if (done) {
+                    return false;
+                }
+                cancelled = true;
+                done = true;
+                tasks.remove(this);
+                return true;
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return cancelled;
+            }
+
+            @Override
+            public boolean isDone() {
+                return done;
+            }
+
+            @Override
+            public Object get() {
+                return null;
+            }
+
+            @Override
+            public Object get(long timeout, TimeUnit unit) {
+                return null;
+            }
+        }
+
+        private ManualScheduler() {
+            super(1);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            ManualTask task = new ManualTask(command, now + unit.toMillis(delay));
+            tasks.add(task);
+            return task;
+        }
+
+        private void advance(long millis) {
+            long until = now + millis;
+            while (true) {
+                ManualTask next = tasks.stream().filter(task -> task.time <= until)
+                        .min((a, b) -> Long.compare(a.time, b.time)).orElse(null);
+                if (next == null) {
+                    break;
+                }
+                tasks.remove(next);
+                now = next.time;
+                next.done = true;
+                next.command.run();
+            }
+            now = until;
+        }
+    }
+
+    private final ManualScheduler scheduler = new ManualScheduler();
+    private final HomekitCharacteristicNotifier notifier = new HomekitCharacteristicNotifier(scheduler);
+    private final List<String> notifications = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private HomekitCharacteristicChangeCallback callback(String name) {
+        return () -> notifications.add(name);
+    }
+
+    @Test
+    public void testRepeatedChangesAreMerged() {
+        HomekitCharacteristicChangeCallback temperature = callback("temperature");
+        HomekitCharacteristicChangeCallback humidity = callback("humidity");
+        notifier.changed("sensor", temperature);
+        notifier.changed("sensor", humidity);
+        notifier.changed("sensor", temperature);
+
+        scheduler.advance(HomekitCharacteristicNotifier.COALESCE_DELAY_MILLIS - 1);
+        assertThat(notifications, is(Collections.emptyList()));
+
+        scheduler.advance(1);
+        assertThat(notifications, is(Arrays.asList("temperature", "humidity")));
+        assertStatistics(2, 1, 0);
+    }
+
+    @Test
+    public void testNotificationsOfAccessoryAreRateLimited() {
+        HomekitCharacteristicChangeCallback temperature = callback("temperature");
+        notifier.changed("sensor", temperature);
+        scheduler.advance(HomekitCharacteristicNotifier.COALESCE_DELAY_MILLIS);
+        assertThat(notifications.size(), is(1));
+
+        notifier.changed("sensor", temperature);
+        notifier.changed("other", callback("other"));
+        scheduler.advance(HomekitCharacteristicNotifier.MIN_ACCESSORY_INTERVAL_MILLIS - 1);
+        assertThat(notifications, is(Arrays.asList("temperature", "other")));
+
+        scheduler.advance(1);
+        assertThat(notifications, is(Arrays.asList("temperature", "other", "temperature")));
+    }
+
+    @Test
+    public void testAccessoryIsForgottenAfterQuietInterval() {
+        HomekitCharacteristicChangeCallback temperature = callback("temperature");
+        notifier.changed("sensor", temperature);
+        scheduler.advance(HomekitCharacteristicNotifier.COALESCE_DELAY_MILLIS
+                + HomekitCharacteristicNotifier.MIN_ACCESSORY_INTERVAL_MILLIS);
+        assertThat(scheduler.tasks.size(), is(0));
+
+        // a new change after the quiet interval only waits for further changes
+        notifier.changed("sensor", temperature);
+        scheduler.advance(HomekitCharacteristicNotifier.COALESCE_DELAY_MILLIS);
+        assertThat(notifications, is(Arrays.asList("temperature", "temperature")));
+    }
+
+    @Test
+    public void testCancelledNotificationIsNotSent() {
+        HomekitCharacteristicChangeCallback temperature = callback("temperature");
+        notifier.changed("sensor", temperature);
+        notifier.changed("sensor", callback("humidity"));
+        notifier.cancel("sensor", temperature);
+
+        scheduler.advance(HomekitCharacteristicNotifier.COALESCE_DELAY_MILLIS);
+        assertThat(notifications, is(Arrays.asList("humidity")));
+        assertStatistics(1, 0, 1);
+    }
+
+    @Test
+    public void testStopDiscardsPendingNotifications() {
+        notifier.changed("sensor", callback("temperature"));
+        notifier.changed("switch", callback("on"));
+        notifier.stop();
+
+        scheduler.advance(HomekitCharacteristicNotifier.MIN_ACCESSORY_INTERVAL_MILLIS);
+        assertThat(notifications, is(Collections.emptyList()));
+        assertThat(scheduler.tasks.size(), is(0));
+        assertStatistics(0, 0, 2);
+    }
+
+    private void assertStatistics(long sent, long merged, long dropped) {
+        HomekitNotificationStatistics statistics = notifier.getStatistics();
+        assertThat(statistics.getSent(), is(sent));
+        assertThat(statistics.getMerged(), is(merged));
+        assertThat(statistics.getDropped(), is(dropped));
+    }
+}
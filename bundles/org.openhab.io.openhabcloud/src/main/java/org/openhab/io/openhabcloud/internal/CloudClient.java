@@ -31,7 +31,7 @@ import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.client.api.Request.FailureListener;
 import org.eclipse.jetty.client.api.Response;
-import org.eclipse.jetty.client.api.Response.ContentListener;
+import org.eclipse.jetty.client.api.Response.AsyncContentListener;
 import org.eclipse.jetty.client.api.Response.HeadersListener;
 import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BytesContentProvider;
@@ -39,7 +39,7 @@ import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.http.HttpFields;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
-import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.Callback;
 import org.eclipse.jetty.util.URIUtil;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.json.JSONException;
@@ -67,6 +67,9 @@ import io.socket.engineio.client.Transport;
  */
 
 public class CloudClient {
+
+    private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
+
     /*
      * Logger for this class
      */
@@ -118,6 +121,17 @@ public class CloudClient {
      */
     private Socket socket;
 
+    /*
+     * This variable holds the factory of the WebSockets used by the Socket.IO client, which tells how much data is
+     * waiting to be sent to the openHAB Cloud
+     */
+    private final CloudWebSocketFactory webSocketFactory = new CloudWebSocketFactory();
+
+    /*
+     * This variable holds the pipeline of item updates pushed to the openHAB Cloud
+     */
+    private final ItemUpdateBatcher itemUpdateBatcher;
+
     /*
      * The protocol of the openHAB-cloud URL.
      */
@@ -138,9 +152,10 @@ public class CloudClient {
      * @param secret openHAB's Secret to connect to the openHAB Cloud
      * @param remoteAccessEnabled Allow the openHAB Cloud to be used as a remote proxy
      * @param exposedItems Items that are made available to apps connected to the openHAB Cloud
+     * @param itemUpdateWindow Time in milliseconds to collect item updates before sending them to the openHAB Cloud
      */
     public CloudClient(HttpClient httpClient, String uuid, String secret, String baseURL, String localBaseUrl,
-            boolean remoteAccessEnabled, Set<String> exposedItems) {
+            boolean remoteAccessEnabled, Set<String> exposedItems, int itemUpdateWindow) {
         this.uuid = uuid;
         this.secret = secret;
         this.baseURL = baseURL;
@@ -149,6 +164,8 @@ public class CloudClient {
         this.exposedItems = exposedItems;
         runningRequests = new HashMap<>();
         this.jettyClient = httpClient;
+        this.itemUpdateBatcher = new ItemUpdateBatcher(ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD),
+                this::sendItemUpdate, itemUpdateWindow);
     }
 
     /**
@@ -157,7 +174,9 @@ public class CloudClient {
 
     public void connect() {
         try {
-            socket = IO.socket(baseURL);
+            IO.Options options = new IO.Options();
+            options.webSocketFactory = webSocketFactory;
+            socket = IO.socket(baseURL, options);
             URL parsed = new URL(baseURL);
             protocol = parsed.getProtocol();
         } catch (URISyntaxException e) {
@@ -231,6 +250,7 @@ public class CloudClient {
     public void onConnect() {
         logger.info("Connected to the openHAB Cloud service (UUID = {}, base URL = {})", this.uuid, this.localBaseUrl);
         isConnected = true;
+        itemUpdateBatcher.reset();
     }
 
     /**
@@ -335,7 +355,8 @@ public class CloudClient {
                 return;
             }
             ResponseListener listener = new ResponseListener(requestId);
-            request.onResponseHeaders(listener).onResponseContent(listener).onRequestFailure(listener).send(listener);
+            request.onResponseHeaders(listener).onResponseContentAsync(listener).onRequestFailure(listener)
+                    .send(listener);
             // If successfully submitted request to http client, add it to the list of currently
             // running requests to be able to cancel it if needed
             runningRequests.put(requestId, request);
@@ -468,14 +489,26 @@ public class CloudClient {
         }
     }
 
+    /**
+     * Push item update to openHAB Cloud. Unchanged states are not sent, and repeated updates are merged.
+     *
+     * @param itemName the name of the item
+     * @param itemState updated item state
+     *
+     */
+    public void pushItemUpdate(String itemName, String itemState) {
+        itemUpdateBatcher.push(itemName, itemState);
+    }
+
     /**
      * Send item update to openHAB Cloud
      *
      * @param itemName the name of the item
      * @param itemState updated item state
+     * @return true if the update was sent
      *
      */
-    public void sendItemUpdate(String itemName, String itemState) {
+    public boolean sendItemUpdate(String itemName, String itemState) {
         if (isConnected()) {
             logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
             JSONObject itemUpdateMessage = new JSONObject();
@@ -483,12 +516,14 @@ public class CloudClient {
                 itemUpdateMessage.put("itemName", itemName);
                 itemUpdateMessage.put("itemStatus", itemState);
                 socket.emit("itemupdate", itemUpdateMessage);
+                return true;
             } catch (JSONException e) {
                 logger.debug("{}", e.getMessage());
             }
         } else {
             logger.debug("No connection, Item update is not sent");
         }
+        return false;
     }
 
     /**
@@ -503,7 +538,9 @@ public class CloudClient {
      */
     public void shutdown() {
         logger.info("Shutting down openHAB Cloud service connection");
+        itemUpdateBatcher.stop();
         socket.disconnect();
+        webSocketFactory.shutdown();
     }
 
     public String getOpenHABVersion() {
@@ -519,12 +556,18 @@ public class CloudClient {
     }
 
     /*
-     * An internal class which forwards response headers and data back to the openHAB Cloud
+     * An internal class which forwards response headers and data back to the openHAB Cloud.
+     * Each content chunk is sent right away in frames of up to CONTENT_FRAME_SIZE bytes, so that streamed responses
+     * are not held back, and reading the content is paused while more than OUTBOUND_HIGH_WATERMARK bytes are waiting
+     * to be sent to the openHAB Cloud, until the socket has written the waiting data down to OUTBOUND_LOW_WATERMARK
+     * bytes.
      */
     private class ResponseListener
-            implements Response.CompleteListener, HeadersListener, ContentListener, FailureListener {
+            implements Response.CompleteListener, HeadersListener, AsyncContentListener, FailureListener {
 
-        private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
+        private static final int CONTENT_FRAME_SIZE = 64 * 1024;
+        private static final long OUTBOUND_HIGH_WATERMARK = 1024 * 1024;
+        private static final long OUTBOUND_LOW_WATERMARK = 256 * 1024;
         private int mRequestId;
         private boolean mHeadersSent = false;
 
@@ -591,14 +634,42 @@ public class CloudClient {
         }
 
         @Override
-        public void onContent(Response response, ByteBuffer content) {
+        public void onContent(Response response, ByteBuffer content, Callback callback) {
             logger.debug("Jetty received response content of size {}", String.valueOf(content.remaining()));
+            // The content is copied once, so that Jetty can reuse its buffer as soon as it may read more content
+            while (content.hasRemaining()) {
+                byte[] frame = new byte[Math.min(content.remaining(), CONTENT_FRAME_SIZE)];
+                content.get(frame);
+                sendFrame(frame);
+            }
+            if (webSocketFactory.getQueueSize() > OUTBOUND_HIGH_WATERMARK) {
+                logger.debug("Pausing content of request {} until the data waiting to be sent is reduced",
+                        mRequestId);
+                resumeWhenDrained(callback);
+            } else {
+                callback.succeeded();
+            }
+        }
+
+        private void resumeWhenDrained(Callback callback) {
+            if (!isConnected) {
+                callback.failed(new IOException("Disconnected from the openHAB Cloud"));
+                return;
+            }
+            // Jetty may read the next content right away, so it is not done on the thread writing to the socket
+            webSocketFactory.notifyWhenDrained(OUTBOUND_LOW_WATERMARK, Callback.from(() -> {
+                logger.debug("Resuming content of request {}", mRequestId);
+                ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD).execute(callback::succeeded);
+            }, callback::failed));
+        }
+
+        private void sendFrame(byte[] body) {
             JSONObject responseJson = new JSONObject();
             try {
                 responseJson.put("id", mRequestId);
-                responseJson.put("body", BufferUtil.toArray(content));
+                responseJson.put("body", body);
                 socket.emit("responseContentBinary", responseJson);
-                logger.debug("Sent content to request {}", mRequestId);
+                logger.debug("Sent content of size {} to request {}", body.length, mRequestId);
             } catch (JSONException e) {
                 logger.debug("{}", e.getMessage());
             }
@@ -82,10 +82,12 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     private static final String CFG_EXPOSE = "expose";
     private static final String CFG_BASE_URL = "baseURL";
     private static final String CFG_MODE = "mode";
+    private static final String CFG_ITEM_UPDATE_WINDOW = "itemUpdateWindow";
     private static final String SECRET_FILE_NAME = "openhabcloud" + File.separator + "secret";
     private static final String DEFAULT_URL = "https://myopenhab.org/";
     private static final int DEFAULT_LOCAL_OPENHAB_MAX_CONCURRENT_REQUESTS = 200;
     private static final int DEFAULT_LOCAL_OPENHAB_REQUEST_TIMEOUT = 30000;
+    private static final int DEFAULT_ITEM_UPDATE_WINDOW = 500;
     private static final String HTTPCLIENT_NAME = "openhabcloud";
 
     private Logger logger = LoggerFactory.getLogger(CloudService.class);
@@ -99,6 +101,7 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
     private boolean remoteAccessEnabled = true;
     private Set<String> exposedItems = null;
+    private int itemUpdateWindow = DEFAULT_ITEM_UPDATE_WINDOW;
     private int localPort;
 
     public CloudService() {
@@ -218,6 +221,19 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
             }
         }
 
+        Object windowCfg = config.get(CFG_ITEM_UPDATE_WINDOW);
+        if (windowCfg != null) {
+            try {
+                itemUpdateWindow = Math.max(0, Integer.parseInt(windowCfg.toString().trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid {} '{}', using {} ms", CFG_ITEM_UPDATE_WINDOW, windowCfg,
+                        DEFAULT_ITEM_UPDATE_WINDOW);
+                itemUpdateWindow = DEFAULT_ITEM_UPDATE_WINDOW;
+            }
+        } else {
+            itemUpdateWindow = DEFAULT_ITEM_UPDATE_WINDOW;
+        }
+
         logger.debug("UUID = {}, secret = {}", InstanceUUID.get(), getSecret());
 
         if (cloudClient != null) {
@@ -237,7 +253,7 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
         String localBaseUrl = "http://localhost:" + localPort;
         cloudClient = new CloudClient(httpClient, InstanceUUID.get(), getSecret(), cloudBaseUrl, localBaseUrl,
-                remoteAccessEnabled, exposedItems);
+                remoteAccessEnabled, exposedItems, itemUpdateWindow);
         cloudClient.setOpenHABVersion(OpenHAB.getVersion());
         cloudClient.connect();
         cloudClient.setListener(this);
@@ -391,7 +407,7 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     public void receive(Event event) {
         ItemStateEvent ise = (ItemStateEvent) event;
         if (exposedItems != null && exposedItems.contains(ise.getItemName())) {
-            cloudClient.sendItemUpdate(ise.getItemName(), ise.getItemState().toString());
+            cloudClient.pushItemUpdate(ise.getItemName(), ise.getItemState().toString());
         }
     }
 }
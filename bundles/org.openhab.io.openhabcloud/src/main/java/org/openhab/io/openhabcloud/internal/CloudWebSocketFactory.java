@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.net.SocketFactory;
+
+import org.eclipse.jetty.util.Callback;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+
+/**
+ * This class creates the WebSockets of the Socket.IO connection to the openHAB Cloud, and keeps the last one of them
+ * to tell how much data is waiting to be sent. The sockets of the WebSockets report every write, so that callers
+ * waiting for the queued data to be sent are notified as soon as it has been written to the socket.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class CloudWebSocketFactory implements WebSocket.Factory {
+
+    private final OkHttpClient client = new OkHttpClient.Builder().socketFactory(new WriteReportingSocketFactory())
+            .build();
+
+    private final Queue<Drain> drains = new ConcurrentLinkedQueue<>();
+
+    private volatile WebSocket webSocket;
+
+    @Override
+    public WebSocket newWebSocket(Request request, WebSocketListener listener) {
+        WebSocket newWebSocket = client.newWebSocket(request, listener);
+        webSocket = newWebSocket;
+        return newWebSocket;
+    }
+
+    /**
+     * Returns the number of bytes queued for sending on the current WebSocket, or 0 if there is no WebSocket
+     */
+    public long getQueueSize() {
+        WebSocket current = webSocket;
+        return current == null ? 0 : current.queueSize();
+    }
+
+    /**
+     * Completes the callback once at most the given number of bytes are queued for sending, or fails it when the
+     * connection is closed before. The callback is called on the thread writing to the socket.
+     */
+    public void notifyWhenDrained(long queueSize, Callback callback) {
+        drains.add(new Drain(queueSize, callback));
+        // The data may have been written before the callback was added
+        checkDrains();
+    }
+
+    private void checkDrains() {
+        if (drains.isEmpty()) {
+            return;
+        }
+        long queueSize = getQueueSize();
+        for (Drain drain : drains) {
+            if (queueSize <= drain.queueSize && drains.remove(drain)) {
+                drain.callback.succeeded();
+            }
+        }
+    }
+
+    private void failDrains() {
+        Drain drain;
+        while ((drain = drains.poll()) != null) {
+            drain.callback.failed(new IOException("Connection to the openHAB Cloud closed"));
+        }
+    }
+
+    /**
+     * Releases the threads and connections of the HTTP client. No WebSockets can be created afterwards.
+     */
+    public void shutdown() {
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+
+    private static class Drain {
+        private final long queueSize;
+        private final Callback callback;
+
+        private Drain(long queueSize, Callback callback) {
+            this.queueSize = queueSize;
+            this.callback = callback;
+        }
+    }
+
+    /**
+     * Socket reporting every write, and its closing, to the waiting callbacks
+     */
+    private class WriteReportingSocket extends Socket {
+
+        private OutputStream outputStream;
+
+        @Override
+        public synchronized OutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new FilterOutputStream(super.getOutputStream()) {
+                    @Override
+                    public void write(int b) throws IOException {
+                        out.write(b);
+                        checkDrains();
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        out.write(b, off, len);
+                        checkDrains();
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                failDrains();
+            }
+        }
+    }
+
+    private class WriteReportingSocketFactory extends SocketFactory {
+
+        @Override
+        public Socket createSocket() {
+            return new WriteReportingSocket();
+        }
+
+        @Override
+        public Socket createSocket(String host, int port) throws IOException {
+            return connect(new InetSocketAddress(host, port), null);
+        }
+
+        @Override
+        public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+            return connect(new InetSocketAddress(host, port), new InetSocketAddress(localHost, localPort));
+        }
+
+        @Override
+        public Socket createSocket(InetAddress host, int port) throws IOException {
+            return connect(new InetSocketAddress(host, port), null);
+        }
+
+        @Override
+        public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort)
+                throws IOException {
+            return connect(new InetSocketAddress(address, port), new InetSocketAddress(localAddress, localPort));
+        }
+
+        private Socket connect(SocketAddress remote, SocketAddress local) throws IOException {
+            Socket socket = createSocket();
+            if (local != null) {
+                socket.bind(local);
+            }
+            socket.connect(remote);
+            return socket;
+        }
+    }
+}
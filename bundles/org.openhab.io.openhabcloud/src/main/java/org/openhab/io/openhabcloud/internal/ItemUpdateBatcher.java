@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class collects the item updates pushed to the openHAB Cloud. An update is dropped when the state equals the
+ * state last sent for the item, and repeated updates of an item within the window are merged, so that only the last
+ * state is sent. All updates collected within the window are sent together.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class ItemUpdateBatcher {
+
+    private final Logger logger = LoggerFactory.getLogger(ItemUpdateBatcher.class);
+
+    private final ScheduledExecutorService scheduler;
+
+    /*
+     * Sends an update, returns false if it could not be sent
+     */
+    private final BiPredicate<String, String> sender;
+
+    private final long windowMillis;
+
+    /*
+     * States last sent to the openHAB Cloud or being sent right now, by item name
+     */
+    private final Map<String, String> sentStates = new HashMap<>();
+
+    /*
+     * States waiting for the end of the window, by item name in the order of the first update
+     */
+    private final Map<String, String> pendingStates = new LinkedHashMap<>();
+
+    private ScheduledFuture<?> flushJob;
+
+    /**
+     * @param scheduler scheduler sending the collected updates
+     * @param sender sends an update to the openHAB Cloud, and returns false if the update could not be sent
+     * @param windowMillis time to collect updates before sending them, 0 to send each update right away
+     */
+    public ItemUpdateBatcher(ScheduledExecutorService scheduler, BiPredicate<String, String> sender,
+            long windowMillis) {
+        this.scheduler = scheduler;
+        this.sender = sender;
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Push an item update to the openHAB Cloud
+     *
+     * @param itemName the name of the item
+     * @param itemState updated item state
+     */
+    public void push(String itemName, String itemState) {
+        String previousState;
+        synchronized (this) {
+            if (itemState.equals(sentStates.get(itemName))) {
+                // a pending update is obsolete as well, as the item is back to the state sent last
+                pendingStates.remove(itemName);
+                logger.trace("Dropping unchanged update '{}' for item '{}'", itemState, itemName);
+                return;
+            }
+            if (windowMillis > 0) {
+                pendingStates.put(itemName, itemState);
+                if (flushJob == null) {
+                    flushJob = scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+                }
+                return;
+            }
+            previousState = sentStates.put(itemName, itemState);
+        }
+        send(itemName, itemState, previousState);
+    }
+
+    /**
+     * Forget the states sent, for example when the connection to the openHAB Cloud has been re-established
+     */
+    public synchronized void reset() {
+        sentStates.clear();
+    }
+
+    /**
+     * Discard the pending updates
+     */
+    public synchronized void stop() {
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            flushJob = null;
+        }
+        pendingStates.clear();
+    }
+
+    private void flush() {
+        Map<String, String> states;
+        Map<String, String> previousStates = new HashMap<>();
+        synchronized (this) {
+            states = new LinkedHashMap<>(pendingStates);
+            pendingStates.clear();
+            flushJob = null;
+            // record the states before sending them, so that an update back to the previous state is not dropped
+            states.forEach((itemName, itemState) -> previousStates.put(itemName, sentStates.put(itemName, itemState)));
+        }
+        logger.debug("Sending {} item updates", states.size());
+        states.forEach((itemName, itemState) -> send(itemName, itemState, previousStates.get(itemName)));
+    }
+
+    private void send(String itemName, String itemState, String previousState) {
+        if (!sender.test(itemName, itemState)) {
+            synchronized (this) {
+                // restore the state sent before, unless a newer state is being sent already
+                if (itemState.equals(sentStates.get(itemName))) {
+                    if (previousState == null) {
+                        sentStates.remove(itemName);
+                    } else {
+                        sentStates.put(itemName, previousState);
+                    }
+                }
+            }
+        }
+    }
+}
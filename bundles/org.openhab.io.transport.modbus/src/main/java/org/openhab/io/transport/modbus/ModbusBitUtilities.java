@@ -14,8 +14,6 @@ package org.openhab.io.transport.modbus;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.Optional;
 
@@ -35,6 +33,8 @@ import org.eclipse.smarthome.core.types.Command;
 @NonNullByDefault
 public class ModbusBitUtilities {
 
+    private static final BigInteger UINT64_MODULUS = BigInteger.ONE.shiftLeft(64);
+
     /**
      * Read data from registers and convert the result to DecimalType
      * Interpretation of <tt>index</tt> goes as follows depending on type
@@ -101,6 +101,34 @@ public class ModbusBitUtilities {
      */
     public static Optional<DecimalType> extractStateFromRegisters(ModbusRegisterArray registers, int index,
             ModbusConstants.ValueType type) {
+        return rawValueToState(extractRawValueFromRegisters(registers, index, type), type);
+    }
+
+    /**
+     * Read data from registers as primitive value, without allocating any objects
+     *
+     * This is the allocation-free counterpart of {@link #extractStateFromRegisters}. The raw value can be compared
+     * with the raw value extracted earlier to detect changes, and converted to state using {@link #rawValueToState}
+     * only when necessary. Equal raw values of the same type always represent equal values.
+     *
+     * Interpretation of <tt>index</tt> and <tt>type</tt> is the same as with {@link #extractStateFromRegisters}. The
+     * returned raw value depends on type:
+     *
+     * BIT, INT8, UINT8, INT16, UINT16, INT32, INT32_SWAP, UINT32, UINT32_SWAP, INT64, INT64_SWAP:
+     * - the value itself
+     * UINT64, UINT64_SWAP:
+     * - the 64 bits of the value. Values larger than {@link Long#MAX_VALUE} are negative.
+     * FLOAT32, FLOAT32_SWAP:
+     * - the 32 bits of the floating point value, as returned by {@link Float#floatToRawIntBits(float)}
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based item index
+     * @param type item type
+     * @return raw value
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static long extractRawValueFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
         int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
         // each register has 16 bits
         int lastValidIndex = registers.size() * 16 - 1;
@@ -111,107 +139,91 @@ public class ModbusBitUtilities {
         }
         switch (type) {
             case BIT:
-                return Optional
-                        .of(new DecimalType((registers.getRegister(index / 16).toUnsignedShort() >> (index % 16)) & 1));
+                return (unsignedRegister(registers, index / 16) >> (index % 16)) & 1;
             case INT8:
-                return Optional.of(new DecimalType(registers.getRegister(index / 2).getBytes()[1 - (index % 2)]));
+                return (byte) (unsignedRegister(registers, index / 2) >> (8 * (index % 2)));
             case UINT8:
-                return Optional.of(new DecimalType(
-                        (registers.getRegister(index / 2).toUnsignedShort() >> (8 * (index % 2))) & 0xff));
-            case INT16: {
-                ByteBuffer buff = ByteBuffer.allocate(2);
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getShort(0)));
-            }
+                return (unsignedRegister(registers, index / 2) >> (8 * (index % 2))) & 0xff;
+            case INT16:
+                return (short) unsignedRegister(registers, index);
             case UINT16:
-                return Optional.of(new DecimalType(registers.getRegister(index).toUnsignedShort()));
-            case INT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0)));
-            }
-            case UINT32: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case FLOAT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                try {
-                    return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0)));
-                } catch (NumberFormatException e) {
-                    // floating point NaN or infinity encountered
-                    return Optional.empty();
-                }
-            }
-            case INT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case UINT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return Optional.of(
-                        new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array()))));
-            }
-            case INT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0)));
-            }
-            case UINT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
+                return unsignedRegister(registers, index);
+            case INT32:
+                return (int) (unsignedRegister(registers, index) << 16 | unsignedRegister(registers, index + 1));
+            case UINT32:
+            case FLOAT32:
+                return unsignedRegister(registers, index) << 16 | unsignedRegister(registers, index + 1);
+            case INT64:
+            case UINT64:
+                return unsignedRegister(registers, index) << 48 | unsignedRegister(registers, index + 1) << 32
+                        | unsignedRegister(registers, index + 2) << 16 | unsignedRegister(registers, index + 3);
+            case INT32_SWAP:
+                return (int) (unsignedRegister(registers, index + 1) << 16 | unsignedRegister(registers, index));
+            case UINT32_SWAP:
+            case FLOAT32_SWAP:
+                return unsignedRegister(registers, index + 1) << 16 | unsignedRegister(registers, index);
+            case INT64_SWAP:
+            case UINT64_SWAP:
+                return unsignedRegister(registers, index + 3) << 48 | unsignedRegister(registers, index + 2) << 32
+                        | unsignedRegister(registers, index + 1) << 16 | unsignedRegister(registers, index);
+            default:
+                throw new IllegalArgumentException(type.getConfigValue());
+        }
+    }
+
+    /**
+     * Convert raw value to DecimalType
+     *
+     * @param rawValue raw value, as returned by {@link #extractRawValueFromRegisters}
+     * @param type item type used when extracting the raw value
+     * @return number representation of the value. Empty optional is returned with NaN and infinity floating point
+     *         values
+     */
+    public static Optional<DecimalType> rawValueToState(long rawValue, ModbusConstants.ValueType type) {
+        switch (type) {
+            case FLOAT32:
             case FLOAT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                try {
-                    return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0)));
-                } catch (NumberFormatException e) {
-                    // floating point NaN or infinity encountered
+                float value = Float.intBitsToFloat((int) rawValue);
+                if (Float.isNaN(value) || Float.isInfinite(value)) {
                     return Optional.empty();
                 }
+                return Optional.of(new DecimalType(value));
             }
-            case INT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
+            case UINT64:
             case UINT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(
-                        new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array()))));
+                BigInteger value = BigInteger.valueOf(rawValue);
+                if (rawValue < 0) {
+                    value = value.add(UINT64_MODULUS);
+                }
+                return Optional.of(new DecimalType(new BigDecimal(value)));
             }
             default:
-                throw new IllegalArgumentException(type.getConfigValue());
+                return Optional.of(new DecimalType(rawValue));
         }
     }
 
+    /**
+     * Convert raw value to boolean, without allocating any objects
+     *
+     * @param rawValue raw value, as returned by {@link #extractRawValueFromRegisters}
+     * @param type item type used when extracting the raw value
+     * @return false if the value is zero, true otherwise. Floating point NaN and infinity are considered true.
+     */
+    public static boolean rawValueToBoolean(long rawValue, ModbusConstants.ValueType type) {
+        switch (type) {
+            case FLOAT32:
+            case FLOAT32_SWAP:
+                // NaN is unequal to everything, including zero
+                return Float.intBitsToFloat((int) rawValue) != 0.0f;
+            default:
+                return rawValue != 0;
+        }
+    }
+
+    private static long unsignedRegister(ModbusRegisterArray registers, int index) {
+        return registers.getRegister(index).toUnsignedShort();
+    }
+
     /**
      * Read data from registers and convert the result to StringType
      * Strings should start the the first byte of a register, but could
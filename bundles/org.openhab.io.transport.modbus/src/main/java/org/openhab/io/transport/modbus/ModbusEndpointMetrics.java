@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Immutable snapshot of metrics recorded for a single endpoint
+ *
+ * Latencies are recorded per function code (e.g. <code>READ_MULTIPLE_REGISTERS</code>, see
+ * {@link ModbusReadFunctionCode} and {@link ModbusWriteFunctionCode}) and per phase of the operation. The time spent
+ * waiting for the connection from the connection pool is recorded per endpoint.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusEndpointMetrics {
+
+    /**
+     * Phases of a modbus operation
+     */
+    public enum Phase {
+        /**
+         * Transaction with the slave, i.e. writing the request and reading the response
+         */
+        TRANSACTION,
+        /**
+         * Calling the result or failure callback
+         */
+        CALLBACK,
+        /**
+         * Whole operation, including waiting for the connection and all the retries
+         */
+        TOTAL
+    }
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final ModbusLatencyStatistics connectionBorrow;
+    private final Map<String, Map<Phase, ModbusLatencyStatistics>> operationLatencies;
+    private final long timeouts;
+    private final long ioErrors;
+    private final long transactionIdMismatches;
+    private final long unexpectedResponses;
+    private final long slaveErrorResponses;
+    private final long connectionFailures;
+
+    public ModbusEndpointMetrics(ModbusSlaveEndpoint endpoint, ModbusLatencyStatistics connectionBorrow,
+            Map<String, Map<Phase, ModbusLatencyStatistics>> operationLatencies, long timeouts, long ioErrors,
+            long transactionIdMismatches, long unexpectedResponses, long slaveErrorResponses,
+            long connectionFailures) {
+        this.endpoint = endpoint;
+        this.connectionBorrow = connectionBorrow;
+        this.operationLatencies = Collections.unmodifiableMap(operationLatencies);
+        this.timeouts = timeouts;
+        this.ioErrors = ioErrors;
+        this.transactionIdMismatches = transactionIdMismatches;
+        this.unexpectedResponses = unexpectedResponses;
+        this.slaveErrorResponses = slaveErrorResponses;
+        this.connectionFailures = connectionFailures;
+    }
+
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Get latency of borrowing connection from the connection pool. Includes the time waiting for other operations of
+     * the same endpoint to finish, and the inter-transaction delay.
+     */
+    public ModbusLatencyStatistics getConnectionBorrowLatency() {
+        return connectionBorrow;
+    }
+
+    /**
+     * Get function codes with recorded latencies
+     *
+     * @return map of function code name to latencies of each phase
+     */
+    public Map<String, Map<Phase, ModbusLatencyStatistics>> getOperationLatencies() {
+        return operationLatencies;
+    }
+
+    /**
+     * Get latency of operations with given function code and phase
+     *
+     * @param functionCode function code name, e.g. <code>READ_MULTIPLE_REGISTERS</code>
+     * @param phase phase of the operation
+     * @return latency statistics, empty statistics if no such operations have been recorded
+     */
+    public ModbusLatencyStatistics getLatency(String functionCode, Phase phase) {
+        Map<Phase, ModbusLatencyStatistics> latencies = operationLatencies.get(functionCode);
+        if (latencies == null) {
+            return ModbusLatencyStatistics.EMPTY;
+        }
+        ModbusLatencyStatistics statistics = latencies.get(phase);
+        return statistics == null ? ModbusLatencyStatistics.EMPTY : statistics;
+    }
+
+    /**
+     * Get number of tries that failed due to timeout. Timeouts are counted also in {@link #getIOErrors()}.
+     */
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * Get number of tries that failed due to I/O error, including timeouts
+     */
+    public long getIOErrors() {
+        return ioErrors;
+    }
+
+    /**
+     * Get number of tries where the transaction id of the response did not match the request
+     */
+    public long getTransactionIdMismatches() {
+        return transactionIdMismatches;
+    }
+
+    /**
+     * Get number of tries where the function code or size of the response did not match the request
+     */
+    public long getUnexpectedResponses() {
+        return unexpectedResponses;
+    }
+
+    /**
+     * Get number of tries where slave responded with exception response
+     */
+    public long getSlaveErrorResponses() {
+        return slaveErrorResponses;
+    }
+
+    /**
+     * Get number of times connection could not be established
+     */
+    public long getConnectionFailures() {
+        return connectionFailures;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ModbusEndpointMetrics(endpoint=%s, connectionBorrow=%s, operations=%s, timeouts=%d, ioErrors=%d, transactionIdMismatches=%d, unexpectedResponses=%d, slaveErrorResponses=%d, connectionFailures=%d)",
+                endpoint, connectionBorrow, operationLatencies, timeouts, ioErrors, transactionIdMismatches,
+                unexpectedResponses, slaveErrorResponses, connectionFailures);
+    }
+}
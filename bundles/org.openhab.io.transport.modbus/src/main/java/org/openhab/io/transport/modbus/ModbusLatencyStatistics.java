@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Immutable summary of latency distribution, in milliseconds
+ *
+ * Percentiles are approximate, with relative error of at most 12.5%.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusLatencyStatistics {
+
+    public static final ModbusLatencyStatistics EMPTY = new ModbusLatencyStatistics(0, 0, 0, 0, 0, 0, 0, 0);
+
+    private final long count;
+    private final long min;
+    private final long max;
+    private final long total;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long p999;
+
+    public ModbusLatencyStatistics(long count, long min, long max, long total, long p50, long p90, long p99,
+            long p999) {
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.total = total;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+    }
+
+    /**
+     * Get number of recorded values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public long getMinMillis() {
+        return min;
+    }
+
+    public long getMaxMillis() {
+        return max;
+    }
+
+    /**
+     * Get sum of all recorded values
+     */
+    public long getTotalMillis() {
+        return total;
+    }
+
+    public double getMeanMillis() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    public long getP50Millis() {
+        return p50;
+    }
+
+    public long getP90Millis() {
+        return p90;
+    }
+
+    public long getP99Millis() {
+        return p99;
+    }
+
+    public long getP999Millis() {
+        return p999;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("{count=%d, min=%d, mean=%.1f, p50=%d, p90=%d, p99=%d, p99.9=%d, max=%d}", count, min,
+                getMeanMillis(), p50, p90, p99, p999, max);
+    }
+}
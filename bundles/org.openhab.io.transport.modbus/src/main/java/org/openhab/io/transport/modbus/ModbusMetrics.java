@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.Collection;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Service providing performance metrics of the modbus communication, per endpoint
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public interface ModbusMetrics {
+
+    /**
+     * Get endpoints with recorded metrics
+     *
+     * @return endpoints that have been communicated with
+     */
+    public Collection<ModbusSlaveEndpoint> getEndpoints();
+
+    /**
+     * Get snapshot of metrics recorded for the endpoint
+     *
+     * @param endpoint endpoint to query
+     * @return metrics of the endpoint, or null if no operations have been executed with the endpoint
+     */
+    public @Nullable ModbusEndpointMetrics getEndpointMetrics(ModbusSlaveEndpoint endpoint);
+
+    /**
+     * Reset all metrics recorded for the endpoint
+     *
+     * @param endpoint endpoint to reset
+     */
+    public void resetEndpointMetrics(ModbusSlaveEndpoint endpoint);
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.exception;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Exception for requests rejected since the request queue of the endpoint is full
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class ModbusEndpointQueueFullException extends ModbusTransportException {
+
+    private static final long serialVersionUID = 3950208216516397236L;
+    private ModbusSlaveEndpoint endpoint;
+
+    /**
+     *
+     * @param endpoint endpoint associated with this exception
+     */
+    public ModbusEndpointQueueFullException(ModbusSlaveEndpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Get endpoint associated with this error
+     *
+     * @return endpoint with full request queue
+     */
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public String getMessage() {
+        return String.format("Request queue of endpoint %s is full", endpoint);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ModbusEndpointQueueFullException(Request queue full, endpoint=%s)", endpoint);
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegister;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link PollTask} executing a single read request on behalf of several member poll tasks
+ *
+ * The request covers the data of all members. The response is sliced and passed to the result callback of each
+ * member, with the original request of the member. Similarly, errors are passed to the failure callback of each
+ * member.
+ *
+ * Equality is based on identity, a new instance is created whenever the read plan changes.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class CoalescedPollTask implements PollTask {
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(CoalescedPollTask.class);
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final ModbusReadRequestBlueprint request;
+    private final List<PollTask> members;
+    private final ModbusReadCallback resultCallback = this::handleResult;
+    private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback = this::handleFailure;
+
+    public CoalescedPollTask(ModbusSlaveEndpoint endpoint, ModbusReadRequestBlueprint request, List<PollTask> members) {
+        this.endpoint = endpoint;
+        this.request = request;
+        this.members = Collections.unmodifiableList(members);
+    }
+
+    /**
+     * Get poll tasks served by this task
+     *
+     * @return member poll tasks
+     */
+    public List<PollTask> getMembers() {
+        return members;
+    }
+
+    @Override
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public ModbusReadRequestBlueprint getRequest() {
+        return request;
+    }
+
+    @Override
+    public ModbusReadCallback getResultCallback() {
+        return resultCallback;
+    }
+
+    @Override
+    public ModbusFailureCallback<ModbusReadRequestBlueprint> getFailureCallback() {
+        return failureCallback;
+    }
+
+    private void handleResult(AsyncModbusReadResult result) {
+        Optional<ModbusRegisterArray> registers = result.getRegisters();
+        Optional<BitArray> bits = result.getBits();
+        for (PollTask member : members) {
+            ModbusReadRequestBlueprint memberRequest = member.getRequest();
+            int offset = memberRequest.getReference() - request.getReference();
+            int length = memberRequest.getDataLength();
+            final AsyncModbusReadResult memberResult;
+            try {
+                if (registers.isPresent()) {
+                    memberResult = new AsyncModbusReadResult(memberRequest,
+                            sliceRegisters(registers.get(), offset, length));
+                } else if (bits.isPresent()) {
+                    memberResult = new AsyncModbusReadResult(memberRequest, sliceBits(bits.get(), offset, length));
+                } else {
+                    throw new IllegalArgumentException(String.format("Result %s has no data", result));
+                }
+            } catch (RuntimeException e) {
+                // Let the member know that its data could not be extracted, and carry on with the others
+                try {
+                    member.getFailureCallback().handle(new AsyncModbusFailure<>(memberRequest, e));
+                } catch (RuntimeException e2) {
+                    logger.warn("Failure callback of poll task {} failed unexpectedly", member, e2);
+                }
+                continue;
+            }
+            try {
+                member.getResultCallback().handle(memberResult);
+            } catch (RuntimeException e) {
+                // One misbehaving callback should not prevent the others from receiving data
+                logger.warn("Result callback of poll task {} failed unexpectedly", member, e);
+            }
+        }
+    }
+
+    private void handleFailure(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+        for (PollTask member : members) {
+            try {
+                member.getFailureCallback().handle(new AsyncModbusFailure<>(member.getRequest(), failure.getCause()));
+            } catch (RuntimeException e) {
+                logger.warn("Failure callback of poll task {} failed unexpectedly", member, e);
+            }
+        }
+    }
+
+    private static ModbusRegisterArray sliceRegisters(ModbusRegisterArray registers, int offset, int length) {
+        ModbusRegister[] slice = new ModbusRegister[length];
+        for (int i = 0; i < length; i++) {
+            slice[i] = registers.getRegister(offset + i);
+        }
+        return new ModbusRegisterArray(slice);
+    }
+
+    private static BitArray sliceBits(BitArray bits, int offset, int length) {
+        BitArray slice = new BitArray(length);
+        for (int i = 0; i < length; i++) {
+            slice.setBit(i, bits.getBit(offset + i));
+        }
+        return slice;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle).append("request", request).append("endpoint", endpoint)
+                .append("members", members.size()).toString();
+    }
+}
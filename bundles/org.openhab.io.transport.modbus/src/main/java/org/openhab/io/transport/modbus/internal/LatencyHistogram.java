@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.ModbusLatencyStatistics;
+
+/**
+ * Lock-free histogram of latency values with log-linear buckets, in the spirit of HdrHistogram
+ *
+ * Values below {@link #SUB_BUCKETS} are recorded exactly. Larger values are recorded to buckets of which there are
+ * {@link #SUB_BUCKETS} per power of two, giving relative error of at most 1/{@link #SUB_BUCKETS}. Values are capped
+ * to {@link #MAX_VALUE}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 30;
+    static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Highest value that is recorded to the bucket
+     */
+    static long highestValueInBucket(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Record a value
+     *
+     * @param value value to record, negative values are recorded as zero
+     */
+    public void record(long value) {
+        long capped = Math.max(0, Math.min(value, MAX_VALUE));
+        counts.incrementAndGet(bucketIndex(capped));
+        total.add(capped);
+        min.accumulate(capped);
+        max.accumulate(capped);
+        count.incrementAndGet();
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Take snapshot of the recorded values. The snapshot is not atomic, values recorded concurrently might be partially
+     * included.
+     *
+     * @return statistics of the recorded values
+     */
+    public ModbusLatencyStatistics toStatistics() {
+        long[] snapshot = new long[BUCKETS];
+        long snapshotCount = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            snapshotCount += snapshot[i];
+        }
+        if (snapshotCount == 0) {
+            return ModbusLatencyStatistics.EMPTY;
+        }
+        long snapshotMax = max.get();
+        return new ModbusLatencyStatistics(snapshotCount, min.get(), snapshotMax, total.sum(),
+                percentile(snapshot, snapshotCount, snapshotMax, 50),
+                percentile(snapshot, snapshotCount, snapshotMax, 90),
+                percentile(snapshot, snapshotCount, snapshotMax, 99),
+                percentile(snapshot, snapshotCount, snapshotMax, 99.9));
+    }
+
+    private static long percentile(long[] snapshot, long snapshotCount, long snapshotMax, double percentile) {
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * snapshotCount));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestValueInBucket(i), snapshotMax);
+            }
+        }
+        return snapshotMax;
+    }
+}
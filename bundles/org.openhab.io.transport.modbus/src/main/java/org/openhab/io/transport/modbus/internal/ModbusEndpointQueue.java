@@ -0,0 +1,237 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.NamedThreadFactory;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded FIFO queue of operations targeting a single endpoint, drained by a thread dedicated to the endpoint
+ *
+ * Operations are executed one at a time, in the order they were queued, with the exception that writes are executed
+ * before any queued reads. A regular poll is not queued if the same poll task is still waiting in the queue from the
+ * previous poll cycle.
+ *
+ * With a dedicated thread per endpoint, a slow or unresponsive endpoint delays only its own operations. The thread is
+ * stopped when the queue has been idle for a while, and when the queue is closed.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusEndpointQueue {
+
+    /**
+     * Time after which the idle drain thread is stopped
+     */
+    private static final long DRAIN_THREAD_KEEP_ALIVE_MILLIS = 60_000;
+
+    private static class QueuedOperation {
+        private final @Nullable PollTask task;
+        private final Runnable operation;
+        private final Runnable discarded;
+
+        public QueuedOperation(@Nullable PollTask task, Runnable operation, Runnable discarded) {
+            this.task = task;
+            this.operation = operation;
+            this.discarded = discarded;
+        }
+    }
+
+    private static final Runnable NOTHING = () -> {
+    };
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusEndpointQueue.class);
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final int capacity;
+    private final ThreadPoolExecutor drainExecutor;
+    private final Deque<QueuedOperation> writes = new ArrayDeque<>();
+    private final Deque<QueuedOperation> reads = new ArrayDeque<>();
+    private final Set<PollTask> queuedPollTasks = new HashSet<>();
+    private boolean draining;
+    private boolean closed;
+
+    public ModbusEndpointQueue(ModbusSlaveEndpoint endpoint, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity should be positive");
+        }
+        this.endpoint = endpoint;
+        this.capacity = capacity;
+        drainExecutor = new ThreadPoolExecutor(1, 1, DRAIN_THREAD_KEEP_ALIVE_MILLIS, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new NamedThreadFactory("modbusEndpointQueue-" + endpoint, true));
+        drainExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queue write operation. Writes are executed before any queued reads.
+     *
+     * @param operation operation to execute
+     * @param discarded called instead of the operation when the queue is closed before the operation is executed
+     * @return whether the operation was queued. Operation is not queued if the queue is full. If the queue is closed,
+     *         the operation is discarded right away.
+     */
+    public boolean offerWrite(Runnable operation, Runnable discarded) {
+        return offer(writes, new QueuedOperation(null, operation, discarded));
+    }
+
+    /**
+     * Queue one-off read operation.
+     *
+     * @param operation operation to execute
+     * @param discarded called instead of the operation when the queue is closed before the operation is executed
+     * @return whether the operation was queued. Operation is not queued if the queue is full. If the queue is closed,
+     *         the operation is discarded right away.
+     */
+    public boolean offerRead(Runnable operation, Runnable discarded) {
+        return offer(reads, new QueuedOperation(null, operation, discarded));
+    }
+
+    /**
+     * Queue a regular poll. The poll is dropped if the poll task is already waiting in the queue, or if the queue is
+     * closed.
+     *
+     * @param task poll task
+     * @param operation operation executing the poll task
+     * @return whether the operation was queued or dropped. False if the queue is full.
+     */
+    public synchronized boolean offerRegularPoll(PollTask task, Runnable operation) {
+        if (closed) {
+            logger.debug("Request queue of endpoint {} is closed, dropping poll task {}", endpoint, task);
+            return true;
+        }
+        if (queuedPollTasks.contains(task)) {
+            logger.debug("Poll task {} is still queued from previous poll cycle, not queuing again", task);
+            return true;
+        }
+        if (isFull()) {
+            return false;
+        }
+        reads.add(new QueuedOperation(task, operation, NOTHING));
+        queuedPollTasks.add(task);
+        startDraining();
+        return true;
+    }
+
+    /**
+     * Get the number of queued operations
+     *
+     * @return number of operations waiting for execution
+     */
+    public synchronized int size() {
+        return writes.size() + reads.size();
+    }
+
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Close the queue. Queued operations are discarded, and operations offered afterwards are discarded right away.
+     * The drain thread is stopped after the ongoing operation.
+     */
+    public void close() {
+        List<QueuedOperation> discarded;
+        synchronized (this) {
+            closed = true;
+            discarded = new ArrayList<>(writes);
+            discarded.addAll(reads);
+            writes.clear();
+            reads.clear();
+            queuedPollTasks.clear();
+        }
+        discarded.forEach(this::discard);
+        drainExecutor.shutdown();
+    }
+
+    private boolean offer(Deque<QueuedOperation> operations, QueuedOperation operation) {
+        synchronized (this) {
+            if (!closed) {
+                if (isFull()) {
+                    return false;
+                }
+                operations.add(operation);
+                startDraining();
+                return true;
+            }
+        }
+        discard(operation);
+        return true;
+    }
+
+    private void discard(QueuedOperation operation) {
+        try {
+            operation.discarded.run();
+        } catch (RuntimeException e) {
+            logger.warn("Discarding queued operation to endpoint {} failed unexpectedly.", endpoint, e);
+        }
+    }
+
+    private boolean isFull() {
+        return writes.size() + reads.size() >= capacity;
+    }
+
+    private void startDraining() {
+        if (!draining) {
+            draining = true;
+            drainExecutor.execute(this::drain);
+        }
+    }
+
+    private synchronized @Nullable Runnable next() {
+        QueuedOperation next = writes.poll();
+        if (next == null) {
+            next = reads.poll();
+        }
+        if (next == null) {
+            draining = false;
+            return null;
+        }
+        PollTask task = next.task;
+        if (task != null) {
+            queuedPollTasks.remove(task);
+        }
+        return next.operation;
+    }
+
+    private void drain() {
+        Runnable operation;
+        while ((operation = next()) != null) {
+            try {
+                operation.run();
+            } catch (RuntimeException e) {
+                logger.warn("Queued operation to endpoint {} failed unexpectedly. Continuing with next operation.",
+                        endpoint, e);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ModbusEndpointQueue(endpoint=%s, size=%d)", endpoint, size());
+    }
+}
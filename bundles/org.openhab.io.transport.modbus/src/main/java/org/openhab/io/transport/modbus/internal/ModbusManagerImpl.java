@@ -13,13 +13,17 @@
 package org.openhab.io.transport.modbus.internal;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -28,6 +32,8 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import javax.imageio.IIOException;
 
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
 import org.apache.commons.pool2.KeyedObjectPool;
 import org.apache.commons.pool2.SwallowedExceptionListener;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
@@ -39,8 +45,10 @@ import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.io.transport.modbus.AsyncModbusFailure;
 import org.openhab.io.transport.modbus.AsyncModbusWriteResult;
 import org.openhab.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
 import org.openhab.io.transport.modbus.ModbusFailureCallback;
 import org.openhab.io.transport.modbus.ModbusManager;
+import org.openhab.io.transport.modbus.ModbusMetrics;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
 import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
 import org.openhab.io.transport.modbus.ModbusResultCallback;
@@ -56,6 +64,8 @@ import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpointVisitor;
 import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusUDPSlaveEndpoint;
 import org.openhab.io.transport.modbus.exception.ModbusConnectionException;
+import org.openhab.io.transport.modbus.exception.ModbusEndpointQueueClosedException;
+import org.openhab.io.transport.modbus.exception.ModbusEndpointQueueFullException;
 import org.openhab.io.transport.modbus.exception.ModbusUnexpectedResponseFunctionCodeException;
 import org.openhab.io.transport.modbus.exception.ModbusUnexpectedResponseSizeException;
 import org.openhab.io.transport.modbus.exception.ModbusUnexpectedTransactionIdException;
@@ -84,9 +94,10 @@ import net.wimpi.modbus.net.ModbusSlaveConnection;
  *
  * @author Sami Salonen - Initial contribution
  */
-@Component(service = ModbusManager.class, immediate = true, configurationPid = "transport.modbus")
+@Component(service = { ModbusManager.class,
+        ModbusMetrics.class }, immediate = true, configurationPid = "transport.modbus")
 @NonNullByDefault
-public class ModbusManagerImpl implements ModbusManager {
+public class ModbusManagerImpl implements ModbusManager, ModbusMetrics {
 
     static class PollTaskUnregistered extends Exception {
         public PollTaskUnregistered(String msg) {
@@ -254,6 +265,90 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    /**
+     * Regular polls with equal endpoint and poll period, executed together using as few transactions as possible
+     *
+     * @see ModbusReadRequestPlanner
+     */
+    private class PollGroup implements Runnable {
+        private final PollGroupKey key;
+        private final Set<PollTask> members = new ConcurrentHashSet<>();
+        private volatile List<CoalescedPollTask> plan = Collections.emptyList();
+        private volatile @Nullable ScheduledFuture<?> future;
+
+        public PollGroup(PollGroupKey key) {
+            this.key = key;
+        }
+
+        public void add(PollTask task) {
+            members.add(task);
+            plan = readPlanner.plan(members);
+        }
+
+        /**
+         * Remove task from the group
+         *
+         * @param task task to remove
+         * @return whether the group is empty after the removal
+         */
+        public boolean remove(PollTask task) {
+            members.remove(task);
+            plan = readPlanner.plan(members);
+            return members.isEmpty();
+        }
+
+        @Override
+        public void run() {
+            long started = System.currentTimeMillis();
+            List<CoalescedPollTask> currentPlan = plan;
+            logger.debug("Executing scheduled ({}ms) coalesced poll of {} tasks with {} transactions to {}",
+                    key.pollPeriodMillis, members.size(), currentPlan.size(), key.endpoint);
+            for (CoalescedPollTask task : currentPlan) {
+                try {
+                    executeRegularPoll(task);
+                } catch (RuntimeException e) {
+                    // Same as with the regular poll tasks, unhandled exceptions would halt the polling
+                    logger.warn(
+                            "Execution of scheduled ({}ms) coalesced poll task {} failed unexpectedly. Ignoring exception, polling again according to poll interval.",
+                            key.pollPeriodMillis, task, e);
+                }
+            }
+            logger.debug("Execution of scheduled ({}ms) coalesced poll to {} finished (=duration of {} millis)",
+                    key.pollPeriodMillis, key.endpoint, System.currentTimeMillis() - started);
+        }
+    }
+
+    private static class PollGroupKey {
+        private final ModbusSlaveEndpoint endpoint;
+        private final long pollPeriodMillis;
+
+        public PollGroupKey(ModbusSlaveEndpoint endpoint, long pollPeriodMillis) {
+            this.endpoint = endpoint;
+            this.pollPeriodMillis = pollPeriodMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return new HashCodeBuilder(57, 11).append(endpoint).append(pollPeriodMillis).toHashCode();
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (obj == null) {
+                return false;
+            }
+            if (obj == this) {
+                return true;
+            }
+            if (obj.getClass() != getClass()) {
+                return false;
+            }
+            PollGroupKey rhs = (PollGroupKey) obj;
+            return new EqualsBuilder().append(endpoint, rhs.endpoint).append(pollPeriodMillis, rhs.pollPeriodMillis)
+                    .isEquals();
+        }
+    }
+
     private final Logger logger = LoggerFactory.getLogger(ModbusManagerImpl.class);
     private final Logger pollMonitorLogger = LoggerFactory
             .getLogger(ModbusManagerImpl.class.getName() + ".PollMonitor");
@@ -294,8 +389,32 @@ public class ModbusManagerImpl implements ModbusManager {
     private static final long WARN_QUEUE_SIZE = 500;
     private static final long MONITOR_QUEUE_INTERVAL_MILLIS = 10000;
 
+    /**
+     * Configuration key for enabling coalescing of regular polls. When enabled, regular polls with equal endpoint and
+     * poll period are merged to as few transactions as possible using {@link ModbusReadRequestPlanner}.
+     */
+    private static final String CONFIG_COALESCE_REGULAR_POLLS = "coalesceRegularPolls";
+
+    /**
+     * Configuration key for the maximum number of unrequested registers or bits allowed between two merged requests
+     */
+    private static final String CONFIG_COALESCE_MAX_GAP = "coalesceMaxGap";
+
+    /**
+     * Configuration key for enabling per-endpoint request queues. When enabled, all operations to an endpoint are
+     * queued to {@link ModbusEndpointQueue} of the endpoint, and executed by a thread dedicated to the endpoint.
+     */
+    private static final String CONFIG_ENDPOINT_QUEUES = "endpointQueues";
+
+    /**
+     * Configuration key for the maximum number of operations queued per endpoint
+     */
+    private static final String CONFIG_ENDPOINT_QUEUE_SIZE = "endpointQueueSize";
+    private static final int DEFAULT_ENDPOINT_QUEUE_SIZE = 200;
+
     private final PollOperation pollOperation = new PollOperation();
     private final WriteOperation writeOperation = new WriteOperation();
+    private final ModbusMetricsRecorder metrics = new ModbusMetricsRecorder();
 
     private volatile long lastQueueMonitorLog = -1;
 
@@ -312,6 +431,13 @@ public class ModbusManagerImpl implements ModbusManager {
     private volatile @Nullable KeyedObjectPool<ModbusSlaveEndpoint, ModbusSlaveConnection> connectionPool;
     private volatile @Nullable ModbusSlaveConnectionFactoryImpl connectionFactory;
     private volatile Map<PollTask, ScheduledFuture<?>> scheduledPollTasks = new ConcurrentHashMap<>();
+    private final Map<PollGroupKey, PollGroup> pollGroups = new ConcurrentHashMap<>();
+    private final Map<PollTask, PollGroup> pollTaskGroups = new ConcurrentHashMap<>();
+    private volatile boolean coalesceRegularPolls;
+    private volatile ModbusReadRequestPlanner readPlanner = new ModbusReadRequestPlanner(0);
+    private final Map<ModbusSlaveEndpoint, ModbusEndpointQueue> endpointQueues = new ConcurrentHashMap<>();
+    private volatile boolean useEndpointQueues;
+    private volatile int endpointQueueSize = DEFAULT_ENDPOINT_QUEUE_SIZE;
     /**
      * Executor for requests
      */
@@ -461,6 +587,7 @@ public class ModbusManagerImpl implements ModbusManager {
 
         R request = task.getRequest();
         Optional<ModbusSlaveConnection> connection = timer.connection.timeSupplier(() -> borrowConnection(endpoint));
+        metrics.recordConnectionBorrow(endpoint, System.currentTimeMillis() - connectionBorrowStart);
         logger.trace("Executing task {} (oneOff={})! Connection received in {} ms [operation ID {}]", task, oneOffTask,
                 System.currentTimeMillis() - connectionBorrowStart, operationId);
         if (scheduledThreadPoolExecutor == null) {
@@ -469,6 +596,7 @@ public class ModbusManagerImpl implements ModbusManager {
             return Optional.empty();
         }
         if (!connection.isPresent()) {
+            metrics.recordConnectionFailure(endpoint);
             logger.warn("Could not connect to endpoint {} -- aborting request {} [operation ID {}]", endpoint, request,
                     operationId);
             timer.callback.timeRunnable(
@@ -501,7 +629,13 @@ public class ModbusManagerImpl implements ModbusManager {
     }
 
     private void verifyTaskIsRegistered(PollTask task) throws PollTaskUnregistered {
-        if (!this.scheduledPollTasks.containsKey(task)) {
+        final boolean registered;
+        if (task instanceof CoalescedPollTask) {
+            registered = ((CoalescedPollTask) task).getMembers().stream().anyMatch(scheduledPollTasks::containsKey);
+        } else {
+            registered = scheduledPollTasks.containsKey(task);
+        }
+        if (!registered) {
             String msg = String.format("Poll task %s is unregistered", task);
             logger.debug(msg);
             throw new PollTaskUnregistered(msg);
@@ -610,6 +744,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     break;
                 } catch (IOException e) {
                     lastError.set(new ModbusSlaveIOExceptionImpl(e));
+                    metrics.recordIOError(endpoint, e);
                     // IO exception occurred, we re-establish new connection hoping it would fix the issue (e.g.
                     // broken pipe on write)
                     if (willRetry) {
@@ -627,6 +762,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     continue;
                 } catch (ModbusIOException e) {
                     lastError.set(new ModbusSlaveIOExceptionImpl(e));
+                    metrics.recordIOError(endpoint, e);
                     // IO exception occurred, we re-establish new connection hoping it would fix the issue (e.g.
                     // broken pipe on write)
                     if (willRetry) {
@@ -644,6 +780,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     continue;
                 } catch (ModbusSlaveException e) {
                     lastError.set(new ModbusSlaveErrorResponseExceptionImpl(e));
+                    metrics.recordSlaveErrorResponse(endpoint);
                     // Slave returned explicit error response, no reason to re-establish new connection
                     if (willRetry) {
                         logger.warn(
@@ -658,6 +795,11 @@ public class ModbusManagerImpl implements ModbusManager {
                 } catch (ModbusUnexpectedTransactionIdException | ModbusUnexpectedResponseFunctionCodeException
                         | ModbusUnexpectedResponseSizeException e) {
                     lastError.set(e);
+                    if (e instanceof ModbusUnexpectedTransactionIdException) {
+                        metrics.recordTransactionIdMismatch(endpoint);
+                    } else {
+                        metrics.recordUnexpectedResponse(endpoint);
+                    }
                     // transaction error details already logged
                     if (willRetry) {
                         logger.warn(
@@ -718,10 +860,40 @@ public class ModbusManagerImpl implements ModbusManager {
             timer.connection.timeConsumer(c -> returnConnection(endpoint, c), connection);
             logger.trace("Connection was returned to the pool, ending operation [operation ID {}]", operationId);
             timer.suspendAllRunning();
+            metrics.recordOperation(endpoint, request, timer);
             logger.debug("Modbus operation ended, timing info: {} [operation ID {}]", timer, operationId);
         }
     }
 
+    /**
+     * Get the request queue of the endpoint
+     *
+     * @param endpoint endpoint
+     * @return request queue of the endpoint, or null when endpoint queues are not in use
+     */
+    private @Nullable ModbusEndpointQueue getEndpointQueue(ModbusSlaveEndpoint endpoint) {
+        if (!useEndpointQueues) {
+            return null;
+        }
+        return endpointQueues.computeIfAbsent(endpoint, e -> new ModbusEndpointQueue(e, endpointQueueSize));
+    }
+
+    /**
+     * Execute a regular poll, either right away or by queuing it to the endpoint queue
+     *
+     * @param task poll task to execute
+     */
+    private void executeRegularPoll(PollTask task) {
+        ModbusEndpointQueue queue = getEndpointQueue(task.getEndpoint());
+        if (queue == null) {
+            executeOperation(task, false, pollOperation);
+        } else if (!queue.offerRegularPoll(task, () -> executeOperation(task, false, pollOperation))) {
+            logger.warn("Request queue of endpoint {} is full, skipping regular poll {}", task.getEndpoint(), task);
+            invokeCallbackWithError(task.getRequest(), task.getFailureCallback(),
+                    new ModbusEndpointQueueFullException(task.getEndpoint()));
+        }
+    }
+
     private class ModbusCommunicationInterfaceImpl implements ModbusCommunicationInterface {
 
         private volatile ModbusSlaveEndpoint endpoint;
@@ -748,12 +920,27 @@ public class ModbusManagerImpl implements ModbusManager {
             long scheduleTime = System.currentTimeMillis();
             BasicPollTask task = new BasicPollTask(endpoint, request, resultCallback, failureCallback);
             logger.debug("Scheduling one-off poll task {}", task);
-            Future<?> future = executor.submit(() -> {
+            Runnable operation = () -> {
                 long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
                 logger.debug("Will now execute one-off poll task {}, waited in thread pool for {}", task,
                         millisInThreadPoolWaiting);
                 executeOperation(task, true, pollOperation);
-            });
+            };
+            ModbusEndpointQueue queue = getEndpointQueue(endpoint);
+            if (queue == null) {
+                return executor.submit(operation);
+            }
+            FutureTask<?> future = new FutureTask<>(operation, null);
+            if (!queue.offerRead(future, () -> {
+                logger.debug("Request queue of endpoint {} was closed, discarding one-off poll task {}", endpoint,
+                        task);
+                future.cancel(false);
+                invokeCallbackWithError(request, failureCallback, new ModbusEndpointQueueClosedException(endpoint));
+            })) {
+                logger.warn("Request queue of endpoint {} is full, rejecting one-off poll task {}", endpoint, task);
+                future.cancel(false);
+                invokeCallbackWithError(request, failureCallback, new ModbusEndpointQueueFullException(endpoint));
+            }
             return future;
         }
 
@@ -774,12 +961,28 @@ public class ModbusManagerImpl implements ModbusManager {
                     logger.trace("Unregistering previous poll task (possibly with different period)");
                     unregisterRegularPoll(task);
                 }
+                if (coalesceRegularPolls) {
+                    PollGroup group = pollGroups.computeIfAbsent(new PollGroupKey(endpoint, pollPeriodMillis),
+                            PollGroup::new);
+                    group.add(task);
+                    ScheduledFuture<?> future = group.future;
+                    if (future == null) {
+                        group.future = future = executor.scheduleWithFixedDelay(group, initialDelayMillis,
+                                pollPeriodMillis, TimeUnit.MILLISECONDS);
+                    }
+                    pollTaskGroups.put(task, group);
+                    scheduledPollTasks.put(task, future);
+                    pollTasksRegisteredByThisCommInterface.add(task);
+                    logger.trace("Registered poll task {} with period {} to coalesced poll group", task,
+                            pollPeriodMillis);
+                    return task;
+                }
                 ScheduledFuture<?> future = executor.scheduleWithFixedDelay(() -> {
                     long started = System.currentTimeMillis();
                     logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis, task,
                             started);
                     try {
-                        executeOperation(task, false, pollOperation);
+                        executeRegularPoll(task);
                     } catch (RuntimeException e) {
                         // We want to catch all unexpected exceptions since all unhandled exceptions make
                         // ScheduledExecutorService halt the polling. It is better to print out the exception, and try
@@ -823,6 +1026,15 @@ public class ModbusManagerImpl implements ModbusManager {
                     logger.warn("Caller tried to unregister nonexisting poll task {}", task);
                     return false;
                 }
+                @Nullable
+                PollGroup group = pollTaskGroups.remove(task);
+                if (group != null) {
+                    if (!group.remove(task)) {
+                        logger.debug("Poll task {} removed from coalesced poll group, group continues polling", task);
+                        return true;
+                    }
+                    pollGroups.remove(group.key);
+                }
                 logger.debug("Unregistering regular poll task {} (interrupting if necessary)", task);
                 future.cancel(true);
                 logger.debug("Poll task {} canceled", task);
@@ -841,12 +1053,27 @@ public class ModbusManagerImpl implements ModbusManager {
             WriteTask task = new BasicWriteTask(endpoint, request, resultCallback, failureCallback);
             long scheduleTime = System.currentTimeMillis();
             logger.debug("Scheduling one-off write task {}", task);
-            Future<?> future = localScheduledThreadPoolExecutor.submit(() -> {
+            Runnable operation = () -> {
                 long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
                 logger.debug("Will now execute one-off write task {}, waited in thread pool for {}", task,
                         millisInThreadPoolWaiting);
                 executeOperation(task, true, writeOperation);
-            });
+            };
+            ModbusEndpointQueue queue = getEndpointQueue(endpoint);
+            if (queue == null) {
+                return localScheduledThreadPoolExecutor.submit(operation);
+            }
+            FutureTask<?> future = new FutureTask<>(operation, null);
+            if (!queue.offerWrite(future, () -> {
+                logger.debug("Request queue of endpoint {} was closed, discarding one-off write task {}", endpoint,
+                        task);
+                future.cancel(false);
+                invokeCallbackWithError(request, failureCallback, new ModbusEndpointQueueClosedException(endpoint));
+            })) {
+                logger.warn("Request queue of endpoint {} is full, rejecting one-off write task {}", endpoint, task);
+                future.cancel(false);
+                invokeCallbackWithError(request, failureCallback, new ModbusEndpointQueueFullException(endpoint));
+            }
             return future;
         }
 
@@ -897,6 +1124,21 @@ public class ModbusManagerImpl implements ModbusManager {
         return connectionFactory.getEndpointPoolConfiguration(endpoint);
     }
 
+    @Override
+    public Collection<ModbusSlaveEndpoint> getEndpoints() {
+        return metrics.getEndpoints();
+    }
+
+    @Override
+    public @Nullable ModbusEndpointMetrics getEndpointMetrics(ModbusSlaveEndpoint endpoint) {
+        return metrics.getEndpointMetrics(endpoint);
+    }
+
+    @Override
+    public void resetEndpointMetrics(ModbusSlaveEndpoint endpoint) {
+        metrics.resetEndpointMetrics(endpoint);
+    }
+
     private void unregisterCommunicationInterface(ModbusCommunicationInterface commInterface) {
         communicationInterfaces.remove(commInterface);
         maybeCloseConnections(commInterface.getEndpoint());
@@ -909,6 +1151,13 @@ public class ModbusManagerImpl implements ModbusManager {
             // Since last communication interface pointing to this endpoint was closed, we can clean up resources
             // and disconnect connections.
 
+            // Discard operations still waiting in the queue of the endpoint
+            @Nullable
+            ModbusEndpointQueue queue = endpointQueues.remove(endpoint);
+            if (queue != null) {
+                queue.close();
+            }
+
             // Make sure connections to this endpoint are closed when they are returned to pool (which
             // is usually pretty soon as transactions should be relatively short-lived)
             ModbusSlaveConnectionFactoryImpl localConnectionFactory = connectionFactory;
@@ -930,6 +1179,14 @@ public class ModbusManagerImpl implements ModbusManager {
     protected void activate(Map<String, Object> configProperties) {
         synchronized (this) {
             logger.info("Modbus manager activated");
+            coalesceRegularPolls = Boolean
+                    .parseBoolean(String.valueOf(configProperties.get(CONFIG_COALESCE_REGULAR_POLLS)));
+            Object maxGap = configProperties.get(CONFIG_COALESCE_MAX_GAP);
+            readPlanner = new ModbusReadRequestPlanner(maxGap == null ? 0 : Integer.parseInt(maxGap.toString()));
+            useEndpointQueues = Boolean.parseBoolean(String.valueOf(configProperties.get(CONFIG_ENDPOINT_QUEUES)));
+            Object queueSize = configProperties.get(CONFIG_ENDPOINT_QUEUE_SIZE);
+            endpointQueueSize = queueSize == null ? DEFAULT_ENDPOINT_QUEUE_SIZE
+                    : Integer.parseInt(queueSize.toString());
             if (connectionPool == null) {
                 constructConnectionPool();
             }
@@ -965,6 +1222,11 @@ public class ModbusManagerImpl implements ModbusManager {
                 this.connectionPool = connectionPool = null;
             }
 
+            endpointQueues.values().forEach(ModbusEndpointQueue::close);
+            endpointQueues.clear();
+            pollGroups.clear();
+            pollTaskGroups.clear();
+
             if (monitorFuture != null) {
                 monitorFuture.cancel(true);
                 monitorFuture = null;
@@ -1008,6 +1270,16 @@ public class ModbusManagerImpl implements ModbusManager {
                 }
             }
 
+            endpointQueues.values().forEach(queue -> {
+                int size = queue.size();
+                pollMonitorLogger.trace("POLL MONITOR: endpoint queue of {}: size {}", queue.getEndpoint(), size);
+                if (size >= endpointQueueSize) {
+                    pollMonitorLogger.warn(
+                            "Request queue of endpoint {} is full ({} operations)! Slave might be unresponsive.",
+                            queue.getEndpoint(), size);
+                }
+            });
+
             pollMonitorLogger.trace("</POLL MONITOR>");
         }
     }
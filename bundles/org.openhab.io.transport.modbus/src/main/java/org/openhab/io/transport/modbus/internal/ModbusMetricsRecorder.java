@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.io.InterruptedIOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics.Phase;
+import org.openhab.io.transport.modbus.ModbusLatencyStatistics;
+import org.openhab.io.transport.modbus.ModbusMetrics;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusWriteRequestBlueprint;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Records latencies and error counts of modbus operations, per endpoint
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusMetricsRecorder implements ModbusMetrics {
+
+    private static class EndpointRecorder {
+        private final LatencyHistogram connectionBorrow = new LatencyHistogram();
+        /**
+         * Histograms per function code, indexed by {@link Phase#ordinal()}
+         */
+        private final Map<String, LatencyHistogram[]> operations = new ConcurrentHashMap<>();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder ioErrors = new LongAdder();
+        private final LongAdder transactionIdMismatches = new LongAdder();
+        private final LongAdder unexpectedResponses = new LongAdder();
+        private final LongAdder slaveErrorResponses = new LongAdder();
+        private final LongAdder connectionFailures = new LongAdder();
+
+        private LatencyHistogram[] operation(String functionCode) {
+            return operations.computeIfAbsent(functionCode, key -> {
+                LatencyHistogram[] histograms = new LatencyHistogram[Phase.values().length];
+                for (int i = 0; i < histograms.length; i++) {
+                    histograms[i] = new LatencyHistogram();
+                }
+                return histograms;
+            });
+        }
+
+        private ModbusEndpointMetrics toMetrics(ModbusSlaveEndpoint endpoint) {
+            Map<String, Map<Phase, ModbusLatencyStatistics>> operationLatencies = new HashMap<>();
+            operations.forEach((functionCode, histograms) -> {
+                Map<Phase, ModbusLatencyStatistics> latencies = new EnumMap<>(Phase.class);
+                for (Phase phase : Phase.values()) {
+                    latencies.put(phase, histograms[phase.ordinal()].toStatistics());
+                }
+                operationLatencies.put(functionCode, Collections.unmodifiableMap(latencies));
+            });
+            return new ModbusEndpointMetrics(endpoint, connectionBorrow.toStatistics(), operationLatencies,
+                    timeouts.sum(), ioErrors.sum(), transactionIdMismatches.sum(), unexpectedResponses.sum(),
+                    slaveErrorResponses.sum(), connectionFailures.sum());
+        }
+    }
+
+    private final Map<ModbusSlaveEndpoint, EndpointRecorder> recorders = new ConcurrentHashMap<>();
+
+    private EndpointRecorder recorder(ModbusSlaveEndpoint endpoint) {
+        return recorders.computeIfAbsent(endpoint, key -> new EndpointRecorder());
+    }
+
+    /**
+     * Get name of the function code of the request, used as key for the operation latencies
+     *
+     * @param request read or write request
+     * @return name of the function code
+     */
+    static String functionCodeName(Object request) {
+        if (request instanceof ModbusReadRequestBlueprint) {
+            return ((ModbusReadRequestBlueprint) request).getFunctionCode().name();
+        } else if (request instanceof ModbusWriteRequestBlueprint) {
+            return ((ModbusWriteRequestBlueprint) request).getFunctionCode().name();
+        }
+        return request.getClass().getSimpleName();
+    }
+
+    /**
+     * Record timing of finished operation
+     *
+     * @param endpoint endpoint of the operation
+     * @param request request of the operation
+     * @param timer timer of the operation
+     */
+    public void recordOperation(ModbusSlaveEndpoint endpoint, Object request, AggregateStopWatch timer) {
+        LatencyHistogram[] histograms = recorder(endpoint).operation(functionCodeName(request));
+        histograms[Phase.TRANSACTION.ordinal()].record(timer.transaction.getTotalTimeMillis());
+        histograms[Phase.CALLBACK.ordinal()].record(timer.callback.getTotalTimeMillis());
+        histograms[Phase.TOTAL.ordinal()].record(timer.total.getTotalTimeMillis());
+    }
+
+    public void recordConnectionBorrow(ModbusSlaveEndpoint endpoint, long millis) {
+        recorder(endpoint).connectionBorrow.record(millis);
+    }
+
+    public void recordConnectionFailure(ModbusSlaveEndpoint endpoint) {
+        recorder(endpoint).connectionFailures.increment();
+    }
+
+    /**
+     * Record I/O error. Errors caused by timeouts are also counted as timeouts.
+     *
+     * @param endpoint endpoint of the operation
+     * @param error the I/O error
+     */
+    public void recordIOError(ModbusSlaveEndpoint endpoint, Exception error) {
+        EndpointRecorder recorder = recorder(endpoint);
+        recorder.ioErrors.increment();
+        if (isTimeout(error)) {
+            recorder.timeouts.increment();
+        }
+    }
+
+    public void recordTransactionIdMismatch(ModbusSlaveEndpoint endpoint) {
+        recorder(endpoint).transactionIdMismatches.increment();
+    }
+
+    public void recordUnexpectedResponse(ModbusSlaveEndpoint endpoint) {
+        recorder(endpoint).unexpectedResponses.increment();
+    }
+
+    public void recordSlaveErrorResponse(ModbusSlaveEndpoint endpoint) {
+        recorder(endpoint).slaveErrorResponses.increment();
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        @Nullable
+        Throwable cause = error;
+        while (cause != null) {
+            // SocketTimeoutException is InterruptedIOException
+            if (cause instanceof InterruptedIOException) {
+                return true;
+            }
+            String message = cause.getMessage();
+            if (message != null && message.toLowerCase().contains("timed out")) {
+                return true;
+            }
+            Throwable next = cause.getCause();
+            cause = next == cause ? null : next;
+        }
+        return false;
+    }
+
+    @Override
+    public Collection<ModbusSlaveEndpoint> getEndpoints() {
+        return Collections.unmodifiableSet(recorders.keySet());
+    }
+
+    @Override
+    public @Nullable ModbusEndpointMetrics getEndpointMetrics(ModbusSlaveEndpoint endpoint) {
+        EndpointRecorder recorder = recorders.get(endpoint);
+        return recorder == null ? null : recorder.toMetrics(endpoint);
+    }
+
+    @Override
+    public void resetEndpointMetrics(ModbusSlaveEndpoint endpoint) {
+        recorders.remove(endpoint);
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.ModbusConstants;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Planner combining several read requests into as few modbus transactions as possible
+ *
+ * Poll tasks are grouped by endpoint, unit id and function code. Within a group, requests that overlap, are adjacent
+ * or are separated by at most <code>maxGap</code> items are merged, as long as the merged request does not exceed the
+ * maximum read length allowed by the protocol (see {@link ModbusConstants#MAX_REGISTERS_READ_COUNT} and
+ * {@link ModbusConstants#MAX_BITS_READ_COUNT}).
+ *
+ * Note that gap items are read from the slave but not passed to any callback. Some slaves respond with an error when
+ * reading unmapped addresses, and therefore the default gap is zero.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusReadRequestPlanner {
+
+    private final int maxGap;
+
+    public ModbusReadRequestPlanner(int maxGap) {
+        if (maxGap < 0) {
+            throw new IllegalArgumentException("maxGap should be non-negative");
+        }
+        this.maxGap = maxGap;
+    }
+
+    /**
+     * Maximum number of items (registers or bits) that can be read in one transaction with the given function code
+     *
+     * @param functionCode function code of the request
+     * @return maximum number of items
+     */
+    public static int getMaxReadCount(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return ModbusConstants.MAX_BITS_READ_COUNT;
+            case READ_MULTIPLE_REGISTERS:
+            case READ_INPUT_REGISTERS:
+                return ModbusConstants.MAX_REGISTERS_READ_COUNT;
+            default:
+                throw new IllegalArgumentException(String.format("Unexpected function code %s", functionCode));
+        }
+    }
+
+    /**
+     * Plan transactions for the given poll tasks
+     *
+     * Each returned task covers one or more of the given tasks. Tasks that cannot be merged with any other task are
+     * returned wrapped as single-member tasks.
+     *
+     * @param tasks poll tasks to plan
+     * @return coalesced poll tasks, covering all the given tasks
+     */
+    public List<CoalescedPollTask> plan(Collection<? extends PollTask> tasks) {
+        Map<GroupKey, List<PollTask>> groups = new LinkedHashMap<>();
+        for (PollTask task : tasks) {
+            groups.computeIfAbsent(new GroupKey(task), key -> new ArrayList<>()).add(task);
+        }
+
+        List<CoalescedPollTask> planned = new ArrayList<>();
+        for (List<PollTask> group : groups.values()) {
+            planGroup(group, planned);
+        }
+        return planned;
+    }
+
+    private void planGroup(List<PollTask> group, List<CoalescedPollTask> planned) {
+        group.sort(Comparator.comparingInt((PollTask task) -> task.getRequest().getReference())
+                .thenComparingInt(task -> task.getRequest().getDataLength()));
+        PollTask first = group.get(0);
+        ModbusSlaveEndpoint endpoint = first.getEndpoint();
+        ModbusReadRequestBlueprint firstRequest = first.getRequest();
+        int maxReadCount = getMaxReadCount(firstRequest.getFunctionCode());
+
+        List<PollTask> members = new ArrayList<>();
+        int start = 0;
+        int end = 0;
+        for (PollTask task : group) {
+            ModbusReadRequestBlueprint request = task.getRequest();
+            int taskStart = request.getReference();
+            int taskEnd = taskStart + request.getDataLength();
+            if (!members.isEmpty() && taskStart <= end + maxGap && Math.max(end, taskEnd) - start <= maxReadCount) {
+                end = Math.max(end, taskEnd);
+                members.add(task);
+                continue;
+            }
+            if (!members.isEmpty()) {
+                planned.add(newCoalescedTask(endpoint, firstRequest, start, end, members));
+            }
+            members = new ArrayList<>();
+            members.add(task);
+            start = taskStart;
+            end = taskEnd;
+        }
+        planned.add(newCoalescedTask(endpoint, firstRequest, start, end, members));
+    }
+
+    private static CoalescedPollTask newCoalescedTask(ModbusSlaveEndpoint endpoint,
+            ModbusReadRequestBlueprint groupRequest, int start, int end, List<PollTask> members) {
+        int maxTries = members.stream().mapToInt(task -> task.getRequest().getMaxTries()).max().orElse(1);
+        ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(groupRequest.getUnitID(),
+                groupRequest.getFunctionCode(), start, end - start, maxTries);
+        return new CoalescedPollTask(endpoint, request, members);
+    }
+
+    /**
+     * Key for grouping requests that can be merged together
+     */
+    private static class GroupKey {
+        private final ModbusSlaveEndpoint endpoint;
+        private final int unitId;
+        private final ModbusReadFunctionCode functionCode;
+
+        public GroupKey(PollTask task) {
+            this.endpoint = task.getEndpoint();
+            this.unitId = task.getRequest().getUnitID();
+            this.functionCode = task.getRequest().getFunctionCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return new HashCodeBuilder(23, 7).append(endpoint).append(unitId).append(functionCode).toHashCode();
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (obj == null) {
+                return false;
+            }
+            if (obj == this) {
+                return true;
+            }
+            if (obj.getClass() != getClass()) {
+                return false;
+            }
+            GroupKey rhs = (GroupKey) obj;
+            return new EqualsBuilder().append(endpoint, rhs.endpoint).append(unitId, rhs.unitId)
+                    .append(functionCode, rhs.functionCode).isEquals();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Optional;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.ModbusBitUtilities;
+import org.openhab.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class BitUtilitiesExtractRawValueFromRegistersTest {
+
+    private final ModbusRegisterArray registers = new ModbusRegisterArray(0xFFFF, 0xFFFE, 0x0000, 0x0001);
+
+    @Test
+    public void testRawValues() {
+        assertThat(ModbusBitUtilities.extractRawValueFromRegisters(registers, 16, ValueType.BIT), is(equalTo(0L)));
+        assertThat(ModbusBitUtilities.extractRawValueFromRegisters(registers, 17, ValueType.BIT), is(equalTo(1L)));
+        assertThat(ModbusBitUtilities.extractRawValueFromRegisters(registers, 2, ValueType.INT8), is(equalTo(-2L)));
+        assertThat(ModbusBitUtilities.extractRawValueFromRegisters(registers, 2, ValueType.UINT8), is(equalTo(254L)));
+        assertThat(ModbusBitUtilities.extractRawValueFromRegisters(registers, 1, ValueType.INT16), is(equalTo(-2L)));
+        assertThat(ModbusBitUtilities.extractRawValueFromRegisters(registers, 1, ValueType.UINT16),
+                is(equalTo(65534L)));
+        assertThat(ModbusBitUtilities.extractRawValueFromRegisters(registers, 0, ValueType.INT32), is(equalTo(-2L)));
+        assertThat(ModbusBitUtilities.extractRawValueFromRegisters(registers, 0, ValueType.UINT32),
+                is(equalTo(0xFFFFFFFEL)));
+        assertThat(ModbusBitUtilities.extractRawValueFromRegisters(registers, 2, ValueType.INT32_SWAP),
+                is(equalTo(0x10000L)));
+        assertThat(ModbusBitUtilities.extractRawValueFromRegisters(registers, 0, ValueType.INT64),
+                is(equalTo(0xFFFFFFFE00000001L)));
+        assertThat(ModbusBitUtilities.extractRawValueFromRegisters(registers, 0, ValueType.INT64_SWAP),
+                is(equalTo(0x00010000FFFEFFFFL)));
+    }
+
+    @Test
+    public void testUnsigned64BitState() {
+        long raw = ModbusBitUtilities.extractRawValueFromRegisters(registers, 0, ValueType.UINT64);
+        assertThat(ModbusBitUtilities.rawValueToState(raw, ValueType.UINT64),
+                is(equalTo(Optional.of(new DecimalType("18446744065119617025")))));
+    }
+
+    @Test
+    public void testFloatStateAndBoolean() {
+        long one = ModbusBitUtilities.extractRawValueFromRegisters(new ModbusRegisterArray(0x3F80, 0x0000), 0,
+                ValueType.FLOAT32);
+        assertThat(ModbusBitUtilities.rawValueToState(one, ValueType.FLOAT32),
+                is(equalTo(Optional.of(new DecimalType(1.0f)))));
+        assertTrue(ModbusBitUtilities.rawValueToBoolean(one, ValueType.FLOAT32));
+
+        long negativeZero = ModbusBitUtilities.extractRawValueFromRegisters(new ModbusRegisterArray(0x0000, 0x8000),
+                0, ValueType.FLOAT32_SWAP);
+        assertFalse(ModbusBitUtilities.rawValueToBoolean(negativeZero, ValueType.FLOAT32_SWAP));
+
+        long nan = ModbusBitUtilities.extractRawValueFromRegisters(new ModbusRegisterArray(0x7FC0, 0x0000), 0,
+                ValueType.FLOAT32);
+        assertThat(ModbusBitUtilities.rawValueToState(nan, ValueType.FLOAT32), is(equalTo(Optional.empty())));
+        assertTrue(ModbusBitUtilities.rawValueToBoolean(nan, ValueType.FLOAT32));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOutOfBounds() {
+        ModbusBitUtilities.extractRawValueFromRegisters(registers, 1, ValueType.INT64);
+    }
+}
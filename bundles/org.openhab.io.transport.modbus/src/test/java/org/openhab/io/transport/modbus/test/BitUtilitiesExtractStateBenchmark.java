@@ -0,0 +1,229 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.openhab.io.transport.modbus.ModbusBitUtilities;
+import org.openhab.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark comparing the change detection of polled values, with each {@link ValueType}
+ *
+ * <ul>
+ * <li><code>extractState</code>: time to decode the polled registers to a state and compare it with the previous
+ * state, decoding with a ByteBuffer and BigDecimal based copy of the earlier implementation of
+ * {@link ModbusBitUtilities#extractStateFromRegisters(ModbusRegisterArray, int, ValueType)}</li>
+ * <li><code>extractStateCurrent</code>: the same with the current implementation of
+ * {@link ModbusBitUtilities#extractStateFromRegisters(ModbusRegisterArray, int, ValueType)}</li>
+ * <li><code>extractRawValue</code>: time to decode the polled registers to a primitive value and compare it with the
+ * previous value, constructing a state only when the value has changed</li>
+ * </ul>
+ *
+ * The polled value never changes, which is the common case with most polls. Run with the main method,
+ * or with <code>-prof gc</code> option of the JMH runner to see the allocation rates.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BitUtilitiesExtractStateBenchmark {
+
+    @Param
+    public ValueType type = ValueType.INT16;
+
+    private final ModbusRegisterArray registers = new ModbusRegisterArray(0x4148, 0xF5C3, 0x8001, 0x7FFE);
+    private Optional<DecimalType> lastState = Optional.empty();
+    private long lastRawValue;
+
+    @Setup
+    public void setUp() {
+        lastState = legacyExtractStateFromRegisters(registers, 0, type);
+        lastRawValue = ModbusBitUtilities.extractRawValueFromRegisters(registers, 0, type);
+    }
+
+    @Benchmark
+    public Optional<DecimalType> extractState() {
+        Optional<DecimalType> state = legacyExtractStateFromRegisters(registers, 0, type);
+        if (!state.equals(lastState)) {
+            lastState = state;
+        }
+        return lastState;
+    }
+
+    @Benchmark
+    public Optional<DecimalType> extractStateCurrent() {
+        Optional<DecimalType> state = ModbusBitUtilities.extractStateFromRegisters(registers, 0, type);
+        if (!state.equals(lastState)) {
+            lastState = state;
+        }
+        return lastState;
+    }
+
+    @Benchmark
+    public Optional<DecimalType> extractRawValue() {
+        long rawValue = ModbusBitUtilities.extractRawValueFromRegisters(registers, 0, type);
+        if (rawValue != lastRawValue) {
+            lastRawValue = rawValue;
+            lastState = ModbusBitUtilities.rawValueToState(rawValue, type);
+        }
+        return lastState;
+    }
+
+    /**
+     * {@link ModbusBitUtilities#extractStateFromRegisters(ModbusRegisterArray, int, ValueType)} as it was implemented
+     * before the values were decoded from the register values directly
+     */
+    private static Optional<DecimalType> legacyExtractStateFromRegisters(ModbusRegisterArray registers, int index,
+            ValueType type) {
+        int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
+        // each register has 16 bits
+        int lastValidIndex = registers.size() * 16 - 1;
+        if (endBitIndex > lastValidIndex || index < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Index=%d with type=%s is out-of-bounds given registers of size %d", index, type,
+                            registers.size()));
+        }
+        switch (type) {
+            case BIT:
+                return Optional
+                        .of(new DecimalType((registers.getRegister(index / 16).toUnsignedShort() >> (index % 16)) & 1));
+            case INT8:
+                return Optional.of(new DecimalType(registers.getRegister(index / 2).getBytes()[1 - (index % 2)]));
+            case UINT8:
+                return Optional.of(new DecimalType(
+                        (registers.getRegister(index / 2).toUnsignedShort() >> (8 * (index % 2))) & 0xff));
+            case INT16: {
+                ByteBuffer buff = ByteBuffer.allocate(2);
+                buff.put(registers.getRegister(index).getBytes());
+                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getShort(0)));
+            }
+            case UINT16:
+                return Optional.of(new DecimalType(registers.getRegister(index).toUnsignedShort()));
+            case INT32: {
+                ByteBuffer buff = ByteBuffer.allocate(4);
+                buff.put(registers.getRegister(index).getBytes());
+                buff.put(registers.getRegister(index + 1).getBytes());
+                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0)));
+            }
+            case UINT32: {
+                ByteBuffer buff = ByteBuffer.allocate(8);
+                buff.position(4);
+                buff.put(registers.getRegister(index).getBytes());
+                buff.put(registers.getRegister(index + 1).getBytes());
+                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
+            }
+            case FLOAT32: {
+                ByteBuffer buff = ByteBuffer.allocate(4);
+                buff.put(registers.getRegister(index).getBytes());
+                buff.put(registers.getRegister(index + 1).getBytes());
+                try {
+                    return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0)));
+                } catch (NumberFormatException e) {
+                    // floating point NaN or infinity encountered
+                    return Optional.empty();
+                }
+            }
+            case INT64: {
+                ByteBuffer buff = ByteBuffer.allocate(8);
+                buff.put(registers.getRegister(index).getBytes());
+                buff.put(registers.getRegister(index + 1).getBytes());
+                buff.put(registers.getRegister(index + 2).getBytes());
+                buff.put(registers.getRegister(index + 3).getBytes());
+                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
+            }
+            case UINT64: {
+                ByteBuffer buff = ByteBuffer.allocate(8);
+                buff.put(registers.getRegister(index).getBytes());
+                buff.put(registers.getRegister(index + 1).getBytes());
+                buff.put(registers.getRegister(index + 2).getBytes());
+                buff.put(registers.getRegister(index + 3).getBytes());
+                return Optional.of(
+                        new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array()))));
+            }
+            case INT32_SWAP: {
+                ByteBuffer buff = ByteBuffer.allocate(4);
+                buff.put(registers.getRegister(index + 1).getBytes());
+                buff.put(registers.getRegister(index).getBytes());
+                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0)));
+            }
+            case UINT32_SWAP: {
+                ByteBuffer buff = ByteBuffer.allocate(8);
+                buff.position(4);
+                buff.put(registers.getRegister(index + 1).getBytes());
+                buff.put(registers.getRegister(index).getBytes());
+                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
+            }
+            case FLOAT32_SWAP: {
+                ByteBuffer buff = ByteBuffer.allocate(4);
+                buff.put(registers.getRegister(index + 1).getBytes());
+                buff.put(registers.getRegister(index).getBytes());
+                try {
+                    return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0)));
+                } catch (NumberFormatException e) {
+                    // floating point NaN or infinity encountered
+                    return Optional.empty();
+                }
+            }
+            case INT64_SWAP: {
+                ByteBuffer buff = ByteBuffer.allocate(8);
+                buff.put(registers.getRegister(index + 3).getBytes());
+                buff.put(registers.getRegister(index + 2).getBytes());
+                buff.put(registers.getRegister(index + 1).getBytes());
+                buff.put(registers.getRegister(index).getBytes());
+                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
+            }
+            case UINT64_SWAP: {
+                ByteBuffer buff = ByteBuffer.allocate(8);
+                buff.put(registers.getRegister(index + 3).getBytes());
+                buff.put(registers.getRegister(index + 2).getBytes());
+                buff.put(registers.getRegister(index + 1).getBytes());
+                buff.put(registers.getRegister(index).getBytes());
+                return Optional.of(
+                        new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array()))));
+            }
+            default:
+                throw new IllegalArgumentException(type.getConfigValue());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BitUtilitiesExtractStateBenchmark.class.getSimpleName()).build())
+                .run();
+    }
+}
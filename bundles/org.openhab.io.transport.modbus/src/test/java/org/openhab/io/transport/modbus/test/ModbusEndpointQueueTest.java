@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.BasicPollTask;
+import org.openhab.io.transport.modbus.internal.ModbusEndpointQueue;
+
+/**
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class ModbusEndpointQueueTest {
+
+    private static final Runnable NOTHING = () -> {
+    };
+
+    private final ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("thisishost", 502);
+    private final List<String> executed = new CopyOnWriteArrayList<>();
+    private final CountDownLatch blocker = new CountDownLatch(1);
+    private final CountDownLatch blockerStarted = new CountDownLatch(1);
+    private ModbusEndpointQueue queue;
+
+    @Before
+    public void setUp() throws InterruptedException {
+        queue = new ModbusEndpointQueue(endpoint, 3);
+        // Keep the drain thread busy so that the following operations stay in the queue
+        assertTrue(queue.offerRead(() -> {
+            blockerStarted.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, NOTHING));
+        assertTrue(blockerStarted.await(5, TimeUnit.SECONDS));
+    }
+
+    @After
+    public void tearDown() {
+        blocker.countDown();
+        queue.close();
+    }
+
+    private Runnable record(String name, CountDownLatch done) {
+        return () -> {
+            executed.add(name);
+            done.countDown();
+        };
+    }
+
+    private PollTask pollTask() {
+        return new BasicPollTask(endpoint,
+                new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 1, 1),
+                result -> {
+                }, failure -> {
+                });
+    }
+
+    @Test
+    public void testWritesBeforeReads() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(3);
+        assertTrue(queue.offerRead(record("read1", done), NOTHING));
+        assertTrue(queue.offerRead(record("read2", done), NOTHING));
+        assertTrue(queue.offerWrite(record("write", done), NOTHING));
+
+        blocker.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertThat(executed.get(0), is(equalTo("write")));
+        assertThat(executed.get(1), is(equalTo("read1")));
+        assertThat(executed.get(2), is(equalTo("read2")));
+    }
+
+    @Test
+    public void testDuplicateRegularPollDropped() throws InterruptedException {
+        PollTask task = pollTask();
+        CountDownLatch done = new CountDownLatch(1);
+        assertTrue(queue.offerRegularPoll(task, record("poll1", done)));
+        assertTrue(queue.offerRegularPoll(task, record("poll2", done)));
+        assertThat(queue.size(), is(equalTo(1)));
+
+        blocker.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertThat(executed.size(), is(equalTo(1)));
+        assertThat(executed.get(0), is(equalTo("poll1")));
+    }
+
+    @Test
+    public void testCapacity() {
+        CountDownLatch done = new CountDownLatch(4);
+        assertTrue(queue.offerRead(record("read1", done), NOTHING));
+        assertTrue(queue.offerRead(record("read2", done), NOTHING));
+        assertTrue(queue.offerWrite(record("write1", done), NOTHING));
+        assertFalse(queue.offerWrite(record("write2", done), NOTHING));
+        assertFalse(queue.offerRegularPoll(pollTask(), record("poll", done)));
+        assertThat(queue.size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testCloseDiscardsQueuedOperations() {
+        List<String> discarded = new CopyOnWriteArrayList<>();
+        assertTrue(queue.offerRead(() -> executed.add("read"), () -> discarded.add("read")));
+        assertTrue(queue.offerWrite(() -> executed.add("write"), () -> discarded.add("write")));
+        queue.close();
+        assertThat(discarded, is(equalTo(Arrays.asList("write", "read"))));
+        assertThat(queue.size(), is(equalTo(0)));
+    }
+
+    @Test
+    public void testClosedQueueIsNotFull() {
+        List<String> discarded = new CopyOnWriteArrayList<>();
+        queue.close();
+        assertTrue(queue.offerRead(() -> executed.add("read"), () -> discarded.add("read")));
+        assertTrue(queue.offerWrite(() -> executed.add("write"), () -> discarded.add("write")));
+        assertTrue(queue.offerRegularPoll(pollTask(), () -> executed.add("poll")));
+        assertThat(discarded, is(equalTo(Arrays.asList("read", "write"))));
+        assertThat(queue.size(), is(equalTo(0)));
+        assertTrue(executed.isEmpty());
+    }
+}
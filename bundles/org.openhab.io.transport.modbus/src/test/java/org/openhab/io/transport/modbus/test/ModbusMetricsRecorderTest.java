@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.ModbusLatencyStatistics;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.LatencyHistogram;
+import org.openhab.io.transport.modbus.internal.ModbusMetricsRecorder;
+
+/**
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class ModbusMetricsRecorderTest {
+
+    private final ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("thisishost", 502);
+
+    @Test
+    public void testEmptyHistogram() {
+        assertThat(new LatencyHistogram().toStatistics(), is(sameInstance(ModbusLatencyStatistics.EMPTY)));
+    }
+
+    @Test
+    public void testHistogramStatistics() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        ModbusLatencyStatistics statistics = histogram.toStatistics();
+        assertThat(statistics.getCount(), is(equalTo(1000L)));
+        assertThat(statistics.getMinMillis(), is(equalTo(1L)));
+        assertThat(statistics.getMaxMillis(), is(equalTo(1000L)));
+        assertThat(statistics.getTotalMillis(), is(equalTo(500500L)));
+        // Percentiles are accurate to the bucket resolution of 12.5%
+        assertThat(statistics.getP50Millis(), is(both(greaterThanOrEqualTo(500L)).and(lessThanOrEqualTo(563L))));
+        assertThat(statistics.getP90Millis(), is(both(greaterThanOrEqualTo(900L)).and(lessThanOrEqualTo(1000L))));
+        assertThat(statistics.getP999Millis(), is(equalTo(1000L)));
+    }
+
+    @Test
+    public void testHistogramNegativeAndHugeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        ModbusLatencyStatistics statistics = histogram.toStatistics();
+        assertThat(statistics.getCount(), is(equalTo(2L)));
+        assertThat(statistics.getMinMillis(), is(equalTo(0L)));
+        assertThat(statistics.getMaxMillis(), is(equalTo((long) Integer.MAX_VALUE)));
+    }
+
+    @Test
+    public void testErrorCounters() {
+        ModbusMetricsRecorder recorder = new ModbusMetricsRecorder();
+        assertNull(recorder.getEndpointMetrics(endpoint));
+
+        recorder.recordIOError(endpoint, new IOException("connection reset"));
+        recorder.recordIOError(endpoint, new IOException(new SocketTimeoutException()));
+        recorder.recordConnectionFailure(endpoint);
+        recorder.recordSlaveErrorResponse(endpoint);
+        recorder.recordConnectionBorrow(endpoint, 3);
+
+        ModbusEndpointMetrics metrics = recorder.getEndpointMetrics(endpoint);
+        assertNotNull(metrics);
+        assertThat(metrics.getIOErrors(), is(equalTo(2L)));
+        assertThat(metrics.getTimeouts(), is(equalTo(1L)));
+        assertThat(metrics.getConnectionFailures(), is(equalTo(1L)));
+        assertThat(metrics.getSlaveErrorResponses(), is(equalTo(1L)));
+        assertThat(metrics.getTransactionIdMismatches(), is(equalTo(0L)));
+        assertThat(metrics.getConnectionBorrowLatency().getMaxMillis(), is(equalTo(3L)));
+        assertThat(recorder.getEndpoints(), hasItem(endpoint));
+
+        recorder.resetEndpointMetrics(endpoint);
+        assertNull(recorder.getEndpointMetrics(endpoint));
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.BasicPollTask;
+import org.openhab.io.transport.modbus.internal.CoalescedPollTask;
+import org.openhab.io.transport.modbus.internal.ModbusReadRequestPlanner;
+
+/**
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class ModbusReadRequestPlannerTest {
+
+    private final ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("thisishost", 502);
+    private final List<AsyncModbusReadResult> results = new ArrayList<>();
+    private final List<AsyncModbusFailure<ModbusReadRequestBlueprint>> failures = new ArrayList<>();
+
+    private PollTask task(ModbusSlaveEndpoint endpoint, int unitId, ModbusReadFunctionCode functionCode, int start,
+            int length) {
+        return new BasicPollTask(endpoint, new ModbusReadRequestBlueprint(unitId, functionCode, start, length, 1),
+                results::add, failures::add);
+    }
+
+    private PollTask task(ModbusReadFunctionCode functionCode, int start, int length) {
+        return task(endpoint, 1, functionCode, start, length);
+    }
+
+    @Test
+    public void testOverlappingAndAdjacentRequestsAreMerged() {
+        List<CoalescedPollTask> plan = new ModbusReadRequestPlanner(0)
+                .plan(Arrays.asList(task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 5),
+                        task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 5),
+                        task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 5, 7)));
+        assertThat(plan.size(), is(equalTo(1)));
+        assertThat(plan.get(0).getRequest().getReference(), is(equalTo(0)));
+        assertThat(plan.get(0).getRequest().getDataLength(), is(equalTo(15)));
+        assertThat(plan.get(0).getMembers().size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testGapRespected() {
+        List<PollTask> tasks = Arrays.asList(task(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 0, 2),
+                task(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 5, 2));
+        assertThat(new ModbusReadRequestPlanner(0).plan(tasks).size(), is(equalTo(2)));
+        assertThat(new ModbusReadRequestPlanner(2).plan(tasks).size(), is(equalTo(2)));
+
+        List<CoalescedPollTask> plan = new ModbusReadRequestPlanner(3).plan(tasks);
+        assertThat(plan.size(), is(equalTo(1)));
+        assertThat(plan.get(0).getRequest().getDataLength(), is(equalTo(7)));
+    }
+
+    @Test
+    public void testMaxLengthRespected() {
+        List<CoalescedPollTask> plan = new ModbusReadRequestPlanner(0)
+                .plan(Arrays.asList(task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 100),
+                        task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 100, 25),
+                        task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 125, 1)));
+        assertThat(plan.size(), is(equalTo(2)));
+        assertThat(plan.get(0).getRequest().getDataLength(), is(equalTo(125)));
+        assertThat(plan.get(1).getRequest().getReference(), is(equalTo(125)));
+
+        List<CoalescedPollTask> bitPlan = new ModbusReadRequestPlanner(0)
+                .plan(Arrays.asList(task(ModbusReadFunctionCode.READ_COILS, 0, 1000),
+                        task(ModbusReadFunctionCode.READ_COILS, 1000, 1000)));
+        assertThat(bitPlan.size(), is(equalTo(1)));
+        assertThat(bitPlan.get(0).getRequest().getDataLength(), is(equalTo(2000)));
+    }
+
+    @Test
+    public void testDifferentFunctionCodesUnitsAndEndpointsNotMerged() {
+        List<CoalescedPollTask> plan = new ModbusReadRequestPlanner(0)
+                .plan(Arrays.asList(task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2),
+                        task(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 0, 2),
+                        task(endpoint, 2, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2),
+                        task(new ModbusTCPSlaveEndpoint("otherhost", 502), 1,
+                                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2)));
+        assertThat(plan.size(), is(equalTo(4)));
+    }
+
+    @Test
+    public void testRegistersSlicedToMembers() {
+        List<CoalescedPollTask> plan = new ModbusReadRequestPlanner(0)
+                .plan(Arrays.asList(task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 1, 2),
+                        task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 2)));
+        CoalescedPollTask coalesced = plan.get(0);
+        coalesced.getResultCallback().handle(new AsyncModbusReadResult(coalesced.getRequest(),
+                new ModbusRegisterArray(new int[] { 11, 12, 13 })));
+
+        assertThat(results.size(), is(equalTo(2)));
+        assertThat(results.get(0).getRequest().getReference(), is(equalTo(1)));
+        assertThat(results.get(0).getRegisters().get().toHexString(), is(equalTo("00 0b 00 0c")));
+        assertThat(results.get(1).getRequest().getReference(), is(equalTo(2)));
+        assertThat(results.get(1).getRegisters().get().toHexString(), is(equalTo("00 0c 00 0d")));
+    }
+
+    @Test
+    public void testBitsSlicedToMembers() {
+        List<CoalescedPollTask> plan = new ModbusReadRequestPlanner(0)
+                .plan(Arrays.asList(task(ModbusReadFunctionCode.READ_COILS, 0, 2),
+                        task(ModbusReadFunctionCode.READ_COILS, 2, 1)));
+        CoalescedPollTask coalesced = plan.get(0);
+        coalesced.getResultCallback()
+                .handle(new AsyncModbusReadResult(coalesced.getRequest(), new BitArray(true, false, true)));
+
+        assertThat(results.size(), is(equalTo(2)));
+        assertThat(results.get(0).getBits().get(), is(equalTo(new BitArray(true, false))));
+        assertThat(results.get(1).getBits().get(), is(equalTo(new BitArray(true))));
+    }
+
+    @Test
+    public void testFailurePassedToMembers() {
+        List<CoalescedPollTask> plan = new ModbusReadRequestPlanner(0)
+                .plan(Arrays.asList(task(ModbusReadFunctionCode.READ_COILS, 0, 2),
+                        task(ModbusReadFunctionCode.READ_COILS, 2, 1)));
+        CoalescedPollTask coalesced = plan.get(0);
+        Exception error = new Exception("test");
+        coalesced.getFailureCallback().handle(new AsyncModbusFailure<>(coalesced.getRequest(), error));
+
+        assertThat(failures.size(), is(equalTo(2)));
+        assertThat(failures.get(0).getRequest().getReference(), is(equalTo(0)));
+        assertThat(failures.get(1).getRequest().getReference(), is(equalTo(2)));
+        assertThat(failures.get(1).getCause(), is(sameInstance(error)));
+    }
+}
@@ -13,12 +13,13 @@
 package org.openhab.transform.jinja.internal;
 
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -28,14 +29,25 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.Context;
+import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
+import com.hubspot.jinjava.tree.Node;
 
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by Jinja2 Expressions.
  *
+ * Templates are parsed once and cached. The input is bound as <code>value_json</code> only if the template refers to
+ * it, and it is then parsed directly from the JSON tokens without building an intermediate tree.
+ *
  * @author Jochen Klein - Initial contribution
  *
  */
@@ -43,10 +55,42 @@ import com.hubspot.jinjava.Jinjava;
 @Component(immediate = true, property = { "smarthome.transform=JINJA" })
 public class JinjaTransformationService implements TransformationService {
 
+    private static final String VALUE = "value";
+    private static final String VALUE_JSON = "value_json";
+
+    /** Maximum number of parsed templates in the cache */
+    private static final int MAX_CACHED_TEMPLATES = 256;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     private final Logger logger = LoggerFactory.getLogger(JinjaTransformationService.class);
 
     private Jinjava jinjava = new Jinjava();
 
+    private final Map<String, ParsedTemplate> templateCache = new LinkedHashMap<String, ParsedTemplate>(16, 0.75f,
+            true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, ParsedTemplate> eldest) {
+            return size() > MAX_CACHED_TEMPLATES;
+        }
+    };
+
+    /**
+     * Parsed template. The syntax tree is only read while rendering, and can be shared by concurrent
+     * transformations.
+     */
+    private static class ParsedTemplate {
+        private final @Nullable Node root;
+        private final boolean usesValueJson;
+
+        ParsedTemplate(@Nullable Node root, boolean usesValueJson) {
+            this.root = root;
+            this.usesValueJson = usesValueJson;
+        }
+    }
+
     /**
      * Transforms the input <code>value</code> by Jinja template.
      *
@@ -58,48 +102,129 @@ public class JinjaTransformationService implements TransformationService {
     public @Nullable String transform(String template, String value) throws TransformationException {
         logger.debug("about to transform '{}' by the function '{}'", value, template);
 
+        ParsedTemplate parsedTemplate = getParsedTemplate(template);
+
         Map<String, @Nullable Object> bindings = new HashMap<>();
-        bindings.put("value", value);
+        bindings.put(VALUE, value);
 
-        try {
-            JsonNode tree = new ObjectMapper().readTree(value);
-            bindings.put("value_json", toObject(tree));
-        } catch (IOException e) {
-            // ok, then value_json is null...
+        if (parsedTemplate.usesValueJson) {
+            try {
+                bindings.put(VALUE_JSON, parseJson(value));
+            } catch (IOException e) {
+                // ok, then value_json is null...
+            }
         }
 
-        String transformationResult = jinjava.render(template, bindings);
+        Node root = parsedTemplate.root;
+        String transformationResult = root != null ? render(template, root, bindings)
+                : jinjava.render(template, bindings);
 
         logger.debug("transformation resulted in '{}'", transformationResult);
 
         return transformationResult;
     }
 
-    private static @Nullable Object toObject(JsonNode node) {
-        switch (node.getNodeType()) {
-            case ARRAY: {
+    private ParsedTemplate getParsedTemplate(String template) {
+        ParsedTemplate parsedTemplate;
+        synchronized (templateCache) {
+            parsedTemplate = templateCache.get(template);
+        }
+        if (parsedTemplate == null) {
+            parsedTemplate = new ParsedTemplate(parse(template), template.contains(VALUE_JSON));
+            synchronized (templateCache) {
+                templateCache.put(template, parsedTemplate);
+            }
+        }
+        return parsedTemplate;
+    }
+
+    /**
+     * Parses the template
+     *
+     * @param template Jinja template
+     * @return syntax tree of the template, or null if the template has errors. Such templates are rendered from
+     *         source with every transformation, so that the errors are reported in the same way as before.
+     */
+    private @Nullable Node parse(String template) {
+        JinjavaInterpreter interpreter = new JinjavaInterpreter(jinjava, new Context(jinjava.getGlobalContext()),
+                jinjava.getGlobalConfig());
+        JinjavaInterpreter.pushCurrent(interpreter);
+        try {
+            Node root = interpreter.parse(template);
+            return interpreter.getErrors().isEmpty() ? root : null;
+        } finally {
+            JinjavaInterpreter.popCurrent();
+        }
+    }
+
+    private String render(String template, Node root, Map<String, @Nullable Object> bindings) {
+        Context context = new Context(jinjava.getGlobalContext());
+        context.putAll(bindings);
+        JinjavaInterpreter interpreter = new JinjavaInterpreter(jinjava, context, jinjava.getGlobalConfig());
+        JinjavaInterpreter.pushCurrent(interpreter);
+        try {
+            String result = interpreter.render(root);
+            List<TemplateError> fatalErrors = interpreter.getErrors().stream()
+                    .filter(error -> error.getSeverity() == ErrorType.FATAL).collect(Collectors.toList());
+            if (!fatalErrors.isEmpty()) {
+                throw new FatalTemplateErrorsException(template, fatalErrors);
+            }
+            return result;
+        } finally {
+            JinjavaInterpreter.popCurrent();
+        }
+    }
+
+    /**
+     * Parses the first JSON value of the input into maps, lists and values
+     *
+     * @param value input
+     * @return parsed value
+     * @throws IOException if the input is not valid JSON
+     */
+    private static @Nullable Object parseJson(String value) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(value)) {
+            if (parser.nextToken() == null) {
+                throw new JsonParseException(parser, "No JSON content");
+            }
+            return toObject(parser);
+        }
+    }
+
+    private static @Nullable Object toObject(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null) {
+            throw new JsonParseException(parser, "Unexpected end of JSON content");
+        }
+        switch (token) {
+            case START_ARRAY: {
                 List<@Nullable Object> result = new ArrayList<>();
-                for (JsonNode el : node) {
-                    result.add(toObject(el));
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    result.add(toObject(parser));
                 }
                 return result;
             }
-            case NUMBER:
-                return node.decimalValue();
-            case OBJECT: {
+            case VALUE_NUMBER_INT:
+                return parser.getDecimalValue();
+            case VALUE_NUMBER_FLOAT:
+                // same value as with a parsed tree, which stores floating point numbers as double
+                return BigDecimal.valueOf(parser.getDoubleValue());
+            case START_OBJECT: {
                 Map<String, @Nullable Object> result = new HashMap<>();
-                Iterator<Entry<String, JsonNode>> it = node.fields();
-                while (it.hasNext()) {
-                    Entry<String, JsonNode> field = it.next();
-                    result.put(field.getKey(), toObject(field.getValue()));
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    parser.nextToken();
+                    result.put(name, toObject(parser));
                 }
                 return result;
             }
-            case STRING:
-                return node.asText();
-            case BOOLEAN:
-                return node.asBoolean();
-            case NULL:
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_TRUE:
+                return true;
+            case VALUE_FALSE:
+                return false;
+            case VALUE_NULL:
             default:
                 return null;
         }
@@ -58,4 +58,28 @@ public class JinjaTransformationServiceTest {
         // Asserts
         Assert.assertEquals("Hello world!", transformedResponse);
     }
+
+    @Test
+    public void testCachedTemplateWithChangingValues() throws TransformationException {
+        String template = "{{value_json.state}} ({{ value }})";
+        for (String state : new String[] { "ON", "OFF", "ON" }) {
+            String value = "{\"state\":\"" + state + "\"}";
+            // method under test
+            String transformedResponse = processor.transform(template, value);
+
+            // Asserts
+            Assert.assertEquals(state + " (" + value + ")", transformedResponse);
+        }
+    }
+
+    @Test
+    public void testNestedJsonValues() throws TransformationException {
+        String json = "{\"values\":[1,2.5,true,null,{\"name\":\"x\"}]}";
+        // method under test
+        String transformedResponse = processor.transform(
+                "{{value_json['values'][0]}} {{value_json['values'][1]}} {{value_json['values'][4].name}}", json);
+
+        // Asserts
+        Assert.assertEquals("1 2.5 x", transformedResponse);
+    }
 }
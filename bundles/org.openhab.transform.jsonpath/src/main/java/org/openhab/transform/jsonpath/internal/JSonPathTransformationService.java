@@ -12,7 +12,10 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -24,6 +27,7 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -33,6 +37,11 @@ import com.jayway.jsonpath.PathNotFoundException;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by JSonPath Expressions.
  *
+ * <p>
+ * Compiled JsonPath expressions are cached. Parsed JSON documents are cached for a short while, so that several
+ * expressions applied to the same source (e.g. several channels extracting values from the same response) share a
+ * single parse.
+ *
  * @author Gaël L'hopital
  * @author Sebastian Janzen
  *
@@ -41,8 +50,54 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(immediate = true, property = { "smarthome.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    /**
+     * Maximum number of compiled JsonPath expressions to cache
+     */
+    private static final int MAX_CACHED_PATHS = 1000;
+
+    /**
+     * Maximum number of parsed JSON documents to cache
+     */
+    private static final int MAX_CACHED_DOCUMENTS = 8;
+
+    /**
+     * Time after which parsed JSON document is not used anymore
+     */
+    private static final long DOCUMENT_CACHE_EXPIRY_NANOS = TimeUnit.SECONDS.toNanos(2);
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final Configuration configuration = Configuration.defaultConfiguration();
+
+    private final Map<String, JsonPath> pathCache = new LinkedHashMap<String, JsonPath>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, JsonPath> eldest) {
+            return size() > MAX_CACHED_PATHS;
+        }
+    };
+
+    private final Map<String, ParsedDocument> documentCache = new LinkedHashMap<String, ParsedDocument>(16, 0.75f,
+            true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, ParsedDocument> eldest) {
+            return size() > MAX_CACHED_DOCUMENTS;
+        }
+    };
+
+    private static class ParsedDocument {
+        private final Object document;
+        private final long parsedNanos;
+
+        public ParsedDocument(Object document, long parsedNanos) {
+            this.document = document;
+            this.parsedNanos = parsedNanos;
+        }
+    }
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -60,7 +115,7 @@ public class JSonPathTransformationService implements TransformationService {
         logger.debug("about to transform '{}' by the function '{}'", source, jsonPathExpression);
 
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            Object transformationResult = compile(jsonPathExpression).read(parse(source), configuration);
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -76,6 +131,40 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    private JsonPath compile(String jsonPathExpression) {
+        synchronized (pathCache) {
+            JsonPath path = pathCache.get(jsonPathExpression);
+            if (path == null) {
+                path = JsonPath.compile(jsonPathExpression);
+                pathCache.put(jsonPathExpression, path);
+            }
+            return path;
+        }
+    }
+
+    /**
+     * Parse JSON document, or return the document parsed recently from an equal source
+     *
+     * The parsed document is shared between transformations and must not be modified.
+     */
+    private Object parse(String source) {
+        long now = System.nanoTime();
+        synchronized (documentCache) {
+            ParsedDocument cached = documentCache.get(source);
+            if (cached != null && now - cached.parsedNanos < DOCUMENT_CACHE_EXPIRY_NANOS) {
+                return cached.document;
+            }
+        }
+        // Parse outside the lock, parsing large documents should not block transformations of other sources
+        Object document = configuration.jsonProvider().parse(source);
+        synchronized (documentCache) {
+            // Do not keep large documents in memory longer than necessary
+            documentCache.values().removeIf(cached -> now - cached.parsedNanos >= DOCUMENT_CACHE_EXPIRY_NANOS);
+            documentCache.put(source, new ParsedDocument(document, now));
+        }
+        return document;
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
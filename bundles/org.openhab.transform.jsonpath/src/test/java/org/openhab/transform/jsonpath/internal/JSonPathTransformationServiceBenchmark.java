@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jsonpath.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * Benchmark of one update cycle: 30 channels extract values from the same weather service response
+ *
+ * <ul>
+ * <li><code>jsonPathRead</code>: time to apply each expression with <code>JsonPath.read(source, expression)</code>,
+ * which parses the response and compiles the expression on every call</li>
+ * <li><code>transform</code>: time to apply each expression with the transformation service, which parses the
+ * response once for all expressions and compiles each expression once</li>
+ * </ul>
+ *
+ * Every cycle uses a different response, so that the parsed documents are not reused between cycles.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JSonPathTransformationServiceBenchmark {
+
+    private static final int PAYLOADS = 64;
+
+    private final List<String> expressions = new ArrayList<>();
+    private final List<String> payloads = new ArrayList<>();
+    private final JSonPathTransformationService service = new JSonPathTransformationService();
+    private int cycle;
+
+    @Setup
+    public void setUp() {
+        for (String field : new String[] { "temperature", "feelsLike", "humidity", "pressure", "dewPoint", "uvIndex",
+                "clouds", "visibility", "windSpeed", "windDirection" }) {
+            expressions.add("$.current." + field);
+        }
+        for (int hour = 0; hour < 12; hour++) {
+            expressions.add("$.hourly[" + hour + "].temperature");
+        }
+        for (int day = 0; day < 7; day++) {
+            expressions.add("$.daily[" + day + "].max");
+        }
+        expressions.add("$.hourly[?(@.hour == 12)].precipitation");
+        for (int i = 0; i < PAYLOADS; i++) {
+            payloads.add(payload(i));
+        }
+    }
+
+    private static String payload(int seed) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"location\":{\"name\":\"Helsinki\",\"lat\":60.1699,\"lon\":24.9384,")
+                .append("\"timezone\":\"Europe/Helsinki\"},");
+        builder.append("\"current\":{\"time\":").append(1600000000 + seed * 600).append(",\"temperature\":")
+                .append(12.5 + seed % 10).append(",\"feelsLike\":10.1,\"humidity\":").append(60 + seed % 30)
+                .append(",\"pressure\":1013,\"dewPoint\":4.2,\"uvIndex\":0.8,\"clouds\":75,\"visibility\":10000,")
+                .append("\"windSpeed\":4.6,\"windDirection\":230,\"description\":\"broken clouds\"},");
+        builder.append("\"hourly\":[");
+        for (int hour = 0; hour < 48; hour++) {
+            if (hour > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"hour\":").append(hour).append(",\"temperature\":").append(10 + (hour + seed) % 8)
+                    .append(",\"humidity\":").append(55 + hour % 40).append(",\"precipitation\":")
+                    .append((hour + seed) % 5 / 10.0).append(",\"windSpeed\":").append(3 + hour % 4)
+                    .append(",\"description\":\"light rain\"}");
+        }
+        builder.append("],\"daily\":[");
+        for (int day = 0; day < 7; day++) {
+            if (day > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"day\":").append(day).append(",\"min\":").append(5 + (day + seed) % 4)
+                    .append(",\"max\":").append(14 + (day + seed) % 6).append(",\"sunrise\":\"07:12\",")
+                    .append("\"sunset\":\"19:45\",\"description\":\"scattered clouds\"}");
+        }
+        builder.append("]}");
+        return builder.toString();
+    }
+
+    private String nextPayload() {
+        cycle = (cycle + 1) % PAYLOADS;
+        return payloads.get(cycle);
+    }
+
+    @Benchmark
+    public void jsonPathRead(Blackhole blackhole) {
+        String source = nextPayload();
+        for (String expression : expressions) {
+            Object result = JsonPath.read(source, expression);
+            blackhole.consume(String.valueOf(result));
+        }
+    }
+
+    @Benchmark
+    public void transform(Blackhole blackhole) throws TransformationException {
+        String source = nextPayload();
+        for (String expression : expressions) {
+            blackhole.consume(service.transform(expression, source));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JSonPathTransformationServiceBenchmark.class.getSimpleName()).build())
+                .run();
+    }
+}
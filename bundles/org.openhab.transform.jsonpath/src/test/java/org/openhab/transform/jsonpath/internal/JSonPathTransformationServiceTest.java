@@ -128,4 +128,30 @@ public class JSonPathTransformationServiceTest {
         String transformedResponse = processor.transform("$.data", json);
         assertEquals(list, transformedResponse);
     }
+
+    @Test
+    public void testSameSourceDifferentPaths() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        assertEquals("alice", processor.transform("$[1].name", jsonArray));
+        assertEquals("2", processor.transform("$[1].id", jsonArray));
+        assertEquals("[1, 2]", processor.transform("$.*.id", jsonArray));
+    }
+
+    @Test
+    public void testSamePathDifferentSources() throws TransformationException {
+        assertEquals("1", processor.transform("$.id", "{\"id\":1}"));
+        assertEquals("2", processor.transform("$.id", "{\"id\":2}"));
+        assertEquals("1", processor.transform("$.id", "{\"id\":1}"));
+    }
+
+    @Test
+    public void testInvalidJsonAfterValidJson() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        try {
+            processor.transform("$[0].name", "[{ \"id\":1, ");
+            Assert.fail("Expected TransformationException");
+        } catch (TransformationException e) {
+            // expected
+        }
+    }
 }
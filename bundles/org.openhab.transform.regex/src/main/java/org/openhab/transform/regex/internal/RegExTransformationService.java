@@ -12,6 +12,8 @@
  */
 package org.openhab.transform.regex.internal;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -19,7 +21,9 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,16 +34,76 @@ import org.slf4j.LoggerFactory;
  * <p>
  * <b>Note:</b> the given Regular Expression must contain exactly one group!
  *
+ * <p>
+ * Compiled expressions are kept in a LRU cache, the size of which can be configured with the <code>cacheSize</code>
+ * parameter.
+ *
  * @author Thomas.Eichstaedt-Engelen
  */
 @NonNullByDefault
-@Component(immediate = true, property = { "smarthome.transform=REGEX" })
+@Component(immediate = true, configurationPid = "org.openhab.regex", property = { "smarthome.transform=REGEX" })
 public class RegExTransformationService implements TransformationService {
 
+    static final String CONFIG_CACHE_SIZE = "cacheSize";
+    static final int DEFAULT_CACHE_SIZE = 256;
+
     private final Logger logger = LoggerFactory.getLogger(RegExTransformationService.class);
 
     private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
 
+    /**
+     * Compiled form of the transformation function, either substitution or extraction of the first group
+     */
+    private static class CompiledExpression {
+        private final Pattern pattern;
+        private final @Nullable String substitution;
+        private final boolean global;
+
+        public CompiledExpression(Pattern pattern, @Nullable String substitution, boolean global) {
+            this.pattern = pattern;
+            this.substitution = substitution;
+            this.global = global;
+        }
+    }
+
+    private volatile int cacheSize = DEFAULT_CACHE_SIZE;
+    private final Map<String, CompiledExpression> cache = new LinkedHashMap<String, CompiledExpression>(16, 0.75f,
+            true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, CompiledExpression> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    @Activate
+    protected void activate(Map<String, Object> config) {
+        modified(config);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        int newCacheSize = DEFAULT_CACHE_SIZE;
+        Object configuredCacheSize = config.get(CONFIG_CACHE_SIZE);
+        if (configuredCacheSize != null) {
+            try {
+                newCacheSize = Math.max(0, Integer.parseInt(configuredCacheSize.toString()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid {} '{}', using default {}", CONFIG_CACHE_SIZE, configuredCacheSize,
+                        DEFAULT_CACHE_SIZE);
+            }
+        }
+        synchronized (cache) {
+            cacheSize = newCacheSize;
+            // Evict least recently used expressions in case the cache shrunk
+            while (cache.size() > newCacheSize) {
+                cache.remove(cache.keySet().iterator().next());
+            }
+        }
+        logger.debug("Using cache of {} compiled expressions", newCacheSize);
+    }
+
     @Override
     public @Nullable String transform(String regExpression, String source) throws TransformationException {
         if (regExpression == null || source == null) {
@@ -48,25 +112,17 @@ public class RegExTransformationService implements TransformationService {
 
         logger.debug("about to transform '{}' by the function '{}'", source, regExpression);
 
-        String result = "";
-
-        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
-        if (substMatcher.matches()) {
-            logger.debug("Using substitution form of regex transformation");
-            String regex = substMatcher.group(1);
-            String substitution = substMatcher.group(2);
-            String options = substMatcher.group(3);
-            if (options.equals("g")) {
-                result = source.trim().replaceAll(regex, substitution);
-            } else {
-                result = source.trim().replaceFirst(regex, substitution);
-            }
-            if (result != null) {
-                return result;
-            }
+        CompiledExpression expression = compile(regExpression);
+        // trim() returns the source itself when there is nothing to trim
+        String trimmedSource = source.trim();
+        String substitution = expression.substitution;
+        if (substitution != null) {
+            Matcher substMatcher = expression.pattern.matcher(trimmedSource);
+            return expression.global ? substMatcher.replaceAll(substitution) : substMatcher.replaceFirst(substitution);
         }
 
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
+        String result = "";
+        Matcher matcher = expression.pattern.matcher(trimmedSource);
         if (!matcher.matches()) {
             logger.debug(
                     "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
@@ -94,4 +150,33 @@ public class RegExTransformationService implements TransformationService {
 
         return result;
     }
+
+    private CompiledExpression compile(String regExpression) {
+        synchronized (cache) {
+            CompiledExpression expression = cache.get(regExpression);
+            if (expression != null) {
+                return expression;
+            }
+        }
+        CompiledExpression expression;
+        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
+        if (substMatcher.matches()) {
+            logger.debug("Using substitution form of regex transformation");
+            expression = new CompiledExpression(Pattern.compile(substMatcher.group(1)), substMatcher.group(2),
+                    substMatcher.group(3).equals("g"));
+        } else {
+            expression = new CompiledExpression(Pattern.compile("^" + regExpression + "$", Pattern.DOTALL), null,
+                    false);
+        }
+        synchronized (cache) {
+            cache.put(regExpression, expression);
+        }
+        return expression;
+    }
+
+    int getCachedExpressionCount() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
 }
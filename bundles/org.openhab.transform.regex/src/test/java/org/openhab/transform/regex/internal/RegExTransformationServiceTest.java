@@ -14,6 +14,8 @@ package org.openhab.transform.regex.internal;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.Collections;
+
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.junit.Before;
 import org.junit.Test;
@@ -75,4 +77,29 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testExpressionsAreCached() throws TransformationException {
+        assertEquals("SetMode(42)", processor.transform("s/^OP:(.*?),ARG:(.*)$/$1($2)/", "OP:SetMode,ARG:42"));
+        assertEquals("Reset(1)", processor.transform("s/^OP:(.*?),ARG:(.*)$/$1($2)/", "  OP:Reset,ARG:1  "));
+        assertEquals("8", processor.transform(".*?<temp_c data=\"(.*?)\".*", source));
+        assertEquals("46", processor.transform(".*?<temp_f data=\"(.*?)\".*", source));
+        assertEquals("8", processor.transform(".*?<temp_c data=\"(.*?)\".*", source));
+
+        assertEquals(3, processor.getCachedExpressionCount());
+    }
+
+    @Test
+    public void testCacheSizeConfiguration() throws TransformationException {
+        processor.activate(Collections.singletonMap(RegExTransformationService.CONFIG_CACHE_SIZE, "1"));
+        processor.transform("(.*)", "a");
+        processor.transform("(a)", "a");
+        processor.transform("(.*)", "a");
+        assertEquals(1, processor.getCachedExpressionCount());
+
+        processor.modified(Collections.singletonMap(RegExTransformationService.CONFIG_CACHE_SIZE, "0"));
+        assertEquals(0, processor.getCachedExpressionCount());
+        assertEquals("a", processor.transform("(.*)", "a"));
+        assertEquals(0, processor.getCachedExpressionCount());
+    }
 }
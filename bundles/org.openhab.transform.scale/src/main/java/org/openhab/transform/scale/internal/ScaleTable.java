@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Scale definition compiled for fast lookups
+ *
+ * The boundaries of all ranges divide the numbers into segments: the boundary values themselves, and the open
+ * intervals between them. Every number in a segment belongs to the same ranges, and therefore the label of each
+ * segment is resolved already when the scale is loaded. As with the scale file, the first matching range wins.
+ * Looking up a label is then a binary search over the sorted boundaries.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class ScaleTable {
+
+    static final String FORMAT_VALUE = "%value%";
+    static final String FORMAT_LABEL = "%label%";
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    /** Sorted distinct boundaries of the ranges */
+    private final BigDecimal[] boundaries;
+
+    /**
+     * Labels of the segments, null when no range matches. Segment 2*i+1 is boundary i, segment 2*i is the open interval
+     * below boundary i, and the last segment is the open interval above the highest boundary.
+     */
+    private final String[] labels;
+
+    private final String nonNumericLabel;
+
+    /** Literal parts of the format, placeholders are between the parts */
+    private final String[] formatParts;
+
+    /** For each placeholder, true for value and false for label */
+    private final boolean[] formatValuePlaceholders;
+
+    /**
+     * @param ranges ranges and their labels, in the order of evaluation
+     * @param nonNumericLabel label for non numeric input, or null if not defined
+     * @param format format of the result, with %value% and %label% placeholders
+     */
+    public ScaleTable(Map<Range, String> ranges, String nonNumericLabel, String format) {
+        TreeSet<BigDecimal> sortedBoundaries = new TreeSet<>();
+        for (Range range : ranges.keySet()) {
+            if (range.min != null) {
+                sortedBoundaries.add(range.min);
+            }
+            if (range.max != null) {
+                sortedBoundaries.add(range.max);
+            }
+        }
+        boundaries = sortedBoundaries.toArray(new BigDecimal[0]);
+        labels = new String[2 * boundaries.length + 1];
+        for (int segment = 0; segment < labels.length; segment++) {
+            labels[segment] = findFirstMatch(ranges, representative(segment));
+        }
+        this.nonNumericLabel = nonNumericLabel;
+
+        List<String> parts = new ArrayList<>();
+        List<Boolean> valuePlaceholders = new ArrayList<>();
+        int start = 0;
+        while (true) {
+            int valueIndex = format.indexOf(FORMAT_VALUE, start);
+            int labelIndex = format.indexOf(FORMAT_LABEL, start);
+            if (valueIndex < 0 && labelIndex < 0) {
+                break;
+            }
+            boolean value = labelIndex < 0 || (valueIndex >= 0 && valueIndex < labelIndex);
+            int index = value ? valueIndex : labelIndex;
+            parts.add(format.substring(start, index));
+            valuePlaceholders.add(value);
+            start = index + (value ? FORMAT_VALUE.length() : FORMAT_LABEL.length());
+        }
+        parts.add(format.substring(start));
+        formatParts = parts.toArray(new String[0]);
+        formatValuePlaceholders = new boolean[valuePlaceholders.size()];
+        for (int i = 0; i < formatValuePlaceholders.length; i++) {
+            formatValuePlaceholders[i] = valuePlaceholders.get(i);
+        }
+    }
+
+    /**
+     * Number belonging to the segment
+     */
+    private BigDecimal representative(int segment) {
+        if (segment % 2 == 1) {
+            return boundaries[segment / 2];
+        }
+        int upper = segment / 2;
+        if (boundaries.length == 0) {
+            return BigDecimal.ZERO;
+        } else if (upper == 0) {
+            return boundaries[0].subtract(BigDecimal.ONE);
+        } else if (upper == boundaries.length) {
+            return boundaries[upper - 1].add(BigDecimal.ONE);
+        } else {
+            return boundaries[upper - 1].add(boundaries[upper]).divide(TWO);
+        }
+    }
+
+    private static String findFirstMatch(Map<Range, String> ranges, BigDecimal value) {
+        for (Map.Entry<Range, String> entry : ranges.entrySet()) {
+            if (entry.getKey().contains(value)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the label of the first range containing the value
+     *
+     * @param value the value to look up
+     * @return label, or null if no range contains the value
+     */
+    public String getLabel(BigDecimal value) {
+        int index = Arrays.binarySearch(boundaries, value);
+        return labels[index >= 0 ? 2 * index + 1 : -2 * (index + 1)];
+    }
+
+    /**
+     * @return label for non numeric input, or null if not defined
+     */
+    public String getNonNumericLabel() {
+        return nonNumericLabel;
+    }
+
+    /**
+     * Format the result of the transformation
+     *
+     * @param source input of the transformation
+     * @param label label of the range matching the input
+     * @return format with placeholders replaced
+     */
+    public String format(String source, String label) {
+        if (formatValuePlaceholders.length == 1 && !formatValuePlaceholders[0] && formatParts[0].isEmpty()
+                && formatParts[1].isEmpty()) {
+            // Default format
+            return label;
+        }
+        StringBuilder result = new StringBuilder(formatParts[0]);
+        for (int i = 0; i < formatValuePlaceholders.length; i++) {
+            result.append(formatValuePlaceholders[i] ? source : label).append(formatParts[i + 1]);
+        }
+        return result.toString();
+    }
+}
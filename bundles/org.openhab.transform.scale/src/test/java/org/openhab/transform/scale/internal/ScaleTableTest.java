@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+public class ScaleTableTest {
+
+    @Test
+    public void testOverlappingRangesInFileOrder() {
+        Map<Range, String> ranges = new LinkedHashMap<>();
+        ranges.put(Range.closed(new BigDecimal("10"), new BigDecimal("20")), "first");
+        ranges.put(Range.openClosed(new BigDecimal("0"), new BigDecimal("30")), "second");
+        ranges.put(Range.atLeast(new BigDecimal("10.0")), "third");
+        ScaleTable scale = new ScaleTable(ranges, null, ScaleTable.FORMAT_LABEL);
+
+        Assert.assertNull(scale.getLabel(new BigDecimal("0")));
+        Assert.assertEquals("second", scale.getLabel(new BigDecimal("0.001")));
+        Assert.assertEquals("first", scale.getLabel(new BigDecimal("10")));
+        Assert.assertEquals("first", scale.getLabel(new BigDecimal("20.00")));
+        Assert.assertEquals("second", scale.getLabel(new BigDecimal("20.01")));
+        Assert.assertEquals("second", scale.getLabel(new BigDecimal("30")));
+        Assert.assertEquals("third", scale.getLabel(new BigDecimal("1E+6")));
+        Assert.assertNull(scale.getLabel(new BigDecimal("-1")));
+    }
+
+    @Test
+    public void testLookupMatchesLinearSearch() {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            Map<Range, String> ranges = new LinkedHashMap<>();
+            for (int i = 0; i < 1 + random.nextInt(8); i++) {
+                BigDecimal min = random.nextInt(5) == 0 ? null : BigDecimal.valueOf(random.nextInt(40) - 20, 1);
+                BigDecimal max = random.nextInt(5) == 0 ? null : BigDecimal.valueOf(random.nextInt(40) - 20, 1);
+                ranges.put(Range.range(min, random.nextBoolean(), max, random.nextBoolean()), "label" + i);
+            }
+            ScaleTable scale = new ScaleTable(ranges, null, ScaleTable.FORMAT_LABEL);
+            for (int i = -250; i <= 250; i++) {
+                BigDecimal value = BigDecimal.valueOf(i, 2);
+                String expected = ranges.entrySet().stream().filter(entry -> entry.getKey().contains(value))
+                        .map(Map.Entry::getValue).findFirst().orElse(null);
+                Assert.assertEquals("value " + value, expected, scale.getLabel(value));
+            }
+        }
+    }
+
+    @Test
+    public void testFormat() {
+        Map<Range, String> ranges = new LinkedHashMap<>();
+        Assert.assertEquals("label", new ScaleTable(ranges, null, "%label%").format("1", "label"));
+        Assert.assertEquals("label (1 $)", new ScaleTable(ranges, null, "%label% (%value% $)").format("1", "label"));
+        Assert.assertEquals("1: label, 1",
+                new ScaleTable(ranges, null, "%value%: %label%, %value%").format("1", "label"));
+        Assert.assertEquals("constant", new ScaleTable(ranges, null, "constant").format("1", "label"));
+        Assert.assertEquals("a\\b$1", new ScaleTable(ranges, null, "%label%").format("1", "a\\b$1"));
+    }
+}
@@ -38,4 +38,22 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformReusesCompiledExpressions() throws TransformationException {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+            assertEquals("46", processor.transform("//current_conditions/temp_f/@data", source));
+        }
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testTransformByInvalidXPath() throws TransformationException {
+        processor.transform("//current_conditions/temp_c/@", source);
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testTransformInvalidSource() throws TransformationException {
+        processor.transform("//current_conditions/temp_c/@data", "<xml_api_reply>");
+    }
 }
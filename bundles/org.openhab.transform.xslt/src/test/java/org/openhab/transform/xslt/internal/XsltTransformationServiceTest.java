@@ -14,22 +14,56 @@ package org.openhab.transform.xslt.internal;
 
 import static org.junit.Assert.assertEquals;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.core.transform.TransformationException;
+import org.eclipse.smarthome.core.transform.TransformationService;
+import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  * @author Thomas.Eichstaedt-Engelen
  */
 public class XsltTransformationServiceTest extends AbstractTransformationServiceTest {
 
+    @Rule
+    public TemporaryFolder configFolder = new TemporaryFolder();
+
     private XsltTransformationService processor;
+    private File changingStylesheet;
+    private String previousConfigFolder;
 
     @Before
-    public void init() {
+    public void init() throws IOException {
+        // the stylesheets are read from a copy of the transform folder, so that the test can change them
+        Path transformFolder = configFolder.newFolder(TransformationService.TRANSFORM_FOLDER_NAME, "http").toPath();
+        Files.copy(Paths.get("conf", TransformationService.TRANSFORM_FOLDER_NAME, "http", "google_weather.xsl"),
+                transformFolder.resolve("google_weather.xsl"));
+        changingStylesheet = transformFolder.resolve("changing.xsl").toFile();
+        previousConfigFolder = System.setProperty(ConfigConstants.CONFIG_DIR_PROG_ARGUMENT,
+                configFolder.getRoot().getAbsolutePath());
+
         processor = new XsltTransformationService();
     }
 
+    @After
+    public void tearDown() {
+        if (previousConfigFolder == null) {
+            System.clearProperty(ConfigConstants.CONFIG_DIR_PROG_ARGUMENT);
+        } else {
+            System.setProperty(ConfigConstants.CONFIG_DIR_PROG_ARGUMENT, previousConfigFolder);
+        }
+    }
+
     @Test
     public void testTransformByXSLT() throws TransformationException {
         // method under test
@@ -38,4 +72,23 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformAfterStylesheetChange() throws TransformationException, IOException {
+        writeStylesheet("temp_c");
+        assertEquals("8", processor.transform("http/changing.xsl", source));
+        assertEquals("8", processor.transform("http/changing.xsl", source));
+
+        writeStylesheet("temp_f");
+        changingStylesheet.setLastModified(changingStylesheet.lastModified() + 2000);
+        assertEquals("46", processor.transform("http/changing.xsl", source));
+    }
+
+    private void writeStylesheet(String element) throws IOException {
+        String stylesheet = "<?xml version=\"1.0\"?>"
+                + "<xsl:stylesheet xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\" version=\"1.0\">"
+                + "<xsl:output method=\"text\"/><xsl:template match=\"//current_conditions\">"
+                + "<xsl:value-of select=\"" + element + "/@data\"/></xsl:template></xsl:stylesheet>";
+        Files.write(changingStylesheet.toPath(), stylesheet.getBytes(StandardCharsets.UTF_8));
+    }
 }